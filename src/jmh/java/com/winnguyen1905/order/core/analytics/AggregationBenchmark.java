@@ -0,0 +1,84 @@
+package com.winnguyen1905.order.core.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Per-product sums and top-K over 10M item rows, the shape of the vendor
+ * sales aggregations: boxed {@code HashMap} plus a full sort against
+ * {@link LongLongHashMap} plus {@link TopK}. Run with
+ * {@code mvn -Pjmh test-compile exec:exec}; {@code -Djmh.args="-prof gc"}
+ * adds the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = { "-Xms4g", "-Xmx4g" })
+public class AggregationBenchmark {
+
+  private static final int TOP = 5;
+
+  @Param("10000000")
+  int rows;
+
+  @Param({ "1000", "100000" })
+  int products;
+
+  long[] productIds;
+  long[] quantities;
+
+  @Setup(Level.Trial)
+  public void generate() {
+    SplittableRandom random = new SplittableRandom(42);
+    productIds = new long[rows];
+    quantities = new long[rows];
+    for (int i = 0; i < rows; i++) {
+      productIds[i] = 1 + random.nextInt(products);
+      quantities[i] = 1 + random.nextInt(10);
+    }
+  }
+
+  @Benchmark
+  public void boxedHashMapAndSort(Blackhole blackhole) {
+    Map<Long, Integer> totals = new HashMap<>();
+    for (int i = 0; i < rows; i++) {
+      totals.put(productIds[i], totals.getOrDefault(productIds[i], 0) + (int) quantities[i]);
+    }
+    List<Map.Entry<Long, Integer>> sorted = new ArrayList<>(totals.entrySet());
+    sorted.sort(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder())
+        .thenComparing(Map.Entry.comparingByKey()));
+    blackhole.consume(sorted.subList(0, Math.min(TOP, sorted.size())));
+  }
+
+  @Benchmark
+  public void primitiveMapAndTopK(Blackhole blackhole) {
+    LongLongHashMap totals = new LongLongHashMap();
+    for (int i = 0; i < rows; i++) {
+      totals.addTo(productIds[i], quantities[i]);
+    }
+    TopK top = new TopK(TOP);
+    totals.forEach(top::offer);
+    blackhole.consume(top.drainDescending());
+  }
+}
@@ -2,12 +2,18 @@ package com.winnguyen1905.order;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.winnguyen1905.order.core.stream.OrderStatusChangedRemoteEvent;
 
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableFeignClients
+@EnableScheduling
+@RemoteApplicationEventScan(basePackageClasses = OrderStatusChangedRemoteEvent.class)
 public class OrderApplication {
 
 	public static void main(String[] args) {
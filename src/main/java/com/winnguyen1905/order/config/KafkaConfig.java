@@ -22,6 +22,10 @@ public class KafkaConfig {
     
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
+
+    // Fail fast when the broker is unreachable so events go to the local journal
+    @Value("${order.event-journal.producer-max-block-ms:5000}")
+    private long maxBlockMillis;
     
     @Bean
     public ProducerFactory<String, OrderCreatedEvent> producerFactory() {
@@ -32,6 +36,7 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMillis);
         
         return new DefaultKafkaProducerFactory<>(configProps);
     }
@@ -0,0 +1,46 @@
+package com.winnguyen1905.order.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Rate-limit groups referenced by {@code @RateLimited}. Each group is a token
+ * bucket of {@code capacity} requests refilled at {@code refill-per-second},
+ * kept per caller (or per vendor on vendor-scoped paths).
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitConfiguration.RateLimitProperties.class)
+public class RateLimitConfiguration {
+
+  public enum Mode {
+    /** Buckets live on each node; a caller's budget is per node. */
+    LOCAL,
+    /** Buckets live in Redis and are shared by the cluster, with local fallback. */
+    REDIS
+  }
+
+  @Getter
+  @Setter
+  @ConfigurationProperties(prefix = "order.rate-limit")
+  public static class RateLimitProperties {
+    private boolean enabled = true;
+    private Mode mode = Mode.LOCAL;
+    private long maxKeys = 100_000;
+    private long idleSeconds = 600;
+    private Map<String, Group> groups = new LinkedHashMap<>();
+  }
+
+  @Getter
+  @Setter
+  public static class Group {
+    private int capacity = 60;
+    private double refillPerSecond = 1.0;
+  }
+}
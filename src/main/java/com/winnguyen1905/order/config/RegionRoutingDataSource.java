@@ -0,0 +1,51 @@
+package com.winnguyen1905.order.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.winnguyen1905.order.config.RegionalFallbackConfiguration.RegionalFallbackService;
+import com.winnguyen1905.order.secure.RegionContextHolder;
+import com.winnguyen1905.order.secure.RegionPartition;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Routes each connection request to the pool of the region bound in
+ * {@link RegionContextHolder}. When that region's circuit breaker is open
+ * the next available region from the fallback chain is used instead.
+ */
+@Slf4j
+public class RegionRoutingDataSource extends AbstractRoutingDataSource {
+
+  private final RegionPartition defaultRegion;
+  private final ObjectProvider<RegionalFallbackService> fallbackServiceProvider;
+
+  public RegionRoutingDataSource(RegionPartition defaultRegion,
+      ObjectProvider<RegionalFallbackService> fallbackServiceProvider) {
+    this.defaultRegion = defaultRegion;
+    this.fallbackServiceProvider = fallbackServiceProvider;
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    RegionPartition region = RegionContextHolder.get();
+    if (region == null) {
+      region = defaultRegion;
+    }
+
+    RegionalFallbackService fallbackService = fallbackServiceProvider.getIfAvailable();
+    if (fallbackService == null || fallbackService.isRegionAvailable(region)) {
+      return region;
+    }
+
+    List<RegionPartition> available = fallbackService.getAvailableRegionsInOrder(region);
+    if (available.isEmpty()) {
+      // Nothing healthy; let the home region fail loudly rather than guess
+      return region;
+    }
+    log.debug("Region {} unavailable, routing connection to {}", region, available.get(0));
+    return available.get(0);
+  }
+}
@@ -0,0 +1,101 @@
+package com.winnguyen1905.order.config;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.winnguyen1905.order.config.RegionalFallbackConfiguration.RegionalFallbackService;
+import com.winnguyen1905.order.secure.RegionPartition;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One Hikari pool per {@link RegionPartition} behind a routing data source.
+ * Enabled with {@code order.datasource.routing-enabled=true}; regions without
+ * their own settings inherit {@code spring.datasource}.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(RegionalDataSourceConfiguration.RegionalDataSourceProperties.class)
+@ConditionalOnProperty(name = "order.datasource.routing-enabled", havingValue = "true")
+public class RegionalDataSourceConfiguration {
+
+  @Bean
+  @Primary
+  public DataSource dataSource(DataSourceProperties defaults,
+      RegionalDataSourceProperties properties,
+      ObjectProvider<RegionalFallbackService> fallbackServiceProvider) {
+    Map<Object, Object> targets = new HashMap<>();
+    for (RegionPartition region : RegionPartition.values()) {
+      targets.put(region, createRegionPool(region, defaults,
+          properties.getRegions().getOrDefault(region, new RegionPool())));
+    }
+
+    RegionRoutingDataSource routing = new RegionRoutingDataSource(properties.getDefaultRegion(),
+        fallbackServiceProvider);
+    routing.setTargetDataSources(targets);
+    routing.setDefaultTargetDataSource(targets.get(properties.getDefaultRegion()));
+    routing.afterPropertiesSet();
+
+    // Defer the lookup until the first statement so the region bound during the
+    // request, not at transaction begin, decides the pool
+    return new LazyConnectionDataSourceProxy(routing);
+  }
+
+  private HikariDataSource createRegionPool(RegionPartition region, DataSourceProperties defaults, RegionPool pool) {
+    HikariDataSource dataSource = defaults.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    if (pool.getUrl() != null) {
+      dataSource.setJdbcUrl(pool.getUrl());
+    }
+    if (pool.getUsername() != null) {
+      dataSource.setUsername(pool.getUsername());
+    }
+    if (pool.getPassword() != null) {
+      dataSource.setPassword(pool.getPassword());
+    }
+    dataSource.setPoolName("order-" + region.getRegion());
+    dataSource.setMaximumPoolSize(pool.getMaximumPoolSize());
+    dataSource.setMinimumIdle(pool.getMinimumIdle());
+    dataSource.setConnectionTimeout(pool.getConnectionTimeoutMs());
+    log.info("Configured order datasource pool for region {} (max {} connections)", region,
+        pool.getMaximumPoolSize());
+    return dataSource;
+  }
+
+  @Getter
+  @Setter
+  @ConfigurationProperties(prefix = "order.datasource")
+  public static class RegionalDataSourceProperties {
+    private boolean routingEnabled;
+    private RegionPartition defaultRegion = RegionPartition.US;
+    private Map<RegionPartition, RegionPool> regions = new EnumMap<>(RegionPartition.class);
+  }
+
+  @Getter
+  @Setter
+  public static class RegionPool {
+    private String url;
+    private String username;
+    private String password;
+    private int maximumPoolSize = 10;
+    private int minimumIdle = 2;
+    private long connectionTimeoutMs = 5000;
+  }
+}
@@ -0,0 +1,54 @@
+package com.winnguyen1905.order.core.analytics;
+
+/**
+ * Log-scale histogram of durations in minutes with four buckets per
+ * doubling (at most about 19% relative error), up to roughly half a year.
+ * Small enough to keep one per vendor per day, and merged by adding counts.
+ */
+final class DurationHistogram {
+
+  private static final int STEPS_PER_DOUBLING = 4;
+  private static final int BUCKETS = 18 * STEPS_PER_DOUBLING + 1;
+
+  private final int[] counts = new int[BUCKETS];
+  private long total;
+
+  void add(long minutes) {
+    counts[bucket(minutes)]++;
+    total++;
+  }
+
+  void addAll(DurationHistogram other) {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] += other.counts[i];
+    }
+    total += other.total;
+  }
+
+  /**
+   * Estimated minutes at quantile {@code q}, or {@code NaN} when empty.
+   */
+  double quantile(double q) {
+    if (total == 0) {
+      return Double.NaN;
+    }
+    long target = Math.max(1, (long) Math.ceil(q * total));
+    long cumulative = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      cumulative += counts[i];
+      if (cumulative >= target) {
+        // Geometric middle of the bucket
+        return Math.pow(2, (i + 0.5) / STEPS_PER_DOUBLING) - 1;
+      }
+    }
+    return Math.pow(2, (double) BUCKETS / STEPS_PER_DOUBLING) - 1;
+  }
+
+  private static int bucket(long minutes) {
+    if (minutes <= 0) {
+      return 0;
+    }
+    double log = Math.log1p(minutes) / Math.log(2);
+    return Math.min(BUCKETS - 1, (int) (log * STEPS_PER_DOUBLING));
+  }
+}
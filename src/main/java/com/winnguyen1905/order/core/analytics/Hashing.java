@@ -0,0 +1,26 @@
+package com.winnguyen1905.order.core.analytics;
+
+/**
+ * Shared helpers for the sketches' hashing and binary formats.
+ */
+final class Hashing {
+
+  private Hashing() {
+  }
+
+  /**
+   * SplitMix64 finalizer: spreads sequential ids over all 64 bits.
+   */
+  static long mix(long key) {
+    long z = key + 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  static void checkVersion(byte actual, byte expected, String sketch) {
+    if (actual != expected) {
+      throw new IllegalArgumentException("Unsupported " + sketch + " format version " + actual);
+    }
+  }
+}
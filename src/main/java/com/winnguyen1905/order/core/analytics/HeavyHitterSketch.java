@@ -0,0 +1,169 @@
+package com.winnguyen1905.order.core.analytics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Count-Min sketch over {@code long} keys plus a small set of heavy-hitter
+ * candidates, ranked by their sketch estimate as counts arrive. Estimates
+ * never undercount and overcount by at most about {@code 2/WIDTH} of the
+ * total with high probability. Merging adds the counters and re-ranks the
+ * union of both candidate sets, so the top keys of a range come from the
+ * days' candidates.
+ */
+public final class HeavyHitterSketch {
+
+  static final int DEPTH = 4;
+  static final int WIDTH = 512;
+  static final int CANDIDATES = 16;
+  private static final byte VERSION = 1;
+  private static final long[] SEEDS = {
+      0x2545F4914F6CDD1DL, 0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L };
+
+  private final long[] counters = new long[DEPTH * WIDTH];
+  private final long[] candidates = new long[CANDIDATES];
+  private int candidateCount;
+  private long total;
+
+  public void add(long key, long count) {
+    if (count <= 0) {
+      return;
+    }
+    total += count;
+    for (int row = 0; row < DEPTH; row++) {
+      counters[slot(row, key)] += count;
+    }
+    offerCandidate(key);
+  }
+
+  public long estimate(long key) {
+    long min = Long.MAX_VALUE;
+    for (int row = 0; row < DEPTH; row++) {
+      min = Math.min(min, counters[slot(row, key)]);
+    }
+    return min;
+  }
+
+  public long total() {
+    return total;
+  }
+
+  /**
+   * Candidate keys with the highest estimates, best first.
+   */
+  public long[] top(int k) {
+    TopK top = new TopK(k);
+    for (int i = 0; i < candidateCount; i++) {
+      top.offer(candidates[i], estimate(candidates[i]));
+    }
+    return top.drainDescending();
+  }
+
+  public void merge(HeavyHitterSketch other) {
+    total += other.total;
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] += other.counters[i];
+    }
+    long[] union = Arrays.copyOf(candidates, candidateCount + other.candidateCount);
+    System.arraycopy(other.candidates, 0, union, candidateCount, other.candidateCount);
+    TopK top = new TopK(CANDIDATES);
+    long[] seen = new long[union.length];
+    int distinct = 0;
+    for (long key : union) {
+      if (indexOf(seen, distinct, key) < 0) {
+        seen[distinct++] = key;
+        top.offer(key, estimate(key));
+      }
+    }
+    long[] kept = top.drainDescending();
+    System.arraycopy(kept, 0, candidates, 0, kept.length);
+    candidateCount = kept.length;
+  }
+
+  private void offerCandidate(long key) {
+    if (indexOf(candidates, candidateCount, key) >= 0) {
+      return;
+    }
+    if (candidateCount < CANDIDATES) {
+      candidates[candidateCount++] = key;
+      return;
+    }
+    int weakest = 0;
+    long weakestEstimate = Long.MAX_VALUE;
+    for (int i = 0; i < candidateCount; i++) {
+      long estimate = estimate(candidates[i]);
+      if (estimate < weakestEstimate) {
+        weakest = i;
+        weakestEstimate = estimate;
+      }
+    }
+    if (estimate(key) > weakestEstimate) {
+      candidates[weakest] = key;
+    }
+  }
+
+  private static int indexOf(long[] keys, int length, long key) {
+    for (int i = 0; i < length; i++) {
+      if (keys[i] == key) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int slot(int row, long key) {
+    return row * WIDTH + (int) ((Hashing.mix(key ^ SEEDS[row]) >>> 1) % WIDTH);
+  }
+
+  /**
+   * Version, total, candidates, then the counters as varints; most counters
+   * of a vendor-day are zero and take one byte.
+   */
+  public byte[] toBytes() {
+    ByteBuffer buffer = ByteBuffer.allocate(1 + 10 + 1 + CANDIDATES * 8 + counters.length * 10);
+    buffer.put(VERSION);
+    putVarLong(buffer, total);
+    buffer.put((byte) candidateCount);
+    for (int i = 0; i < candidateCount; i++) {
+      buffer.putLong(candidates[i]);
+    }
+    for (long counter : counters) {
+      putVarLong(buffer, counter);
+    }
+    return Arrays.copyOf(buffer.array(), buffer.position());
+  }
+
+  public static HeavyHitterSketch fromBytes(byte[] bytes) {
+    HeavyHitterSketch sketch = new HeavyHitterSketch();
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    Hashing.checkVersion(buffer.get(), VERSION, "heavy-hitter sketch");
+    sketch.total = getVarLong(buffer);
+    sketch.candidateCount = buffer.get();
+    for (int i = 0; i < sketch.candidateCount; i++) {
+      sketch.candidates[i] = buffer.getLong();
+    }
+    for (int i = 0; i < sketch.counters.length; i++) {
+      sketch.counters[i] = getVarLong(buffer);
+    }
+    return sketch;
+  }
+
+  private static void putVarLong(ByteBuffer buffer, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  private static long getVarLong(ByteBuffer buffer) {
+    long value = 0;
+    for (int shift = 0;; shift += 7) {
+      byte b = buffer.get();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package com.winnguyen1905.order.core.analytics;
+
+/**
+ * Open-addressing {@code long -> long} map for per-row aggregation. Keys and
+ * values live in two primitive arrays probed linearly, so adding to a key
+ * allocates nothing once the table has grown to fit. Absent keys read as
+ * zero. Not thread-safe; meant to be used inside one request.
+ */
+public final class LongLongHashMap {
+
+  @FunctionalInterface
+  public interface Procedure {
+    void accept(long key, long value);
+  }
+
+  private static final long EMPTY = 0L;
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private long[] keys;
+  private long[] values;
+  private int mask;
+  private int shift;
+  private int size;
+  private int resizeAt;
+  // Key 0 marks empty slots, so it is kept on the side
+  private boolean hasZeroKey;
+  private long zeroValue;
+
+  public LongLongHashMap() {
+    this(16);
+  }
+
+  public LongLongHashMap(int expectedSize) {
+    allocate(tableSizeFor(expectedSize));
+  }
+
+  /**
+   * Add {@code delta} to the value of {@code key}, inserting it at zero first.
+   */
+  public void addTo(long key, long delta) {
+    if (key == EMPTY) {
+      hasZeroKey = true;
+      zeroValue += delta;
+      return;
+    }
+    int slot = slot(key);
+    while (keys[slot] != EMPTY) {
+      if (keys[slot] == key) {
+        values[slot] += delta;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = delta;
+    if (++size >= resizeAt) {
+      rehash(keys.length << 1);
+    }
+  }
+
+  /**
+   * Insert {@code value} unless the key is already present.
+   */
+  public void putIfAbsent(long key, long value) {
+    if (!containsKey(key)) {
+      addTo(key, value);
+    }
+  }
+
+  public long get(long key) {
+    if (key == EMPTY) {
+      return hasZeroKey ? zeroValue : 0L;
+    }
+    int slot = slot(key);
+    while (keys[slot] != EMPTY) {
+      if (keys[slot] == key) {
+        return values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return 0L;
+  }
+
+  public boolean containsKey(long key) {
+    if (key == EMPTY) {
+      return hasZeroKey;
+    }
+    int slot = slot(key);
+    while (keys[slot] != EMPTY) {
+      if (keys[slot] == key) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  public int size() {
+    return size + (hasZeroKey ? 1 : 0);
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public void forEach(Procedure procedure) {
+    if (hasZeroKey) {
+      procedure.accept(EMPTY, zeroValue);
+    }
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != EMPTY) {
+        procedure.accept(keys[i], values[i]);
+      }
+    }
+  }
+
+  private int slot(long key) {
+    // Fibonacci hashing spreads sequential ids across the table
+    return (int) ((key * GOLDEN_GAMMA) >>> shift);
+  }
+
+  private void rehash(int capacity) {
+    long[] oldKeys = keys;
+    long[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      long key = oldKeys[i];
+      if (key != EMPTY) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new long[capacity];
+    mask = capacity - 1;
+    shift = Long.numberOfLeadingZeros(mask);
+    // Load factor 0.5 keeps probe sequences short
+    resizeAt = capacity >>> 1;
+  }
+
+  private static int tableSizeFor(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+    return Math.max(8, capacity);
+  }
+
+  @Override
+  public String toString() {
+    return "LongLongHashMap{size=" + size() + ", capacity=" + keys.length + "}";
+  }
+}
@@ -0,0 +1,65 @@
+package com.winnguyen1905.order.core.analytics;
+
+/**
+ * Multiset of vendor scores in {@code [0, 100]} at 0.1 resolution, kept in a
+ * Fenwick tree so adding, removing and ranking a score are O(log n) in the
+ * number of buckets. Also tracks the running sum for the mean. Not
+ * thread-safe.
+ */
+final class ScoreRank {
+
+  static final int BUCKETS = 1001;
+
+  private final long[] tree = new long[BUCKETS + 1];
+  private long size;
+  private long sum;
+
+  static int bucket(double score) {
+    return (int) Math.round(Math.max(0, Math.min(100, score)) * 10);
+  }
+
+  void add(int bucket) {
+    update(bucket, 1);
+    size++;
+    sum += bucket;
+  }
+
+  void remove(int bucket) {
+    update(bucket, -1);
+    size--;
+    sum -= bucket;
+  }
+
+  /**
+   * Share of scores strictly below the bucket, as a percentage, or
+   * {@code NaN} when empty.
+   */
+  double percentileRank(int bucket) {
+    if (size == 0) {
+      return Double.NaN;
+    }
+    return 100.0 * countBelow(bucket) / size;
+  }
+
+  double mean() {
+    return size == 0 ? Double.NaN : sum / 10.0 / size;
+  }
+
+  long size() {
+    return size;
+  }
+
+  private long countBelow(int bucket) {
+    long count = 0;
+    for (int i = bucket; i > 0; i -= i & -i) {
+      count += tree[i];
+    }
+    return count;
+  }
+
+  private void update(int bucket, long delta) {
+    for (int i = bucket + 1; i <= BUCKETS; i += i & -i) {
+      tree[i] += delta;
+    }
+  }
+}
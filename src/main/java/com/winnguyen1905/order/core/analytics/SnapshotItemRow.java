@@ -0,0 +1,21 @@
+package com.winnguyen1905.order.core.analytics;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Order-item columns loaded into a {@link VendorActivitySnapshot}; selected
+ * with a JPQL constructor expression so no entity is materialized.
+ */
+public record SnapshotItemRow(
+    UUID id,
+    Long vendorId,
+    Long productId,
+    String productName,
+    String productCategory,
+    Integer quantity,
+    Long totalPrice,
+    Instant createdDate,
+    Instant updatedDate,
+    UUID orderId) {
+}
@@ -0,0 +1,20 @@
+package com.winnguyen1905.order.core.analytics;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.winnguyen1905.order.common.constant.VendorOrderStatus;
+
+/**
+ * Vendor-order columns loaded into a {@link VendorActivitySnapshot}; selected
+ * with a JPQL constructor expression so no entity is materialized.
+ */
+public record SnapshotVendorOrderRow(
+    UUID id,
+    Long vendorId,
+    Long subtotal,
+    VendorOrderStatus status,
+    Instant createdDate,
+    Instant updatedDate,
+    Long customerId) {
+}
@@ -0,0 +1,182 @@
+package com.winnguyen1905.order.core.analytics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Merging t-digest for quantiles of a value stream (order values in minor
+ * units). Values are buffered and periodically folded into at most about
+ * {@code COMPRESSION} centroids using the arcsine scale function, which
+ * keeps centroids small near the tails so p99 stays accurate. Digests merge
+ * by folding one's centroids into the other.
+ */
+public final class TDigest {
+
+  static final double COMPRESSION = 100;
+  private static final int BUFFER_SIZE = 500;
+  private static final byte VERSION = 1;
+
+  private double[] means = new double[0];
+  private long[] weights = new long[0];
+  private int centroids;
+  private final double[] bufferedMeans = new double[BUFFER_SIZE];
+  private final long[] bufferedWeights = new long[BUFFER_SIZE];
+  private int buffered;
+  private long count;
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+
+  public void add(double value) {
+    add(value, 1);
+  }
+
+  private void add(double mean, long weight) {
+    if (buffered == BUFFER_SIZE) {
+      compress();
+    }
+    bufferedMeans[buffered] = mean;
+    bufferedWeights[buffered] = weight;
+    buffered++;
+    count += weight;
+    min = Math.min(min, mean);
+    max = Math.max(max, mean);
+  }
+
+  public void merge(TDigest other) {
+    other.compress();
+    for (int i = 0; i < other.centroids; i++) {
+      add(other.means[i], other.weights[i]);
+    }
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+  }
+
+  public long count() {
+    return count;
+  }
+
+  /**
+   * Estimated value at quantile {@code q} in {@code [0, 1]}, or {@code NaN}
+   * when empty.
+   */
+  public double quantile(double q) {
+    compress();
+    if (centroids == 0) {
+      return Double.NaN;
+    }
+    if (centroids == 1) {
+      return means[0];
+    }
+    double target = q * count;
+    double cumulative = 0;
+    double previousCenter = 0;
+    double previousMean = min;
+    for (int i = 0; i < centroids; i++) {
+      double center = cumulative + weights[i] / 2.0;
+      if (target < center) {
+        if (i == 0) {
+          // Between the minimum and the first centroid's center
+          return interpolate(target, 0, min, center, means[0]);
+        }
+        return interpolate(target, previousCenter, previousMean, center, means[i]);
+      }
+      cumulative += weights[i];
+      previousCenter = center;
+      previousMean = means[i];
+    }
+    return interpolate(target, previousCenter, previousMean, count, max);
+  }
+
+  private static double interpolate(double x, double x0, double y0, double x1, double y1) {
+    if (x1 <= x0) {
+      return y1;
+    }
+    return y0 + (y1 - y0) * (x - x0) / (x1 - x0);
+  }
+
+  private void compress() {
+    if (buffered == 0) {
+      return;
+    }
+    int n = centroids + buffered;
+    Integer[] order = new Integer[n];
+    double[] allMeans = Arrays.copyOf(means, n);
+    long[] allWeights = Arrays.copyOf(weights, n);
+    System.arraycopy(bufferedMeans, 0, allMeans, centroids, buffered);
+    System.arraycopy(bufferedWeights, 0, allWeights, centroids, buffered);
+    for (int i = 0; i < n; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Double.compare(allMeans[a], allMeans[b]));
+
+    double[] mergedMeans = new double[n];
+    long[] mergedWeights = new long[n];
+    int merged = 0;
+    double total = 0;
+    for (int i = 0; i < n; i++) {
+      total += allWeights[i];
+    }
+    double weightSoFar = 0;
+    double limit = total * qOfK(kOfQ(0) + 1);
+    mergedMeans[0] = allMeans[order[0]];
+    mergedWeights[0] = allWeights[order[0]];
+    for (int i = 1; i < n; i++) {
+      int next = order[i];
+      if (weightSoFar + mergedWeights[merged] + allWeights[next] <= limit) {
+        long weight = mergedWeights[merged] + allWeights[next];
+        mergedMeans[merged] += (allMeans[next] - mergedMeans[merged]) * allWeights[next] / weight;
+        mergedWeights[merged] = weight;
+      } else {
+        weightSoFar += mergedWeights[merged];
+        limit = total * qOfK(kOfQ(weightSoFar / total) + 1);
+        merged++;
+        mergedMeans[merged] = allMeans[next];
+        mergedWeights[merged] = allWeights[next];
+      }
+    }
+    centroids = merged + 1;
+    means = Arrays.copyOf(mergedMeans, centroids);
+    weights = Arrays.copyOf(mergedWeights, centroids);
+    buffered = 0;
+  }
+
+  private static double kOfQ(double q) {
+    return COMPRESSION / (2 * Math.PI) * Math.asin(2 * Math.min(1, Math.max(0, q)) - 1);
+  }
+
+  private static double qOfK(double k) {
+    double angle = Math.min(Math.PI / 2, 2 * Math.PI * k / COMPRESSION);
+    return (Math.sin(angle) + 1) / 2;
+  }
+
+  public byte[] toBytes() {
+    compress();
+    ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 8 + 8 + 4 + centroids * 16)
+        .put(VERSION)
+        .putLong(count)
+        .putDouble(min)
+        .putDouble(max)
+        .putInt(centroids);
+    for (int i = 0; i < centroids; i++) {
+      buffer.putDouble(means[i]).putLong(weights[i]);
+    }
+    return buffer.array();
+  }
+
+  public static TDigest fromBytes(byte[] bytes) {
+    TDigest digest = new TDigest();
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    Hashing.checkVersion(buffer.get(), VERSION, "t-digest");
+    digest.count = buffer.getLong();
+    digest.min = buffer.getDouble();
+    digest.max = buffer.getDouble();
+    digest.centroids = buffer.getInt();
+    digest.means = new double[digest.centroids];
+    digest.weights = new long[digest.centroids];
+    for (int i = 0; i < digest.centroids; i++) {
+      digest.means[i] = buffer.getDouble();
+      digest.weights[i] = buffer.getLong();
+    }
+    return digest;
+  }
+}
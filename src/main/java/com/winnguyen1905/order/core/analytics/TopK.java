@@ -0,0 +1,97 @@
+package com.winnguyen1905.order.core.analytics;
+
+/**
+ * Keeps the {@code k} keys with the highest scores out of a stream of
+ * {@code (key, score)} pairs in a bounded binary min-heap on primitive
+ * arrays: O(n log k) time and O(k) memory instead of sorting every key.
+ * Equal scores rank the smaller key first so results are deterministic.
+ */
+public final class TopK {
+
+  private final long[] keys;
+  private final long[] scores;
+  private int size;
+
+  public TopK(int k) {
+    if (k <= 0) {
+      throw new IllegalArgumentException("k must be positive: " + k);
+    }
+    this.keys = new long[k];
+    this.scores = new long[k];
+  }
+
+  public void offer(long key, long score) {
+    if (size < keys.length) {
+      keys[size] = key;
+      scores[size] = score;
+      siftUp(size++);
+    } else if (ranksBefore(key, score, keys[0], scores[0])) {
+      // Beats the weakest retained entry at the root
+      keys[0] = key;
+      scores[0] = score;
+      siftDown(0);
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * The retained keys, best first. Drains the heap.
+   */
+  public long[] drainDescending() {
+    long[] result = new long[size];
+    for (int i = size - 1; i >= 0; i--) {
+      result[i] = keys[0];
+      size--;
+      keys[0] = keys[size];
+      scores[0] = scores[size];
+      siftDown(0);
+    }
+    return result;
+  }
+
+  private static boolean ranksBefore(long key, long score, long otherKey, long otherScore) {
+    return score > otherScore || (score == otherScore && key < otherKey);
+  }
+
+  private void siftUp(int index) {
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (!ranksBefore(keys[parent], scores[parent], keys[index], scores[index])) {
+        return;
+      }
+      swap(index, parent);
+      index = parent;
+    }
+  }
+
+  private void siftDown(int index) {
+    for (;;) {
+      int left = 2 * index + 1;
+      if (left >= size) {
+        return;
+      }
+      int weakest = left;
+      int right = left + 1;
+      if (right < size && ranksBefore(keys[left], scores[left], keys[right], scores[right])) {
+        weakest = right;
+      }
+      if (!ranksBefore(keys[index], scores[index], keys[weakest], scores[weakest])) {
+        return;
+      }
+      swap(index, weakest);
+      index = weakest;
+    }
+  }
+
+  private void swap(int a, int b) {
+    long key = keys[a];
+    keys[a] = keys[b];
+    keys[b] = key;
+    long score = scores[a];
+    scores[a] = scores[b];
+    scores[b] = score;
+  }
+}
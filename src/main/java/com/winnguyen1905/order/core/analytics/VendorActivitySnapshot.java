@@ -0,0 +1,345 @@
+package com.winnguyen1905.order.core.analytics;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.winnguyen1905.order.common.constant.VendorOrderStatus;
+
+/**
+ * Immutable, column-oriented copy of recent order items and vendor orders
+ * for the vendor dashboards. Each table is a set of primitive arrays sorted
+ * by {@code (vendorId, createdMillis)}, so a vendor's rows are one contiguous
+ * range and a date window inside it is found by binary search; the
+ * aggregations then run as plain loops over those arrays. Product names and
+ * categories are dictionary-encoded into {@code int} codes. Instances are
+ * built by {@link VendorActivitySnapshotBuilder} and safe to share between
+ * threads once published.
+ */
+public final class VendorActivitySnapshot {
+
+  private static final VendorOrderStatus[] STATUSES = VendorOrderStatus.values();
+  private static final long NULL_CUSTOMER = Long.MIN_VALUE;
+
+  final ItemColumns items;
+  final VendorOrderColumns vendorOrders;
+  final String[] productNames;
+  final String[] categories;
+  private final long windowStartMillis;
+  private final Instant builtAt;
+
+  VendorActivitySnapshot(ItemColumns items, VendorOrderColumns vendorOrders, String[] productNames,
+      String[] categories, long windowStartMillis, Instant builtAt) {
+    this.items = items;
+    this.vendorOrders = vendorOrders;
+    this.productNames = productNames;
+    this.categories = categories;
+    this.windowStartMillis = windowStartMillis;
+    this.builtAt = builtAt;
+  }
+
+  /**
+   * Whether every row created at or after {@code from} is in this snapshot.
+   */
+  public boolean covers(Instant from) {
+    return from.toEpochMilli() >= windowStartMillis;
+  }
+
+  public Instant getBuiltAt() {
+    return builtAt;
+  }
+
+  public int getItemCount() {
+    return items.count;
+  }
+
+  public int getVendorOrderCount() {
+    return vendorOrders.count;
+  }
+
+  /**
+   * Sales of the vendor's items created within {@code [from, to]}.
+   */
+  public SalesSummary salesSummary(long vendorId, Instant from, Instant to) {
+    ItemColumns c = items;
+    long range = c.range(vendorId, from, to);
+    int start = (int) (range >>> 32);
+    int end = (int) range;
+
+    long itemsSold = 0L;
+    long salesMinor = 0L;
+    LongLongHashMap distinctOrders = new LongLongHashMap();
+    LongLongHashMap quantityByProduct = new LongLongHashMap();
+    LongLongHashMap nameByProduct = new LongLongHashMap();
+    LongLongHashMap salesByCategory = new LongLongHashMap();
+    LongLongHashMap salesByDay = new LongLongHashMap();
+    for (int row = start; row < end; row++) {
+      long total = c.totalPrice[row];
+      itemsSold += c.quantity[row];
+      salesMinor += total;
+      distinctOrders.putIfAbsent(c.orderCode[row], 0L);
+      quantityByProduct.addTo(c.productId[row], c.quantity[row]);
+      nameByProduct.putIfAbsent(c.productId[row], c.productName[row]);
+      if (c.category[row] >= 0) {
+        salesByCategory.addTo(c.category[row], total);
+      }
+      salesByDay.addTo(c.epochDay[row], total);
+    }
+
+    // Reported by name, the first name seen for each product id
+    Map<String, Integer> quantityByProductName = new HashMap<>();
+    quantityByProduct.forEach((productId, quantity) -> quantityByProductName.merge(
+        decode(productNames, (int) nameByProduct.get(productId)), (int) quantity, Integer::sum));
+    Map<String, Long> salesByCategoryMinor = new HashMap<>();
+    salesByCategory.forEach((code, minor) -> salesByCategoryMinor.put(categories[(int) code], minor));
+    Map<LocalDate, Long> salesByDayMinor = new HashMap<>();
+    salesByDay.forEach((epochDay, minor) -> salesByDayMinor.put(LocalDate.ofEpochDay(epochDay), minor));
+
+    return new SalesSummary(distinctOrders.size(), itemsSold, salesMinor, quantityByProductName,
+        salesByCategoryMinor, salesByDayMinor);
+  }
+
+  /**
+   * The vendor's {@code limit} best-selling products by quantity among items
+   * created within {@code [from, to]}.
+   */
+  public List<ProductTotal> topProducts(long vendorId, Instant from, Instant to, int limit) {
+    ItemColumns c = items;
+    long range = c.range(vendorId, from, to);
+    int start = (int) (range >>> 32);
+    int end = (int) range;
+
+    LongLongHashMap quantityByProduct = new LongLongHashMap();
+    LongLongHashMap revenueByProduct = new LongLongHashMap();
+    LongLongHashMap nameByProduct = new LongLongHashMap();
+    for (int row = start; row < end; row++) {
+      long productId = c.productId[row];
+      quantityByProduct.addTo(productId, c.quantity[row]);
+      revenueByProduct.addTo(productId, c.totalPrice[row]);
+      nameByProduct.putIfAbsent(productId, c.productName[row]);
+    }
+
+    TopK top = new TopK(limit);
+    quantityByProduct.forEach(top::offer);
+    List<ProductTotal> result = new ArrayList<>(top.size());
+    for (long productId : top.drainDescending()) {
+      result.add(new ProductTotal(productId, decode(productNames, (int) nameByProduct.get(productId)),
+          (int) quantityByProduct.get(productId), revenueByProduct.get(productId)));
+    }
+    return result;
+  }
+
+  /**
+   * Counts and value of the vendor's vendor orders created within
+   * {@code [from, to]}.
+   */
+  public OrderSummary orderSummary(long vendorId, Instant from, Instant to) {
+    VendorOrderColumns c = vendorOrders;
+    long range = c.range(vendorId, from, to);
+    int start = (int) (range >>> 32);
+    int end = (int) range;
+
+    long valueMinor = 0L;
+    int[] countByStatus = new int[STATUSES.length];
+    LongLongHashMap countByDay = new LongLongHashMap();
+    LongLongHashMap revenueByDay = new LongLongHashMap();
+    LongLongHashMap distinctCustomers = new LongLongHashMap();
+    for (int row = start; row < end; row++) {
+      valueMinor += c.subtotal[row];
+      if (c.status[row] >= 0) {
+        countByStatus[c.status[row]]++;
+      }
+      countByDay.addTo(c.epochDay[row], 1L);
+      revenueByDay.addTo(c.epochDay[row], c.subtotal[row]);
+      distinctCustomers.putIfAbsent(c.customerId[row], 0L);
+    }
+
+    Map<VendorOrderStatus, Integer> ordersByStatus = new EnumMap<>(VendorOrderStatus.class);
+    for (int ordinal = 0; ordinal < countByStatus.length; ordinal++) {
+      if (countByStatus[ordinal] > 0) {
+        ordersByStatus.put(STATUSES[ordinal], countByStatus[ordinal]);
+      }
+    }
+    Map<LocalDate, Integer> orderCountByDay = new HashMap<>();
+    countByDay.forEach((epochDay, count) -> orderCountByDay.put(LocalDate.ofEpochDay(epochDay), (int) count));
+    Map<LocalDate, Long> revenueByDayMinor = new HashMap<>();
+    revenueByDay.forEach((epochDay, minor) -> revenueByDayMinor.put(LocalDate.ofEpochDay(epochDay), minor));
+
+    return new OrderSummary(end - start, valueMinor, ordersByStatus, orderCountByDay, revenueByDayMinor,
+        distinctCustomers.size());
+  }
+
+  private static String decode(String[] dictionary, int code) {
+    return code >= 0 ? dictionary[code] : null;
+  }
+
+  static long customerKey(Long customerId) {
+    return customerId != null ? customerId : NULL_CUSTOMER;
+  }
+
+  public record SalesSummary(
+      int totalOrders,
+      long totalItemsSold,
+      long totalSalesMinor,
+      Map<String, Integer> quantityByProductName,
+      Map<String, Long> salesByCategoryMinor,
+      Map<LocalDate, Long> salesByDayMinor) {
+  }
+
+  public record ProductTotal(long productId, String productName, int quantitySold, long revenueMinor) {
+  }
+
+  public record OrderSummary(
+      int totalOrders,
+      long totalValueMinor,
+      Map<VendorOrderStatus, Integer> ordersByStatus,
+      Map<LocalDate, Integer> orderCountByDay,
+      Map<LocalDate, Long> revenueByDayMinor,
+      int uniqueCustomers) {
+  }
+
+  /**
+   * Columns shared by both tables: row identity, the sort key and the
+   * per-vendor row ranges. Arrays may be longer than {@link #count}.
+   */
+  abstract static class Table {
+    int count;
+    final long[] idMsb;
+    final long[] idLsb;
+    final long[] vendorId;
+    final long[] createdMillis;
+    final int[] epochDay;
+    // vendorId -> (start << 32 | end), filled by index()
+    final LongLongHashMap ranges = new LongLongHashMap();
+
+    Table(int capacity) {
+      idMsb = new long[capacity];
+      idLsb = new long[capacity];
+      vendorId = new long[capacity];
+      createdMillis = new long[capacity];
+      epochDay = new int[capacity];
+    }
+
+    int appendKey(UUID id, long vendor, Instant created, int day) {
+      int row = count++;
+      idMsb[row] = id.getMostSignificantBits();
+      idLsb[row] = id.getLeastSignificantBits();
+      vendorId[row] = vendor;
+      createdMillis[row] = created.toEpochMilli();
+      epochDay[row] = day;
+      return row;
+    }
+
+    int copyKey(Table source, int sourceRow) {
+      int row = count++;
+      idMsb[row] = source.idMsb[sourceRow];
+      idLsb[row] = source.idLsb[sourceRow];
+      vendorId[row] = source.vendorId[sourceRow];
+      createdMillis[row] = source.createdMillis[sourceRow];
+      epochDay[row] = source.epochDay[sourceRow];
+      return row;
+    }
+
+    void index() {
+      int start = 0;
+      for (int row = 1; row <= count; row++) {
+        if (row == count || vendorId[row] != vendorId[start]) {
+          ranges.putIfAbsent(vendorId[start], ((long) start << 32) | row);
+          start = row;
+        }
+      }
+    }
+
+    /**
+     * Rows of the vendor created within {@code [from, to]}, packed as
+     * {@code start << 32 | end}.
+     */
+    long range(long vendor, Instant from, Instant to) {
+      if (!ranges.containsKey(vendor)) {
+        return 0L;
+      }
+      long packed = ranges.get(vendor);
+      int start = lowerBound((int) (packed >>> 32), (int) packed, from.toEpochMilli());
+      int end = lowerBound(start, (int) packed, to.toEpochMilli() + 1);
+      return ((long) start << 32) | end;
+    }
+
+    /**
+     * Position of the row with this id among the vendor's rows, or -1.
+     * Relies on vendor id and creation time never changing after insert.
+     */
+    int find(long vendor, long created, long msb, long lsb) {
+      if (!ranges.containsKey(vendor)) {
+        return -1;
+      }
+      long packed = ranges.get(vendor);
+      int end = (int) packed;
+      for (int row = lowerBound((int) (packed >>> 32), end, created); row < end
+          && createdMillis[row] == created; row++) {
+        if (idMsb[row] == msb && idLsb[row] == lsb) {
+          return row;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * First row in {@code [from, to)} created at or after {@code millis}.
+     */
+    int lowerBound(int from, int to, long millis) {
+      int low = from;
+      int high = to;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (createdMillis[mid] < millis) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    int compareKey(int row, long otherVendor, long otherCreated) {
+      int byVendor = Long.compare(vendorId[row], otherVendor);
+      return byVendor != 0 ? byVendor : Long.compare(createdMillis[row], otherCreated);
+    }
+  }
+
+  static final class ItemColumns extends Table {
+    final long[] productId;
+    final long[] totalPrice;
+    final int[] quantity;
+    final int[] productName;
+    final int[] category;
+    final int[] orderCode;
+
+    ItemColumns(int capacity) {
+      super(capacity);
+      productId = new long[capacity];
+      totalPrice = new long[capacity];
+      quantity = new int[capacity];
+      productName = new int[capacity];
+      category = new int[capacity];
+      orderCode = new int[capacity];
+    }
+  }
+
+  static final class VendorOrderColumns extends Table {
+    final long[] subtotal;
+    final long[] customerId;
+    final byte[] status;
+
+    VendorOrderColumns(int capacity) {
+      super(capacity);
+      subtotal = new long[capacity];
+      customerId = new long[capacity];
+      status = new byte[capacity];
+    }
+  }
+}
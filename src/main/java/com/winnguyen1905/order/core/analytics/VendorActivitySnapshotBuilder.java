@@ -0,0 +1,180 @@
+package com.winnguyen1905.order.core.analytics;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import com.winnguyen1905.order.core.analytics.VendorActivitySnapshot.ItemColumns;
+import com.winnguyen1905.order.core.analytics.VendorActivitySnapshot.Table;
+import com.winnguyen1905.order.core.analytics.VendorActivitySnapshot.VendorOrderColumns;
+
+/**
+ * Builds {@link VendorActivitySnapshot}s, either from scratch or by merging
+ * changed rows into the previous snapshot. Both inputs are sorted by
+ * {@code (vendorId, createdMillis)}, so a merge is one linear pass: previous
+ * rows that were reloaded or fell out of the window are skipped, the rest
+ * are copied column by column. The dictionaries only grow, so one builder is
+ * kept per region between full rebuilds. Not thread-safe.
+ */
+final class VendorActivitySnapshotBuilder {
+
+  private final ZoneId zone;
+  private final Map<String, Integer> productNameCodes = new HashMap<>();
+  private final List<String> productNames = new ArrayList<>();
+  private final Map<String, Integer> categoryCodes = new HashMap<>();
+  private final List<String> categories = new ArrayList<>();
+  private final Map<UUID, Integer> orderCodes = new HashMap<>();
+
+  VendorActivitySnapshotBuilder(ZoneId zone) {
+    this.zone = zone;
+  }
+
+  /**
+   * @param previous snapshot to merge into, or {@code null} for a full build
+   * @param itemRows items created or changed since {@code previous}
+   * @param vendorOrderRows vendor orders created or changed since {@code previous}
+   * @param windowStart rows created before this are dropped
+   */
+  VendorActivitySnapshot build(VendorActivitySnapshot previous, List<SnapshotItemRow> itemRows,
+      List<SnapshotVendorOrderRow> vendorOrderRows, Instant windowStart, Instant builtAt) {
+    long windowStartMillis = windowStart.toEpochMilli();
+    ItemColumns items = mergeItems(previous != null ? previous.items : null,
+        sorted(itemRows, SnapshotItemRow::id, SnapshotItemRow::vendorId, SnapshotItemRow::createdDate,
+            windowStartMillis),
+        windowStartMillis);
+    VendorOrderColumns vendorOrders = mergeVendorOrders(previous != null ? previous.vendorOrders : null,
+        sorted(vendorOrderRows, SnapshotVendorOrderRow::id, SnapshotVendorOrderRow::vendorId,
+            SnapshotVendorOrderRow::createdDate, windowStartMillis),
+        windowStartMillis);
+    return new VendorActivitySnapshot(items, vendorOrders, productNames.toArray(String[]::new),
+        categories.toArray(String[]::new), windowStartMillis, builtAt);
+  }
+
+  private ItemColumns mergeItems(ItemColumns previous, List<SnapshotItemRow> incoming, long windowStartMillis) {
+    int previousCount = previous != null ? previous.count : 0;
+    BitSet replaced = replaced(previous, incoming, SnapshotItemRow::id, SnapshotItemRow::vendorId,
+        SnapshotItemRow::createdDate);
+    ItemColumns merged = new ItemColumns(previousCount + incoming.size());
+
+    int old = 0;
+    int next = 0;
+    while (old < previousCount || next < incoming.size()) {
+      SnapshotItemRow row = next < incoming.size() ? incoming.get(next) : null;
+      if (row == null || (old < previousCount
+          && previous.compareKey(old, row.vendorId(), row.createdDate().toEpochMilli()) <= 0)) {
+        if (!replaced.get(old) && previous.createdMillis[old] >= windowStartMillis) {
+          int at = merged.copyKey(previous, old);
+          merged.productId[at] = previous.productId[old];
+          merged.totalPrice[at] = previous.totalPrice[old];
+          merged.quantity[at] = previous.quantity[old];
+          merged.productName[at] = previous.productName[old];
+          merged.category[at] = previous.category[old];
+          merged.orderCode[at] = previous.orderCode[old];
+        }
+        old++;
+      } else {
+        int at = merged.appendKey(row.id(), row.vendorId(), row.createdDate(), epochDay(row.createdDate()));
+        merged.productId[at] = row.productId() != null ? row.productId() : 0L;
+        merged.totalPrice[at] = row.totalPrice() != null ? row.totalPrice() : 0L;
+        merged.quantity[at] = row.quantity() != null ? row.quantity() : 0;
+        merged.productName[at] = encode(row.productName(), productNameCodes, productNames);
+        merged.category[at] = encode(row.productCategory(), categoryCodes, categories);
+        merged.orderCode[at] = orderCodes.computeIfAbsent(row.orderId(), id -> orderCodes.size());
+        next++;
+      }
+    }
+    merged.index();
+    return merged;
+  }
+
+  private VendorOrderColumns mergeVendorOrders(VendorOrderColumns previous, List<SnapshotVendorOrderRow> incoming,
+      long windowStartMillis) {
+    int previousCount = previous != null ? previous.count : 0;
+    BitSet replaced = replaced(previous, incoming, SnapshotVendorOrderRow::id, SnapshotVendorOrderRow::vendorId,
+        SnapshotVendorOrderRow::createdDate);
+    VendorOrderColumns merged = new VendorOrderColumns(previousCount + incoming.size());
+
+    int old = 0;
+    int next = 0;
+    while (old < previousCount || next < incoming.size()) {
+      SnapshotVendorOrderRow row = next < incoming.size() ? incoming.get(next) : null;
+      if (row == null || (old < previousCount
+          && previous.compareKey(old, row.vendorId(), row.createdDate().toEpochMilli()) <= 0)) {
+        if (!replaced.get(old) && previous.createdMillis[old] >= windowStartMillis) {
+          int at = merged.copyKey(previous, old);
+          merged.subtotal[at] = previous.subtotal[old];
+          merged.customerId[at] = previous.customerId[old];
+          merged.status[at] = previous.status[old];
+        }
+        old++;
+      } else {
+        int at = merged.appendKey(row.id(), row.vendorId(), row.createdDate(), epochDay(row.createdDate()));
+        merged.subtotal[at] = row.subtotal() != null ? row.subtotal() : 0L;
+        merged.customerId[at] = VendorActivitySnapshot.customerKey(row.customerId());
+        merged.status[at] = row.status() != null ? (byte) row.status().ordinal() : -1;
+        next++;
+      }
+    }
+    merged.index();
+    return merged;
+  }
+
+  /**
+   * Rows of the previous table that the incoming rows supersede.
+   */
+  private static <R> BitSet replaced(Table previous, List<R> incoming, Function<R, UUID> id,
+      Function<R, Long> vendorId, Function<R, Instant> createdDate) {
+    BitSet replaced = new BitSet(previous != null ? previous.count : 0);
+    if (previous == null) {
+      return replaced;
+    }
+    for (R row : incoming) {
+      UUID rowId = id.apply(row);
+      int at = previous.find(vendorId.apply(row), createdDate.apply(row).toEpochMilli(),
+          rowId.getMostSignificantBits(), rowId.getLeastSignificantBits());
+      if (at >= 0) {
+        replaced.set(at);
+      }
+    }
+    return replaced;
+  }
+
+  /**
+   * Rows that belong in the window, in table order.
+   */
+  private static <R> List<R> sorted(List<R> rows, Function<R, UUID> id, Function<R, Long> vendorId,
+      Function<R, Instant> createdDate, long windowStartMillis) {
+    List<R> kept = new ArrayList<>(rows.size());
+    for (R row : rows) {
+      if (id.apply(row) != null && vendorId.apply(row) != null && createdDate.apply(row) != null
+          && createdDate.apply(row).toEpochMilli() >= windowStartMillis) {
+        kept.add(row);
+      }
+    }
+    kept.sort(Comparator.<R>comparingLong(row -> vendorId.apply(row))
+        .thenComparingLong(row -> createdDate.apply(row).toEpochMilli()));
+    return kept;
+  }
+
+  private int epochDay(Instant instant) {
+    return (int) LocalDate.ofInstant(instant, zone).toEpochDay();
+  }
+
+  private static int encode(String value, Map<String, Integer> codes, List<String> dictionary) {
+    if (value == null) {
+      return -1;
+    }
+    return codes.computeIfAbsent(value, key -> {
+      dictionary.add(key);
+      return dictionary.size() - 1;
+    });
+  }
+}
@@ -0,0 +1,252 @@
+package com.winnguyen1905.order.core.analytics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.winnguyen1905.order.persistance.repository.OrderItemRepository;
+import com.winnguyen1905.order.persistance.repository.VendorOrderRepository;
+import com.winnguyen1905.order.secure.RegionContextHolder;
+import com.winnguyen1905.order.secure.RegionHibernateFilterConfigurer;
+import com.winnguyen1905.order.secure.RegionPartition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps one {@link VendorActivitySnapshot} covering the last
+ * {@code window-days} days of every region, since a vendor sells into all of
+ * them. Each refresh reloads, region by region, only rows whose
+ * {@code updated_date} moved past that region's watermark (minus a small
+ * overlap for clock skew between nodes) and merges them in; deleted rows are
+ * only noticed by the periodic full rebuild. Readers get the published
+ * snapshot when it covers their range, and otherwise an ad-hoc snapshot of
+ * just that vendor loaded from every region, so both paths see the same rows
+ * and the aggregation code is the same either way. Published snapshots lag
+ * the database by up to one refresh interval.
+ */
+@Slf4j
+@Component
+public class VendorActivitySnapshotStore {
+
+  private final OrderItemRepository orderItemRepository;
+  private final VendorOrderRepository vendorOrderRepository;
+  private final RegionHibernateFilterConfigurer regionFilterConfigurer;
+  private final TransactionTemplate readTemplate;
+  private final ZoneId zone = ZoneId.systemDefault();
+  private final boolean enabled;
+  private final int windowDays;
+  private final long fullRebuildMillis;
+  private final Duration watermarkOverlap;
+  private final int maxRows;
+  private final Counter snapshotReads;
+  private final Counter databaseReads;
+  private final Timer refreshTimer;
+  private volatile VendorActivitySnapshot snapshot;
+  // Refresh thread only
+  private final Map<RegionPartition, Instant> watermarks = new EnumMap<>(RegionPartition.class);
+  private VendorActivitySnapshotBuilder builder;
+  private long lastFullRebuildMillis;
+
+  public VendorActivitySnapshotStore(
+      OrderItemRepository orderItemRepository,
+      VendorOrderRepository vendorOrderRepository,
+      RegionHibernateFilterConfigurer regionFilterConfigurer,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${order.vendor-snapshot.enabled:true}") boolean enabled,
+      @Value("${order.vendor-snapshot.window-days:90}") int windowDays,
+      @Value("${order.vendor-snapshot.full-rebuild-ms:900000}") long fullRebuildMillis,
+      @Value("${order.vendor-snapshot.watermark-overlap-ms:30000}") long watermarkOverlapMillis,
+      @Value("${order.vendor-snapshot.max-rows:5000000}") int maxRows) {
+    this.orderItemRepository = orderItemRepository;
+    this.vendorOrderRepository = vendorOrderRepository;
+    this.regionFilterConfigurer = regionFilterConfigurer;
+    this.readTemplate = new TransactionTemplate(transactionManager);
+    this.readTemplate.setReadOnly(true);
+    this.enabled = enabled;
+    this.windowDays = windowDays;
+    this.fullRebuildMillis = fullRebuildMillis;
+    this.watermarkOverlap = Duration.ofMillis(watermarkOverlapMillis);
+    this.maxRows = maxRows;
+    this.snapshotReads = Counter.builder("order.vendor-snapshot.reads")
+        .tag("source", "snapshot")
+        .register(meterRegistry);
+    this.databaseReads = Counter.builder("order.vendor-snapshot.reads")
+        .tag("source", "database")
+        .register(meterRegistry);
+    this.refreshTimer = Timer.builder("order.vendor-snapshot.refresh")
+        .register(meterRegistry);
+    Gauge.builder("order.vendor-snapshot.rows", this, VendorActivitySnapshotStore::rows)
+        .register(meterRegistry);
+    Gauge.builder("order.vendor-snapshot.age.seconds", this, VendorActivitySnapshotStore::ageSeconds)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Snapshot holding the vendor's items created within {@code [from, to]}.
+   */
+  public VendorActivitySnapshot forItems(Long vendorId, Instant from, Instant to) {
+    VendorActivitySnapshot published = published(from);
+    if (published != null) {
+      return published;
+    }
+    Changes rows = loadFromEveryRegion(() -> new Changes(
+        orderItemRepository.findVendorSnapshotRows(vendorId, from, to), List.of()));
+    return new VendorActivitySnapshotBuilder(zone).build(null, rows.items(), List.of(), from, Instant.now());
+  }
+
+  /**
+   * Snapshot holding the vendor's items and vendor orders created within
+   * {@code [from, to]}.
+   */
+  public VendorActivitySnapshot forVendorActivity(Long vendorId, Instant from, Instant to) {
+    VendorActivitySnapshot published = published(from);
+    if (published != null) {
+      return published;
+    }
+    Changes rows = loadFromEveryRegion(() -> new Changes(
+        orderItemRepository.findVendorSnapshotRows(vendorId, from, to),
+        vendorOrderRepository.findVendorSnapshotRows(vendorId, from, to)));
+    return new VendorActivitySnapshotBuilder(zone).build(null, rows.items(), rows.vendorOrders(), from,
+        Instant.now());
+  }
+
+  /**
+   * Start of the window the published snapshot covers; ranges starting
+   * earlier are loaded from the database.
+   */
+  private Instant windowStart() {
+    return LocalDate.now(zone).minusDays(windowDays).atStartOfDay(zone).toInstant();
+  }
+
+  private VendorActivitySnapshot published(Instant from) {
+    VendorActivitySnapshot current = snapshot;
+    if (current != null && current.covers(from)) {
+      snapshotReads.increment();
+      return current;
+    }
+    databaseReads.increment();
+    return null;
+  }
+
+  /**
+   * Run the load once per region, each restricted to its region's rows, and
+   * concatenate the results
+   */
+  private Changes loadFromEveryRegion(Supplier<Changes> load) {
+    List<SnapshotItemRow> items = new ArrayList<>();
+    List<SnapshotVendorOrderRow> vendorOrders = new ArrayList<>();
+    for (RegionPartition region : RegionPartition.values()) {
+      Changes changes = regionFilterConfigurer.inRegion(region, () -> readTemplate.execute(status -> load.get()));
+      items.addAll(changes.items());
+      vendorOrders.addAll(changes.vendorOrders());
+    }
+    return new Changes(items, vendorOrders);
+  }
+
+  @Scheduled(fixedDelayString = "${order.vendor-snapshot.refresh-ms:60000}",
+      initialDelayString = "${order.vendor-snapshot.initial-delay-ms:30000}")
+  public void refresh() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      refreshTimer.record(this::refreshAllRegions);
+    } catch (RuntimeException e) {
+      // The published snapshot stays; the next run starts from the same watermarks
+      log.warn("Vendor activity snapshot refresh failed: {}", e.getMessage());
+    }
+  }
+
+  private void refreshAllRegions() {
+    Instant now = Instant.now();
+    Instant windowStart = windowStart();
+    boolean rebuildDue = now.toEpochMilli() - lastFullRebuildMillis >= fullRebuildMillis;
+    if (builder == null && !rebuildDue) {
+      // The last rebuild went over the row limit
+      return;
+    }
+    boolean full = builder == null || rebuildDue;
+
+    List<SnapshotItemRow> items = new ArrayList<>();
+    List<SnapshotVendorOrderRow> vendorOrders = new ArrayList<>();
+    Map<RegionPartition, Instant> nextWatermarks = new EnumMap<>(RegionPartition.class);
+    for (RegionPartition region : RegionPartition.values()) {
+      Instant watermark = full ? windowStart : watermarks.getOrDefault(region, windowStart);
+      Instant since = full ? Instant.EPOCH : watermark.minus(watermarkOverlap);
+      RegionPartition previous = RegionContextHolder.set(region);
+      Changes changes;
+      try {
+        changes = readTemplate.execute(status -> new Changes(
+            orderItemRepository.findSnapshotRows(windowStart, since),
+            vendorOrderRepository.findSnapshotRows(windowStart, since)));
+      } finally {
+        RegionContextHolder.restore(previous);
+      }
+      for (SnapshotItemRow row : changes.items()) {
+        watermark = later(watermark, row.updatedDate());
+      }
+      for (SnapshotVendorOrderRow row : changes.vendorOrders()) {
+        watermark = later(watermark, row.updatedDate());
+      }
+      items.addAll(changes.items());
+      vendorOrders.addAll(changes.vendorOrders());
+      nextWatermarks.put(region, watermark);
+    }
+
+    VendorActivitySnapshotBuilder next = full ? new VendorActivitySnapshotBuilder(zone) : builder;
+    VendorActivitySnapshot built = next.build(full ? null : snapshot, items, vendorOrders, windowStart, now);
+
+    if ((long) built.getItemCount() + built.getVendorOrderCount() > maxRows) {
+      // Too big to hold; readers go to the database until the window shrinks
+      log.warn("Vendor activity snapshot has {} rows, over the limit of {}; disabled",
+          built.getItemCount() + built.getVendorOrderCount(), maxRows);
+      snapshot = null;
+      builder = null;
+      lastFullRebuildMillis = now.toEpochMilli();
+      return;
+    }
+
+    builder = next;
+    watermarks.putAll(nextWatermarks);
+    if (full) {
+      lastFullRebuildMillis = now.toEpochMilli();
+    }
+    snapshot = built;
+    log.debug("Vendor activity snapshot {}: {} items, {} vendor orders", full ? "rebuilt" : "refreshed",
+        built.getItemCount(), built.getVendorOrderCount());
+  }
+
+  private static Instant later(Instant current, Instant candidate) {
+    return candidate != null && candidate.isAfter(current) ? candidate : current;
+  }
+
+  private double rows() {
+    VendorActivitySnapshot current = snapshot;
+    return current != null ? current.getItemCount() + current.getVendorOrderCount() : 0;
+  }
+
+  private double ageSeconds() {
+    VendorActivitySnapshot current = snapshot;
+    return current != null ? Duration.between(current.getBuiltAt(), Instant.now()).toSeconds() : 0;
+  }
+
+  private record Changes(List<SnapshotItemRow> items, List<SnapshotVendorOrderRow> vendorOrders) {
+  }
+}
@@ -0,0 +1,115 @@
+package com.winnguyen1905.order.core.analytics;
+
+/**
+ * Transition counts and durations for the vendor orders created on one day
+ * (a cohort), or the sum of several days. Milestones reached later are added
+ * to the cohort of the order's creation day, so rates stay within
+ * {@code [0, 1]}. Not thread-safe.
+ */
+final class VendorPerformanceCounters {
+
+  long orders;
+  long accepted;
+  long shipped;
+  long shippedOnTime;
+  long delivered;
+  long cancelled;
+  long refunded;
+  long acceptMinutes;
+  long processingMinutes;
+  long shippingMinutes;
+  long fulfillmentMinutes;
+  private DurationHistogram acceptTimes;
+  private DurationHistogram processingTimes;
+
+  void accepted(long minutes) {
+    accepted++;
+    acceptMinutes += minutes;
+    acceptTimes().add(minutes);
+  }
+
+  void shipped(long minutes, boolean onTime) {
+    shipped++;
+    processingMinutes += minutes;
+    processingTimes().add(minutes);
+    if (onTime) {
+      shippedOnTime++;
+    }
+  }
+
+  void delivered(long shippingMinutes, long fulfillmentMinutes) {
+    delivered++;
+    this.shippingMinutes += shippingMinutes;
+    this.fulfillmentMinutes += fulfillmentMinutes;
+  }
+
+  void addAll(VendorPerformanceCounters other) {
+    orders += other.orders;
+    accepted += other.accepted;
+    shipped += other.shipped;
+    shippedOnTime += other.shippedOnTime;
+    delivered += other.delivered;
+    cancelled += other.cancelled;
+    refunded += other.refunded;
+    acceptMinutes += other.acceptMinutes;
+    processingMinutes += other.processingMinutes;
+    shippingMinutes += other.shippingMinutes;
+    fulfillmentMinutes += other.fulfillmentMinutes;
+    if (other.acceptTimes != null) {
+      acceptTimes().addAll(other.acceptTimes);
+    }
+    if (other.processingTimes != null) {
+      processingTimes().addAll(other.processingTimes);
+    }
+  }
+
+  double onTimeRate() {
+    return ratio(shippedOnTime, shipped);
+  }
+
+  double averageAcceptHours() {
+    return hours(acceptMinutes, accepted);
+  }
+
+  double p90AcceptHours() {
+    return acceptTimes != null ? acceptTimes.quantile(0.9) / 60 : Double.NaN;
+  }
+
+  double averageProcessingHours() {
+    return hours(processingMinutes, shipped);
+  }
+
+  double p90ProcessingHours() {
+    return processingTimes != null ? processingTimes.quantile(0.9) / 60 : Double.NaN;
+  }
+
+  double averageShippingHours() {
+    return hours(shippingMinutes, delivered);
+  }
+
+  double averageFulfillmentHours() {
+    return hours(fulfillmentMinutes, delivered);
+  }
+
+  private DurationHistogram acceptTimes() {
+    if (acceptTimes == null) {
+      acceptTimes = new DurationHistogram();
+    }
+    return acceptTimes;
+  }
+
+  private DurationHistogram processingTimes() {
+    if (processingTimes == null) {
+      processingTimes = new DurationHistogram();
+    }
+    return processingTimes;
+  }
+
+  private static double ratio(long part, long whole) {
+    return whole > 0 ? (double) part / whole : Double.NaN;
+  }
+
+  private static double hours(long minutes, long count) {
+    return count > 0 ? minutes / 60.0 / count : Double.NaN;
+  }
+}
@@ -0,0 +1,412 @@
+package com.winnguyen1905.order.core.analytics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.winnguyen1905.order.common.constant.OrderStatus;
+import com.winnguyen1905.order.persistance.repository.VendorOrderRepository;
+import com.winnguyen1905.order.secure.RegionContextHolder;
+import com.winnguyen1905.order.secure.RegionHibernateFilterConfigurer;
+import com.winnguyen1905.order.secure.RegionPartition;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Vendor performance computed from vendor-order transition timestamps.
+ * Every refresh folds the vendor orders changed since the last one into
+ * per-vendor daily counters; each milestone (accepted, shipped, delivered,
+ * cancelled, refunded) is counted once, in the cohort of the day the order
+ * was created. Vendors' scores over the trailing {@code rank-window-days}
+ * sit in a {@link ScoreRank}, so marketplace percentile and average are
+ * read in O(log n). Vendor orders of every region feed the same state,
+ * since a vendor sells into all of them; a periodic full rebuild drops
+ * expired days and picks up deletes.
+ */
+@Slf4j
+@Component
+public class VendorPerformanceEngine {
+
+  private static final int CREATED = 1;
+  private static final int ACCEPTED = 1 << 1;
+  private static final int SHIPPED = 1 << 2;
+  private static final int DELIVERED = 1 << 3;
+  private static final int CANCELLED = 1 << 4;
+  private static final int REFUNDED = 1 << 5;
+
+  private final VendorOrderRepository vendorOrderRepository;
+  private final RegionHibernateFilterConfigurer regionFilterConfigurer;
+  private final TransactionTemplate readTemplate;
+  private final ZoneId zone = ZoneId.systemDefault();
+  private final boolean enabled;
+  private final int windowDays;
+  private final int rankWindowDays;
+  private final long fullRebuildMillis;
+  private final Duration watermarkOverlap;
+  private final double acceptTargetHours;
+  private final double processingTargetHours;
+  private final Duration shipSla;
+  // Refresh thread only
+  private final Map<RegionPartition, Instant> watermarks = new EnumMap<>(RegionPartition.class);
+  private long lastFullRebuildMillis;
+  private volatile State state;
+
+  public VendorPerformanceEngine(
+      VendorOrderRepository vendorOrderRepository,
+      RegionHibernateFilterConfigurer regionFilterConfigurer,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${order.vendor-performance.enabled:true}") boolean enabled,
+      @Value("${order.vendor-performance.window-days:90}") int windowDays,
+      @Value("${order.vendor-performance.rank-window-days:30}") int rankWindowDays,
+      @Value("${order.vendor-performance.full-rebuild-ms:3600000}") long fullRebuildMillis,
+      @Value("${order.vendor-performance.watermark-overlap-ms:30000}") long watermarkOverlapMillis,
+      @Value("${order.vendor-performance.accept-target-hours:24}") double acceptTargetHours,
+      @Value("${order.vendor-performance.processing-target-hours:48}") double processingTargetHours,
+      @Value("${order.vendor-performance.ship-sla-hours:72}") long shipSlaHours) {
+    this.vendorOrderRepository = vendorOrderRepository;
+    this.regionFilterConfigurer = regionFilterConfigurer;
+    this.readTemplate = new TransactionTemplate(transactionManager);
+    this.readTemplate.setReadOnly(true);
+    this.enabled = enabled;
+    this.windowDays = windowDays;
+    this.rankWindowDays = rankWindowDays;
+    this.fullRebuildMillis = fullRebuildMillis;
+    this.watermarkOverlap = Duration.ofMillis(watermarkOverlapMillis);
+    this.acceptTargetHours = acceptTargetHours;
+    this.processingTargetHours = processingTargetHours;
+    this.shipSla = Duration.ofHours(shipSlaHours);
+    Gauge.builder("order.vendor-performance.ranked-vendors", this, engine -> engine.rankedVendors())
+        .register(meterRegistry);
+  }
+
+  public double getAcceptTargetHours() {
+    return acceptTargetHours;
+  }
+
+  public double getProcessingTargetHours() {
+    return processingTargetHours;
+  }
+
+  /**
+   * The vendor's performance over {@code [startDate, endDate]}. Ranges
+   * older than the in-memory window, or any range before the first refresh,
+   * are computed from the vendor's rows in every region's database; the
+   * marketplace figures are {@code NaN} until the engine has loaded.
+   */
+  public VendorPerformanceReport report(Long vendorId, LocalDate startDate, LocalDate endDate) {
+    State current = state;
+    long firstDay = startDate.toEpochDay();
+    long lastDay = endDate.toEpochDay();
+    State source = current;
+    if (current == null || firstDay < current.firstDay) {
+      source = loadVendor(vendorId, firstDay);
+    }
+
+    VendorPerformanceCounters total = new VendorPerformanceCounters();
+    Map<LocalDate, Integer> scoreByDay = new HashMap<>();
+    Map<LocalDate, Double> onTimeRateByDay = new HashMap<>();
+    synchronized (source) {
+      Map<Long, VendorPerformanceCounters> days = source.days.getOrDefault(vendorId, Map.of());
+      for (Map.Entry<Long, VendorPerformanceCounters> entry : days.entrySet()) {
+        long day = entry.getKey();
+        if (day < firstDay || day > lastDay) {
+          continue;
+        }
+        VendorPerformanceCounters counters = entry.getValue();
+        total.addAll(counters);
+        LocalDate date = LocalDate.ofEpochDay(day);
+        scoreByDay.put(date, (int) Math.round(score(counters)));
+        if (counters.shipped > 0) {
+          onTimeRateByDay.put(date, counters.onTimeRate());
+        }
+      }
+    }
+
+    double marketplaceAverage = Double.NaN;
+    double percentile = Double.NaN;
+    if (current != null) {
+      synchronized (current) {
+        marketplaceAverage = current.rank.mean();
+        if (current.bucketByVendor.containsKey(vendorId)) {
+          percentile = current.rank.percentileRank(current.bucketByVendor.get(vendorId).intValue());
+        }
+      }
+    }
+
+    return new VendorPerformanceReport(
+        total.orders,
+        total.shipped,
+        total.delivered,
+        total.cancelled,
+        total.onTimeRate(),
+        ratio(total.delivered, total.orders),
+        ratio(total.cancelled, total.orders),
+        ratio(total.refunded, total.delivered),
+        total.averageAcceptHours(),
+        total.p90AcceptHours(),
+        total.averageProcessingHours(),
+        total.p90ProcessingHours(),
+        total.averageShippingHours(),
+        total.averageFulfillmentHours(),
+        total.orders > 0 ? score(total) : Double.NaN,
+        scoreByDay,
+        onTimeRateByDay,
+        marketplaceAverage,
+        percentile);
+  }
+
+  /**
+   * A state holding only the vendor's rows from {@code firstDay}, read from
+   * each region in turn, as the refresh does
+   */
+  private State loadVendor(Long vendorId, long firstDay) {
+    State source = new State(firstDay);
+    Instant from = LocalDate.ofEpochDay(firstDay).atStartOfDay(zone).toInstant();
+    for (RegionPartition region : RegionPartition.values()) {
+      List<VendorPerformanceRow> rows = regionFilterConfigurer.inRegion(region,
+          () -> readTemplate.execute(status -> vendorOrderRepository.findVendorPerformanceRows(vendorId, from)));
+      for (VendorPerformanceRow row : rows != null ? rows : List.<VendorPerformanceRow>of()) {
+        apply(source, row);
+      }
+    }
+    return source;
+  }
+
+  @Scheduled(fixedDelayString = "${order.vendor-performance.refresh-ms:60000}",
+      initialDelayString = "${order.vendor-performance.initial-delay-ms:30000}")
+  public void refresh() {
+    if (!enabled) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    long today = LocalDate.now(zone).toEpochDay();
+    State current = state;
+    boolean full = current == null || now - lastFullRebuildMillis >= fullRebuildMillis;
+    State target = full ? new State(today - windowDays) : current;
+
+    Set<Long> touched = new HashSet<>();
+    for (RegionPartition region : RegionPartition.values()) {
+      RegionPartition previous = RegionContextHolder.set(region);
+      try {
+        Instant watermark = watermarks.get(region);
+        Instant since = full || watermark == null ? Instant.EPOCH : watermark.minus(watermarkOverlap);
+        Instant from = LocalDate.ofEpochDay(target.firstDay).atStartOfDay(zone).toInstant();
+        List<VendorPerformanceRow> rows = readTemplate.execute(
+            status -> vendorOrderRepository.findPerformanceRows(from, since));
+        if (rows == null) {
+          continue;
+        }
+        Instant latest = full ? null : watermark;
+        synchronized (target) {
+          for (VendorPerformanceRow row : rows) {
+            if (apply(target, row)) {
+              touched.add(row.vendorId());
+            }
+            Instant changed = row.updatedDate() != null ? row.updatedDate() : row.createdDate();
+            if (changed != null && (latest == null || changed.isAfter(latest))) {
+              latest = changed;
+            }
+          }
+        }
+        if (latest != null) {
+          watermarks.put(region, latest);
+        } else {
+          watermarks.remove(region);
+        }
+      } catch (RuntimeException e) {
+        log.warn("Vendor performance refresh for region {} failed: {}", region, e.getMessage());
+        if (full) {
+          // Keep serving the previous state; the rebuild is retried next run
+          return;
+        }
+      } finally {
+        RegionContextHolder.restore(previous);
+      }
+    }
+
+    synchronized (target) {
+      // A new day shifts every vendor's trailing window
+      boolean rescoreAll = full || target.scoredDay != today;
+      rescore(target, rescoreAll ? target.days.keySet() : touched, today);
+      target.scoredDay = today;
+    }
+    if (full) {
+      lastFullRebuildMillis = now;
+      state = target;
+    }
+  }
+
+  /**
+   * Count the row's milestones that this state has not seen yet.
+   *
+   * @return whether anything was counted
+   */
+  private boolean apply(State target, VendorPerformanceRow row) {
+    if (row.id() == null || row.vendorId() == null || row.createdDate() == null) {
+      return false;
+    }
+    long cohort = LocalDate.ofInstant(row.createdDate(), zone).toEpochDay();
+    if (cohort < target.firstDay) {
+      return false;
+    }
+    // Folded id; a collision would only skip one order's milestones
+    long key = Hashing.mix(row.id().getMostSignificantBits()) ^ row.id().getLeastSignificantBits();
+    int seen = (int) target.milestones.get(key);
+    int fresh = milestones(row) & ~seen;
+    if (fresh == 0) {
+      return false;
+    }
+    target.milestones.addTo(key, fresh);
+
+    VendorPerformanceCounters counters = target.days
+        .computeIfAbsent(row.vendorId(), vendor -> new HashMap<>())
+        .computeIfAbsent(cohort, day -> new VendorPerformanceCounters());
+    if ((fresh & CREATED) != 0) {
+      counters.orders++;
+    }
+    if ((fresh & ACCEPTED) != 0) {
+      counters.accepted(minutesBetween(row.createdDate(), row.acceptedAt()));
+    }
+    if ((fresh & SHIPPED) != 0) {
+      Instant readyFrom = row.acceptedAt() != null ? row.acceptedAt() : row.createdDate();
+      counters.shipped(minutesBetween(readyFrom, row.shippedAt()), shippedOnTime(row));
+    }
+    if ((fresh & DELIVERED) != 0) {
+      counters.delivered(row.shippedAt() != null ? minutesBetween(row.shippedAt(), row.deliveredAt()) : 0,
+          minutesBetween(row.createdDate(), row.deliveredAt()));
+    }
+    if ((fresh & CANCELLED) != 0) {
+      counters.cancelled++;
+    }
+    if ((fresh & REFUNDED) != 0) {
+      counters.refunded++;
+    }
+    return true;
+  }
+
+  private static int milestones(VendorPerformanceRow row) {
+    int bits = CREATED;
+    if (row.acceptedAt() != null) {
+      bits |= ACCEPTED;
+    }
+    if (row.shippedAt() != null) {
+      bits |= SHIPPED;
+    }
+    if (row.deliveredAt() != null) {
+      bits |= DELIVERED;
+    }
+    if (row.cancelledAt() != null) {
+      bits |= CANCELLED;
+    }
+    if (row.deliveredAt() != null && row.orderStatus() == OrderStatus.REFUNDED) {
+      bits |= REFUNDED;
+    }
+    return bits;
+  }
+
+  /**
+   * Shipped by the end of the promised ship date, or within the shipping SLA
+   * of acceptance when the vendor gave no date.
+   */
+  private boolean shippedOnTime(VendorPerformanceRow row) {
+    if (row.promisedShipDate() != null) {
+      return row.shippedAt().isBefore(row.promisedShipDate().plusDays(1).atStartOfDay(zone).toInstant());
+    }
+    Instant readyFrom = row.acceptedAt() != null ? row.acceptedAt() : row.createdDate();
+    return !row.shippedAt().isAfter(readyFrom.plus(shipSla));
+  }
+
+  private void rescore(State target, Set<Long> vendors, long today) {
+    long firstDay = today - rankWindowDays + 1;
+    for (Long vendorId : vendors) {
+      VendorPerformanceCounters trailing = new VendorPerformanceCounters();
+      Map<Long, VendorPerformanceCounters> days = target.days.get(vendorId);
+      if (days != null) {
+        days.forEach((day, counters) -> {
+          if (day >= firstDay && day <= today) {
+            trailing.addAll(counters);
+          }
+        });
+      }
+      if (target.bucketByVendor.containsKey(vendorId)) {
+        target.rank.remove(target.bucketByVendor.get(vendorId).intValue());
+        target.bucketByVendor.remove(vendorId);
+      }
+      if (trailing.orders > 0) {
+        int bucket = ScoreRank.bucket(score(trailing));
+        target.rank.add(bucket);
+        target.bucketByVendor.put(vendorId, (long) bucket);
+      }
+    }
+  }
+
+  /**
+   * 40% on-time shipping, 30% orders not cancelled, 15% each for accept and
+   * processing speed against their targets.
+   */
+  private double score(VendorPerformanceCounters counters) {
+    double onTime = counters.shipped > 0 ? counters.onTimeRate() : 1.0;
+    double kept = counters.orders > 0 ? 1.0 - (double) counters.cancelled / counters.orders : 1.0;
+    return 100 * (0.4 * onTime
+        + 0.3 * kept
+        + 0.15 * speed(counters.averageAcceptHours(), acceptTargetHours)
+        + 0.15 * speed(counters.averageProcessingHours(), processingTargetHours));
+  }
+
+  private static double speed(double actualHours, double targetHours) {
+    if (Double.isNaN(actualHours) || actualHours <= targetHours) {
+      return 1.0;
+    }
+    return targetHours / actualHours;
+  }
+
+  private static long minutesBetween(Instant from, Instant to) {
+    return Math.max(0, Duration.between(from, to).toMinutes());
+  }
+
+  private static double ratio(long part, long whole) {
+    return whole > 0 ? (double) part / whole : Double.NaN;
+  }
+
+  private double rankedVendors() {
+    State current = state;
+    if (current == null) {
+      return 0;
+    }
+    synchronized (current) {
+      return current.rank.size();
+    }
+  }
+
+  /**
+   * Counters and ranking; guarded by its own monitor once published.
+   */
+  private static final class State {
+    private final long firstDay;
+    private final Map<Long, Map<Long, VendorPerformanceCounters>> days = new HashMap<>();
+    private final LongLongHashMap milestones = new LongLongHashMap();
+    private final ScoreRank rank = new ScoreRank();
+    private final Map<Long, Long> bucketByVendor = new HashMap<>();
+    private long scoredDay = Long.MIN_VALUE;
+
+    State(long firstDay) {
+      this.firstDay = firstDay;
+    }
+  }
+}
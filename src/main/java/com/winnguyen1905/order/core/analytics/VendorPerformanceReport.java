@@ -0,0 +1,31 @@
+package com.winnguyen1905.order.core.analytics;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * A vendor's performance over a date range, from
+ * {@link VendorPerformanceEngine}. Rates and durations are {@code NaN} when
+ * no order reached the milestone; {@code score} is 0-100.
+ */
+public record VendorPerformanceReport(
+    long orders,
+    long shipped,
+    long delivered,
+    long cancelled,
+    double onTimeRate,
+    double fulfillmentRate,
+    double cancellationRate,
+    double returnRate,
+    double averageAcceptHours,
+    double p90AcceptHours,
+    double averageProcessingHours,
+    double p90ProcessingHours,
+    double averageShippingHours,
+    double averageFulfillmentHours,
+    double score,
+    Map<LocalDate, Integer> scoreByDay,
+    Map<LocalDate, Double> onTimeRateByDay,
+    double marketplaceAverageScore,
+    double percentileRank) {
+}
@@ -0,0 +1,24 @@
+package com.winnguyen1905.order.core.analytics;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.winnguyen1905.order.common.constant.OrderStatus;
+
+/**
+ * Vendor-order transition timestamps read by {@link VendorPerformanceEngine};
+ * selected with a JPQL constructor expression.
+ */
+public record VendorPerformanceRow(
+    UUID id,
+    Long vendorId,
+    Instant createdDate,
+    Instant updatedDate,
+    Instant acceptedAt,
+    Instant shippedAt,
+    Instant deliveredAt,
+    Instant cancelledAt,
+    LocalDate promisedShipDate,
+    OrderStatus orderStatus) {
+}
@@ -0,0 +1,165 @@
+package com.winnguyen1905.order.core.analytics;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.winnguyen1905.order.persistance.entity.EVendorDailySketch;
+import com.winnguyen1905.order.persistance.repository.OrderItemRepository;
+import com.winnguyen1905.order.persistance.repository.VendorDailySketchRepository;
+import com.winnguyen1905.order.persistance.repository.VendorOrderRepository;
+import com.winnguyen1905.order.secure.RegionContextHolder;
+import com.winnguyen1905.order.secure.RegionPartition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes per-vendor, per-day sketches to {@code vendor_daily_sketches},
+ * region by region. Today and yesterday are rebuilt on every run since rows
+ * still arrive around midnight; older days inside the backfill window are
+ * only sketched when missing. Each day also gets a row for
+ * {@link #PLATFORM_VENDOR_ID} merged from all of that day's vendors, so
+ * platform-wide ranges read one row per day; a day without vendor orders
+ * still gets that row, with empty sketches, as its sketched marker.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "order.vendor-sketch", name = "enabled", havingValue = "true")
+public class VendorSketchJob {
+
+  public static final long PLATFORM_VENDOR_ID = -1L;
+
+  private final VendorDailySketchRepository sketchRepository;
+  private final VendorOrderRepository vendorOrderRepository;
+  private final OrderItemRepository orderItemRepository;
+  private final TransactionTemplate readTemplate;
+  private final TransactionTemplate writeTemplate;
+  private final ZoneId zone = ZoneId.systemDefault();
+  private final int backfillDays;
+  private final Counter sketchedDays;
+
+  public VendorSketchJob(
+      VendorDailySketchRepository sketchRepository,
+      VendorOrderRepository vendorOrderRepository,
+      OrderItemRepository orderItemRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${order.vendor-sketch.backfill-days:30}") int backfillDays) {
+    this.sketchRepository = sketchRepository;
+    this.vendorOrderRepository = vendorOrderRepository;
+    this.orderItemRepository = orderItemRepository;
+    this.readTemplate = new TransactionTemplate(transactionManager);
+    this.readTemplate.setReadOnly(true);
+    this.writeTemplate = new TransactionTemplate(transactionManager);
+    this.backfillDays = backfillDays;
+    this.sketchedDays = Counter.builder("order.vendor-sketch.days").register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${order.vendor-sketch.refresh-ms:600000}",
+      initialDelayString = "${order.vendor-sketch.initial-delay-ms:60000}")
+  public void sketch() {
+    LocalDate today = LocalDate.now(zone);
+    LocalDate first = today.minusDays(backfillDays);
+    for (RegionPartition region : RegionPartition.values()) {
+      RegionPartition previous = RegionContextHolder.set(region);
+      try {
+        List<LocalDate> sketched = readTemplate.execute(status -> sketchRepository.findSketchDatesFrom(first));
+        Set<LocalDate> done = sketched != null ? new HashSet<>(sketched) : Set.of();
+        for (LocalDate day = first; !day.isAfter(today); day = day.plusDays(1)) {
+          if (day.isBefore(today.minusDays(1)) && done.contains(day)) {
+            continue;
+          }
+          sketchDay(region, day);
+        }
+      } catch (RuntimeException e) {
+        log.error("Vendor sketches for region {} stopped: {}", region, e.getMessage());
+      } finally {
+        RegionContextHolder.restore(previous);
+      }
+    }
+  }
+
+  private void sketchDay(RegionPartition region, LocalDate day) {
+    Instant from = day.atStartOfDay(zone).toInstant();
+    Instant to = day.plusDays(1).atStartOfDay(zone).toInstant();
+    List<SnapshotVendorOrderRow> vendorOrders = readTemplate.execute(
+        status -> vendorOrderRepository.findSnapshotRowsCreatedIn(from, to));
+    List<SnapshotItemRow> items = readTemplate.execute(status -> orderItemRepository.findSnapshotRowsCreatedIn(from, to));
+
+    Map<Long, VendorDay> byVendor = new HashMap<>();
+    for (SnapshotVendorOrderRow row : vendorOrders) {
+      if (row.vendorId() == null) {
+        continue;
+      }
+      VendorDay vendorDay = byVendor.computeIfAbsent(row.vendorId(), id -> new VendorDay());
+      vendorDay.orders++;
+      if (row.customerId() != null) {
+        vendorDay.customers.add(row.customerId());
+      }
+      vendorDay.orderValues.add(row.subtotal() != null ? row.subtotal() : 0L);
+    }
+    for (SnapshotItemRow row : items) {
+      if (row.vendorId() == null || row.productId() == null || row.quantity() == null) {
+        continue;
+      }
+      byVendor.computeIfAbsent(row.vendorId(), id -> new VendorDay()).products.add(row.productId(), row.quantity());
+    }
+
+    List<EVendorDailySketch> rows = new ArrayList<>(byVendor.size() + 1);
+    VendorDay platform = new VendorDay();
+    byVendor.forEach((vendorId, vendorDay) -> {
+      rows.add(vendorDay.toEntity(vendorId, day, region));
+      platform.merge(vendorDay);
+    });
+    // Written even when empty: it marks the day as sketched so quiet days are not rescanned
+    rows.add(platform.toEntity(PLATFORM_VENDOR_ID, day, region));
+
+    writeTemplate.executeWithoutResult(status -> {
+      sketchRepository.deleteDay(region, day);
+      sketchRepository.saveAll(rows);
+    });
+    sketchedDays.increment();
+    log.debug("Sketched {} vendors for {} in region {}", byVendor.size(), day, region);
+  }
+
+  private static final class VendorDay {
+    private final HyperLogLog customers = new HyperLogLog();
+    private final HeavyHitterSketch products = new HeavyHitterSketch();
+    private final TDigest orderValues = new TDigest();
+    private long orders;
+
+    void merge(VendorDay other) {
+      customers.merge(other.customers);
+      products.merge(other.products);
+      orderValues.merge(other.orderValues);
+      orders += other.orders;
+    }
+
+    EVendorDailySketch toEntity(Long vendorId, LocalDate day, RegionPartition region) {
+      return EVendorDailySketch.builder()
+          .vendorId(vendorId)
+          .sketchDate(day)
+          .region(region)
+          .orderCount(orders)
+          .customers(customers.toBytes())
+          .products(products.toBytes())
+          .orderValues(orderValues.toBytes())
+          .build();
+    }
+  }
+}
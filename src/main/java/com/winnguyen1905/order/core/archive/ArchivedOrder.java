@@ -0,0 +1,32 @@
+package com.winnguyen1905.order.core.archive;
+
+import java.util.List;
+
+import com.winnguyen1905.order.model.response.OrderDiscountResponse;
+import com.winnguyen1905.order.model.response.OrderExternalRefResponse;
+import com.winnguyen1905.order.model.response.OrderResponse;
+import com.winnguyen1905.order.model.response.OrderStatusHistoryResponse;
+import com.winnguyen1905.order.model.response.VendorOrderResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Snapshot of a terminal order and everything hanging off it, as stored in
+ * an archive segment. The order itself (with items) is kept in the same shape
+ * the API returns so archived reads need no mapping.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedOrder {
+  private OrderResponse order;
+  private String region;
+  private List<OrderStatusHistoryResponse> statusHistory;
+  private List<OrderDiscountResponse> discounts;
+  private List<VendorOrderResponse> vendorOrders;
+  private List<OrderExternalRefResponse> externalRefs;
+}
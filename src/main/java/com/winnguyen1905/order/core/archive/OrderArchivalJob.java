@@ -0,0 +1,241 @@
+package com.winnguyen1905.order.core.archive;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.winnguyen1905.order.common.constant.OrderStatus;
+import com.winnguyen1905.order.model.response.OrderDiscountResponse;
+import com.winnguyen1905.order.model.response.OrderExternalRefResponse;
+import com.winnguyen1905.order.model.response.OrderItemResponse;
+import com.winnguyen1905.order.model.response.OrderStatusHistoryResponse;
+import com.winnguyen1905.order.model.response.VendorOrderResponse;
+import com.winnguyen1905.order.persistance.entity.EOrder;
+import com.winnguyen1905.order.persistance.repository.OrderDiscountRepository;
+import com.winnguyen1905.order.persistance.repository.OrderExternalRefRepository;
+import com.winnguyen1905.order.persistance.repository.OrderItemRepository;
+import com.winnguyen1905.order.persistance.repository.OrderRepository;
+import com.winnguyen1905.order.persistance.repository.OrderStatusHistoryRepository;
+import com.winnguyen1905.order.persistance.repository.OrderViewRepository;
+import com.winnguyen1905.order.persistance.repository.VendorOrderRepository;
+import com.winnguyen1905.order.secure.RegionContextHolder;
+import com.winnguyen1905.order.secure.RegionPartition;
+import com.winnguyen1905.order.util.OrderMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves terminal orders that have not changed since the cutoff out of the
+ * database and into {@link OrderArchive}, region by region. Each batch is
+ * snapshotted, written to a durable segment, and only then deleted; orders
+ * modified in between are left in the database, which always wins on reads.
+ * <p>
+ * Rows only leave the database when the archive directory is configured as
+ * shared storage, since every instance must be able to read what replaced
+ * them, and only one instance in the cluster runs at a time, serialized on a
+ * Postgres advisory lock.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "order.archive", name = "enabled", havingValue = "true")
+public class OrderArchivalJob {
+
+  static final Set<OrderStatus> TERMINAL_STATUSES = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED,
+      OrderStatus.REFUNDED);
+
+  // Advisory lock key for the cluster-wide run; "ORDA"
+  static final long ARCHIVE_LOCK_KEY = 0x4F524441L;
+
+  private final OrderArchive orderArchive;
+  private final JdbcTemplate jdbcTemplate;
+  private final OrderRepository orderRepository;
+  private final OrderItemRepository orderItemRepository;
+  private final OrderDiscountRepository orderDiscountRepository;
+  private final OrderStatusHistoryRepository orderStatusHistoryRepository;
+  private final VendorOrderRepository vendorOrderRepository;
+  private final OrderExternalRefRepository orderExternalRefRepository;
+  private final OrderViewRepository orderViewRepository;
+  private final OrderMapper orderMapper;
+  private final TransactionTemplate readTemplate;
+  private final TransactionTemplate writeTemplate;
+  private final Duration cutoffAge;
+  private final int batchSize;
+  private final int maxBatchesPerRun;
+  private final Counter archived;
+
+  public OrderArchivalJob(
+      OrderArchive orderArchive,
+      JdbcTemplate jdbcTemplate,
+      OrderRepository orderRepository,
+      OrderItemRepository orderItemRepository,
+      OrderDiscountRepository orderDiscountRepository,
+      OrderStatusHistoryRepository orderStatusHistoryRepository,
+      VendorOrderRepository vendorOrderRepository,
+      OrderExternalRefRepository orderExternalRefRepository,
+      OrderViewRepository orderViewRepository,
+      OrderMapper orderMapper,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${order.archive.cutoff-days:365}") long cutoffDays,
+      @Value("${order.archive.batch-size:5000}") int batchSize,
+      @Value("${order.archive.max-batches-per-run:20}") int maxBatchesPerRun) {
+    this.orderArchive = orderArchive;
+    this.jdbcTemplate = jdbcTemplate;
+    this.orderRepository = orderRepository;
+    this.orderItemRepository = orderItemRepository;
+    this.orderDiscountRepository = orderDiscountRepository;
+    this.orderStatusHistoryRepository = orderStatusHistoryRepository;
+    this.vendorOrderRepository = vendorOrderRepository;
+    this.orderExternalRefRepository = orderExternalRefRepository;
+    this.orderViewRepository = orderViewRepository;
+    this.orderMapper = orderMapper;
+    this.readTemplate = new TransactionTemplate(transactionManager);
+    this.readTemplate.setReadOnly(true);
+    this.writeTemplate = new TransactionTemplate(transactionManager);
+    this.cutoffAge = Duration.ofDays(cutoffDays);
+    this.batchSize = batchSize;
+    this.maxBatchesPerRun = maxBatchesPerRun;
+    this.archived = Counter.builder("order.archive.archived").register(meterRegistry);
+  }
+
+  @Scheduled(cron = "${order.archive.cron:0 45 3 * * *}", zone = "UTC")
+  public void archive() {
+    if (!orderArchive.isSharedStorage()) {
+      log.warn("Order archival skipped: order.archive.directory is not marked shared-storage, "
+          + "so archived orders would be readable on this instance only");
+      return;
+    }
+    // Held on its own connection for the whole run; released if this instance dies
+    jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+      if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+        log.info("Order archival is already running on another instance");
+        return null;
+      }
+      try {
+        archiveRegions();
+      } finally {
+        advisoryLock(connection, "pg_advisory_unlock");
+      }
+      return null;
+    });
+  }
+
+  private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(?)")) {
+      statement.setLong(1, ARCHIVE_LOCK_KEY);
+      try (ResultSet result = statement.executeQuery()) {
+        return result.next() && result.getBoolean(1);
+      }
+    }
+  }
+
+  private void archiveRegions() {
+    Instant cutoff = Instant.now().minus(cutoffAge);
+    for (RegionPartition region : RegionPartition.values()) {
+      RegionPartition previous = RegionContextHolder.set(region);
+      try {
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+          if (archiveBatch(cutoff) < batchSize) {
+            break;
+          }
+        }
+      } catch (RuntimeException e) {
+        log.error("Order archival for region {} stopped: {}", region, e.getMessage());
+      } finally {
+        RegionContextHolder.restore(previous);
+      }
+    }
+  }
+
+  private int archiveBatch(Instant cutoff) {
+    List<ArchivedOrder> snapshots = readTemplate.execute(status -> orderRepository
+        .findByStatusInAndUpdatedDateBefore(TERMINAL_STATUSES, cutoff, PageRequest.of(0, batchSize))
+        .stream()
+        .map(this::snapshot)
+        .toList());
+    if (snapshots == null || snapshots.isEmpty()) {
+      return 0;
+    }
+
+    // Durable on disk before anything is deleted
+    orderArchive.append(snapshots);
+
+    Integer deleted = writeTemplate.execute(status -> delete(snapshots, cutoff));
+    archived.increment(deleted != null ? deleted : 0);
+    log.info("Archived {} of {} cold orders", deleted, snapshots.size());
+    return snapshots.size();
+  }
+
+  private ArchivedOrder snapshot(EOrder order) {
+    return ArchivedOrder.builder()
+        .order(orderMapper.toOrderResponse(order))
+        .region(order.getRegion() != null ? order.getRegion().getCode() : null)
+        .statusHistory(map(order.getStatusHistories(), orderMapper::toOrderStatusHistoryResponse))
+        .discounts(map(order.getOrderDiscounts(), orderMapper::toOrderDiscountResponse))
+        .vendorOrders(map(order.getVendorOrders(), orderMapper::toVendorOrderResponse))
+        .externalRefs(map(order.getExternalRefs(), orderMapper::toOrderExternalRefResponse))
+        .build();
+  }
+
+  private int delete(List<ArchivedOrder> snapshots, Instant cutoff) {
+    Set<UUID> ids = snapshots.stream().map(snapshot -> snapshot.getOrder().getId()).collect(Collectors.toSet());
+    Set<UUID> unchanged = orderRepository.lockArchivable(ids, TERMINAL_STATUSES, cutoff).stream()
+        .map(EOrder::getId)
+        .collect(Collectors.toSet());
+    List<ArchivedOrder> deletable = snapshots.stream()
+        .filter(snapshot -> unchanged.contains(snapshot.getOrder().getId()))
+        .toList();
+
+    orderItemRepository.deleteAllByIdInBatch(childIds(deletable,
+        snapshot -> snapshot.getOrder().getOrderItems(), OrderItemResponse::getId));
+    orderStatusHistoryRepository.deleteAllByIdInBatch(childIds(deletable, ArchivedOrder::getStatusHistory,
+        OrderStatusHistoryResponse::getId));
+    orderDiscountRepository.deleteAllByIdInBatch(childIds(deletable, ArchivedOrder::getDiscounts,
+        OrderDiscountResponse::getId));
+    vendorOrderRepository.deleteAllByIdInBatch(childIds(deletable, ArchivedOrder::getVendorOrders,
+        VendorOrderResponse::getId));
+    orderExternalRefRepository.deleteAllByIdInBatch(childIds(deletable, ArchivedOrder::getExternalRefs,
+        OrderExternalRefResponse::getId));
+    // Batch deletes skip the listener that maintains the order view
+    orderViewRepository.deleteAllByIdInBatch(unchanged);
+    orderRepository.deleteAllByIdInBatch(unchanged);
+    return unchanged.size();
+  }
+
+  private static <E, R> List<R> map(Collection<E> children, Function<E, R> mapper) {
+    return children == null ? List.of() : children.stream().map(mapper).toList();
+  }
+
+  private static <C> List<UUID> childIds(List<ArchivedOrder> snapshots,
+      Function<ArchivedOrder, Collection<C>> children, Function<C, UUID> id) {
+    return snapshots.stream()
+        .map(children)
+        .filter(Objects::nonNull)
+        .flatMap(Collection::stream)
+        .map(id)
+        .toList();
+  }
+}
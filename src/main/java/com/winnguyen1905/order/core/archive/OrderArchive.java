@@ -0,0 +1,175 @@
+package com.winnguyen1905.order.core.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Segment-file archive of cold terminal orders. Segments are immutable and
+ * only ever added; lookups go newest segment first so a re-archived order
+ * resolves to its latest snapshot. The directory is meant to be shared by
+ * every instance, so segments another node wrote are picked up on refresh.
+ */
+@Slf4j
+@Component
+public class OrderArchive {
+
+  private static final String SEGMENT_SUFFIX = ".seg";
+  private static final String INDEX_SUFFIX = ".idx";
+
+  private final Path directory;
+  private final boolean sharedStorage;
+  private final int recordsPerBlock;
+  private final ObjectMapper objectMapper;
+  private final List<OrderSegment> segments = new CopyOnWriteArrayList<>();
+  private final Set<String> loaded = new HashSet<>();
+  private final AtomicLong nextSegment = new AtomicLong();
+  private final Counter hits;
+  private final Counter misses;
+
+  public OrderArchive(
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${order.archive.directory:./data/order-archive}") String directory,
+      @Value("${order.archive.shared-storage:false}") boolean sharedStorage,
+      @Value("${order.archive.records-per-block:64}") int recordsPerBlock) {
+    this.objectMapper = objectMapper;
+    this.directory = Paths.get(directory);
+    this.sharedStorage = sharedStorage;
+    this.recordsPerBlock = recordsPerBlock;
+    this.hits = Counter.builder("order.archive.lookups").tag("result", "hit").register(meterRegistry);
+    this.misses = Counter.builder("order.archive.lookups").tag("result", "miss").register(meterRegistry);
+    Gauge.builder("order.archive.segments", segments, List::size).register(meterRegistry);
+    loadSegments();
+    log.info("Loaded {} order archive segments from {}", segments.size(), directory);
+  }
+
+  /**
+   * Whether the directory is configured as storage every instance reads;
+   * archived rows may only leave the database when it is.
+   */
+  public boolean isSharedStorage() {
+    return sharedStorage;
+  }
+
+  @Scheduled(fixedDelayString = "${order.archive.refresh-ms:60000}")
+  public synchronized void refresh() {
+    int before = segments.size();
+    loadSegments();
+    if (segments.size() > before) {
+      log.info("Picked up {} new order archive segments", segments.size() - before);
+    }
+  }
+
+  public Optional<ArchivedOrder> findOrder(UUID orderId) {
+    for (int i = segments.size() - 1; i >= 0; i--) {
+      byte[] json = segments.get(i).find(orderId);
+      if (json != null) {
+        hits.increment();
+        return Optional.of(decode(json));
+      }
+    }
+    misses.increment();
+    return Optional.empty();
+  }
+
+  public List<ArchivedOrder> findByCustomer(Long customerId) {
+    List<ArchivedOrder> orders = new ArrayList<>();
+    for (int i = segments.size() - 1; i >= 0; i--) {
+      for (byte[] json : segments.get(i).findByCustomer(customerId)) {
+        orders.add(decode(json));
+      }
+    }
+    return orders;
+  }
+
+  /**
+   * Write the orders as a new segment and make it readable. Returns only once
+   * the segment is durable on disk, so callers may then delete the rows.
+   */
+  public synchronized void append(List<ArchivedOrder> orders) {
+    if (orders.isEmpty()) {
+      return;
+    }
+    try {
+      Files.createDirectories(directory);
+      // Another instance may have written since the last refresh; never reuse its segment number
+      loadSegments();
+      List<OrderSegmentWriter.Record> records = new ArrayList<>(orders.size());
+      for (ArchivedOrder order : orders) {
+        records.add(new OrderSegmentWriter.Record(order.getOrder().getId(), order.getOrder().getCustomerId(),
+            objectMapper.writeValueAsBytes(order)));
+      }
+      String name = String.format("orders-%020d", nextSegment.getAndIncrement());
+      Path segmentFile = directory.resolve(name + SEGMENT_SUFFIX);
+      Path indexFile = directory.resolve(name + INDEX_SUFFIX);
+      OrderSegmentWriter.write(segmentFile, indexFile, records, recordsPerBlock);
+      segments.add(OrderSegment.open(segmentFile, indexFile));
+      loaded.add(name);
+      log.info("Archived {} orders into segment {}", orders.size(), segmentFile);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write order archive segment", e);
+    }
+  }
+
+  /** Open every complete segment not loaded yet, in name order. */
+  private void loadSegments() {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      List<Path> indexes = files.filter(path -> path.getFileName().toString().endsWith(INDEX_SUFFIX))
+          .filter(path -> !loaded.contains(baseName(path)))
+          .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+          .toList();
+      for (Path indexFile : indexes) {
+        String base = baseName(indexFile);
+        loaded.add(base);
+        try {
+          segments.add(OrderSegment.open(directory.resolve(base + SEGMENT_SUFFIX), indexFile));
+          nextSegment.set(Math.max(nextSegment.get(), Long.parseLong(base.substring("orders-".length())) + 1));
+        } catch (IOException | RuntimeException e) {
+          log.error("Skipping unreadable archive segment {}: {}", base, e.getMessage());
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to list order archive directory " + directory, e);
+    }
+  }
+
+  private static String baseName(Path indexFile) {
+    String name = indexFile.getFileName().toString();
+    return name.substring(0, name.length() - INDEX_SUFFIX.length());
+  }
+
+  private ArchivedOrder decode(byte[] json) {
+    try {
+      return objectMapper.readValue(json, ArchivedOrder.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Corrupt archived order record", e);
+    }
+  }
+}
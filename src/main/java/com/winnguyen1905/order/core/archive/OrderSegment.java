@@ -0,0 +1,181 @@
+package com.winnguyen1905.order.core.archive;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read side of one archive segment. The sparse index is held in primitive
+ * arrays; the segment itself is memory-mapped, so a lookup costs a binary
+ * search plus inflating one block and leaves caching to the page cache.
+ */
+final class OrderSegment {
+
+  record Match(UUID orderId, long customerId, byte[] json) {
+  }
+
+  private final Path segmentFile;
+  private final MappedByteBuffer data;
+  private final long[] firstMsb;
+  private final long[] firstLsb;
+  private final long[] offsets;
+  private final long[] customerIds;
+  private final int[] customerBlocks;
+
+  private OrderSegment(Path segmentFile, MappedByteBuffer data, long[] firstMsb, long[] firstLsb, long[] offsets,
+      long[] customerIds, int[] customerBlocks) {
+    this.segmentFile = segmentFile;
+    this.data = data;
+    this.firstMsb = firstMsb;
+    this.firstLsb = firstLsb;
+    this.offsets = offsets;
+    this.customerIds = customerIds;
+    this.customerBlocks = customerBlocks;
+  }
+
+  static OrderSegment open(Path segmentFile, Path indexFile) throws IOException {
+    long[] firstMsb;
+    long[] firstLsb;
+    long[] offsets;
+    long[] customerIds;
+    int[] customerBlocks;
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+      if (in.readInt() != OrderSegmentWriter.INDEX_MAGIC || in.readInt() != OrderSegmentWriter.VERSION) {
+        throw new IOException("Not an order archive index: " + indexFile);
+      }
+      int blocks = in.readInt();
+      firstMsb = new long[blocks];
+      firstLsb = new long[blocks];
+      offsets = new long[blocks];
+      for (int i = 0; i < blocks; i++) {
+        firstMsb[i] = in.readLong();
+        firstLsb[i] = in.readLong();
+        offsets[i] = in.readLong();
+      }
+      int customers = in.readInt();
+      customerIds = new long[customers];
+      customerBlocks = new int[customers];
+      for (int i = 0; i < customers; i++) {
+        customerIds[i] = in.readLong();
+        customerBlocks[i] = in.readInt();
+      }
+    }
+    try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+      MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (data.getInt(0) != OrderSegmentWriter.SEGMENT_MAGIC) {
+        throw new IOException("Not an order archive segment: " + segmentFile);
+      }
+      return new OrderSegment(segmentFile, data, firstMsb, firstLsb, offsets, customerIds, customerBlocks);
+    }
+  }
+
+  Path file() {
+    return segmentFile;
+  }
+
+  byte[] find(UUID orderId) {
+    int block = blockFor(orderId.getMostSignificantBits(), orderId.getLeastSignificantBits());
+    if (block < 0) {
+      return null;
+    }
+    ByteBuffer records = inflate(block);
+    while (records.hasRemaining()) {
+      long msb = records.getLong();
+      long lsb = records.getLong();
+      records.getLong();
+      int length = records.getInt();
+      if (msb == orderId.getMostSignificantBits() && lsb == orderId.getLeastSignificantBits()) {
+        byte[] json = new byte[length];
+        records.get(json);
+        return json;
+      }
+      records.position(records.position() + length);
+    }
+    return null;
+  }
+
+  List<byte[]> findByCustomer(long customerId) {
+    List<byte[]> matches = new ArrayList<>();
+    int i = Arrays.binarySearch(customerIds, customerId);
+    if (i < 0) {
+      return matches;
+    }
+    while (i > 0 && customerIds[i - 1] == customerId) {
+      i--;
+    }
+    for (; i < customerIds.length && customerIds[i] == customerId; i++) {
+      ByteBuffer records = inflate(customerBlocks[i]);
+      while (records.hasRemaining()) {
+        records.getLong();
+        records.getLong();
+        long recordCustomer = records.getLong();
+        int length = records.getInt();
+        if (recordCustomer == customerId) {
+          byte[] json = new byte[length];
+          records.get(json);
+          matches.add(json);
+        } else {
+          records.position(records.position() + length);
+        }
+      }
+    }
+    return matches;
+  }
+
+  /**
+   * Index of the last block whose first id is not greater than the id, using
+   * the same ordering as {@link UUID#compareTo}
+   */
+  private int blockFor(long msb, long lsb) {
+    int low = 0;
+    int high = firstMsb.length - 1;
+    int found = -1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = firstMsb[mid] != msb ? Long.compare(firstMsb[mid], msb) : Long.compare(firstLsb[mid], lsb);
+      if (cmp <= 0) {
+        found = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return found;
+  }
+
+  private ByteBuffer inflate(int block) {
+    ByteBuffer view = data.duplicate();
+    view.position(Math.toIntExact(offsets[block]));
+    int rawLength = view.getInt();
+    int compressedLength = view.getInt();
+    view.limit(view.position() + compressedLength);
+
+    byte[] raw = new byte[rawLength];
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(view);
+      int read = 0;
+      while (read < rawLength && !inflater.finished()) {
+        read += inflater.inflate(raw, read, rawLength - read);
+      }
+    } catch (DataFormatException e) {
+      throw new UncheckedIOException(new IOException("Corrupt block " + block + " in " + segmentFile, e));
+    } finally {
+      inflater.end();
+    }
+    return ByteBuffer.wrap(raw);
+  }
+}
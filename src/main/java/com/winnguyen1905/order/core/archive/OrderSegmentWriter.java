@@ -0,0 +1,131 @@
+package com.winnguyen1905.order.core.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+/**
+ * Writes one immutable archive segment and its sparse index.
+ *
+ * <pre>
+ * segment: MAGIC version { rawLength compressedLength deflate(records) }*
+ *   record: orderId(msb, lsb) customerId jsonLength json
+ * index:   MAGIC version blockCount { firstOrderId(msb, lsb) offset }*
+ *          customerCount { customerId block }*
+ * </pre>
+ *
+ * Records are sorted by order id so a lookup only inflates the one block the
+ * index points to. Both files are written under temporary names and moved
+ * into place, index last, so a segment is visible only once it is complete.
+ */
+final class OrderSegmentWriter {
+
+  static final int SEGMENT_MAGIC = 0x4F524453; // "ORDS"
+  static final int INDEX_MAGIC = 0x4F524458; // "ORDX"
+  static final int VERSION = 1;
+
+  private OrderSegmentWriter() {
+  }
+
+  record Record(UUID orderId, long customerId, byte[] json) {
+  }
+
+  static void write(Path segmentFile, Path indexFile, List<Record> records, int recordsPerBlock) throws IOException {
+    List<Record> sorted = new ArrayList<>(records);
+    sorted.sort(Comparator.comparing(Record::orderId));
+
+    List<UUID> blockFirstIds = new ArrayList<>();
+    List<Long> blockOffsets = new ArrayList<>();
+    TreeMap<Long, TreeSet<Integer>> customerBlocks = new TreeMap<>();
+
+    Path segmentTmp = segmentFile.resolveSibling(segmentFile.getFileName() + ".tmp");
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try (FileChannel channel = FileChannel.open(segmentTmp, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel))) {
+      out.writeInt(SEGMENT_MAGIC);
+      out.writeInt(VERSION);
+      long offset = 8;
+
+      for (int from = 0; from < sorted.size(); from += recordsPerBlock) {
+        List<Record> block = sorted.subList(from, Math.min(from + recordsPerBlock, sorted.size()));
+        int blockNo = blockFirstIds.size();
+        blockFirstIds.add(block.get(0).orderId());
+        blockOffsets.add(offset);
+
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        DataOutputStream rawOut = new DataOutputStream(raw);
+        for (Record record : block) {
+          rawOut.writeLong(record.orderId().getMostSignificantBits());
+          rawOut.writeLong(record.orderId().getLeastSignificantBits());
+          rawOut.writeLong(record.customerId());
+          rawOut.writeInt(record.json().length);
+          rawOut.write(record.json());
+          customerBlocks.computeIfAbsent(record.customerId(), id -> new TreeSet<>()).add(blockNo);
+        }
+        byte[] compressed = deflate(deflater, raw.toByteArray());
+        out.writeInt(raw.size());
+        out.writeInt(compressed.length);
+        out.write(compressed);
+        offset += 8 + compressed.length;
+      }
+      out.flush();
+      channel.force(true);
+    } finally {
+      deflater.end();
+    }
+
+    Path indexTmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(indexTmp, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel))) {
+      out.writeInt(INDEX_MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(blockFirstIds.size());
+      for (int i = 0; i < blockFirstIds.size(); i++) {
+        out.writeLong(blockFirstIds.get(i).getMostSignificantBits());
+        out.writeLong(blockFirstIds.get(i).getLeastSignificantBits());
+        out.writeLong(blockOffsets.get(i));
+      }
+      int customerEntries = customerBlocks.values().stream().mapToInt(TreeSet::size).sum();
+      out.writeInt(customerEntries);
+      for (var entry : customerBlocks.entrySet()) {
+        for (int block : entry.getValue()) {
+          out.writeLong(entry.getKey());
+          out.writeInt(block);
+        }
+      }
+      out.flush();
+      channel.force(true);
+    }
+
+    Files.move(segmentTmp, segmentFile, StandardCopyOption.ATOMIC_MOVE);
+    Files.move(indexTmp, indexFile, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static byte[] deflate(Deflater deflater, byte[] input) {
+    deflater.reset();
+    deflater.setInput(input);
+    deflater.finish();
+    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 2));
+    byte[] buffer = new byte[8192];
+    while (!deflater.finished()) {
+      int n = deflater.deflate(buffer);
+      out.write(buffer, 0, n);
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,243 @@
+package com.winnguyen1905.order.core.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.winnguyen1905.order.secure.RegionPartition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Two-tier cache for results served while a region is failed over: a local
+ * Caffeine cache bounded by the encoded size of its entries, backed by Redis
+ * so other nodes can serve the same result. Concurrent misses for one key are
+ * coalesced so only a single caller runs the operation.
+ */
+@Slf4j
+@Component
+public class CrossRegionResultCache {
+
+  private static final String KEY_PREFIX = "order:cross-region:";
+
+  private final AsyncCache<String, CachedResult> local;
+  private final StringRedisTemplate redisTemplate;
+  private final CrossRegionResultCodec codec;
+  private final Duration redisTtl;
+  private final Counter localHits;
+  private final Counter redisHits;
+  private final Counter misses;
+  private final Counter coalesced;
+  private final Counter staleServes;
+  private final Counter evictions;
+  private final Timer staleness;
+
+  public CrossRegionResultCache(
+      StringRedisTemplate redisTemplate,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${order.fallback.cache.max-weight-bytes:16777216}") long maxWeightBytes,
+      @Value("${order.fallback.cache.local-ttl-seconds:300}") long localTtlSeconds,
+      @Value("${order.fallback.cache.redis-ttl-seconds:1800}") long redisTtlSeconds) {
+    this.redisTemplate = redisTemplate;
+    this.codec = new CrossRegionResultCodec(objectMapper);
+    this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+    this.localHits = requests(meterRegistry, "hit", "local");
+    this.redisHits = requests(meterRegistry, "hit", "redis");
+    this.misses = requests(meterRegistry, "miss", "none");
+    this.coalesced = requests(meterRegistry, "coalesced", "local");
+    this.staleServes = Counter.builder("order.fallback.cache.stale")
+        .description("Results served from cache because every region failed")
+        .register(meterRegistry);
+    this.evictions = Counter.builder("order.fallback.cache.evictions")
+        .register(meterRegistry);
+    this.staleness = Timer.builder("order.fallback.cache.staleness")
+        .description("Age of cached results at the time they are served")
+        .register(meterRegistry);
+    this.local = Caffeine.newBuilder()
+        .maximumWeight(maxWeightBytes)
+        .weigher((String key, CachedResult value) -> value.weight())
+        .expireAfterWrite(localTtlSeconds, TimeUnit.SECONDS)
+        .evictionListener((String key, CachedResult value, RemovalCause cause) -> evictions.increment())
+        .buildAsync();
+    Gauge.builder("order.fallback.cache.weight", local, cache -> cache.synchronous().policy().eviction()
+            .map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Cache key for one invocation; the arguments are digested so different
+   * orders never share an entry and Redis keys stay short.
+   */
+  public String key(RegionPartition region, String operationName, Object... args) {
+    return KEY_PREFIX + region.getRegion() + ':' + operationName + ':' + digest(args);
+  }
+
+  /**
+   * Return the cached result for the key, or run the loader once for all
+   * concurrent callers and cache what it returns. Loader failures are not
+   * cached and propagate to every waiting caller.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T getOrLoad(String key, Supplier<T> loader) {
+    CompletableFuture<CachedResult> pending = new CompletableFuture<>();
+    CompletableFuture<CachedResult> existing = local.asMap().putIfAbsent(key, pending);
+    if (existing != null) {
+      boolean ready = existing.isDone();
+      CachedResult cached = join(existing);
+      if (cached != null) {
+        (ready ? localHits : coalesced).increment();
+        recordAge(cached);
+        return (T) cached.value();
+      }
+      // The in-flight load produced nothing cacheable; load on our own
+      return loader.get();
+    }
+
+    // Runs on the calling thread so the caller's region binding stays in effect
+    try {
+      CachedResult cached = readRedis(key);
+      if (cached != null) {
+        redisHits.increment();
+        recordAge(cached);
+      } else {
+        misses.increment();
+        T result = loader.get();
+        String encoded = encode(key, result);
+        if (encoded == null) {
+          pending.complete(null);
+          return result;
+        }
+        cached = new CachedResult(result, System.currentTimeMillis(), weigh(key, encoded));
+        writeRedis(key, encoded);
+      }
+      pending.complete(cached);
+      return (T) cached.value();
+    } catch (RuntimeException e) {
+      pending.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  /**
+   * Last-resort lookup used when every region failed; returns {@code null}
+   * when nothing is cached for the key.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T getStale(String key) {
+    CachedResult cached = null;
+    CompletableFuture<CachedResult> future = local.getIfPresent(key);
+    if (future != null && future.isDone() && !future.isCompletedExceptionally()) {
+      cached = future.join();
+    }
+    if (cached == null) {
+      cached = readRedis(key);
+    }
+    if (cached == null) {
+      return null;
+    }
+    staleServes.increment();
+    recordAge(cached);
+    return (T) cached.value();
+  }
+
+  private String encode(String key, Object result) {
+    if (result == null) {
+      return null;
+    }
+    try {
+      return codec.encode(result, System.currentTimeMillis());
+    } catch (IllegalArgumentException e) {
+      log.debug("Not caching cross-region result for {}: {}", key, e.getMessage());
+      return null;
+    }
+  }
+
+  private CachedResult readRedis(String key) {
+    try {
+      String payload = redisTemplate.opsForValue().get(key);
+      if (payload == null) {
+        return null;
+      }
+      CrossRegionResultCodec.Decoded decoded = codec.decode(payload);
+      return new CachedResult(decoded.value(), decoded.cachedAtMillis(), weigh(key, payload));
+    } catch (Exception e) {
+      log.debug("Error retrieving cached order result {} from Redis: {}", key, e.getMessage());
+      return null;
+    }
+  }
+
+  private void writeRedis(String key, String encoded) {
+    try {
+      redisTemplate.opsForValue().set(key, encoded, redisTtl);
+    } catch (Exception e) {
+      log.warn("Failed to cache order result for cross-region access: {}", e.getMessage());
+    }
+  }
+
+  private void recordAge(CachedResult cached) {
+    staleness.record(Math.max(0, System.currentTimeMillis() - cached.cachedAtMillis()), TimeUnit.MILLISECONDS);
+  }
+
+  private static int weigh(String key, String encoded) {
+    return key.length() + encoded.length();
+  }
+
+  private static CachedResult join(CompletableFuture<CachedResult> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+  }
+
+  private static String digest(Object[] args) {
+    if (args == null || args.length == 0) {
+      return "-";
+    }
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256")
+          .digest(Arrays.deepToString(args).getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Counter requests(MeterRegistry registry, String result, String tier) {
+    return Counter.builder("order.fallback.cache.requests")
+        .tag("result", result)
+        .tag("tier", tier)
+        .register(registry);
+  }
+
+  /**
+   * Cached value weighted by its encoded size, so the local bound tracks
+   * memory use rather than entry count.
+   */
+  private record CachedResult(Object value, long cachedAtMillis, int weight) {
+  }
+}
@@ -0,0 +1,98 @@
+package com.winnguyen1905.order.core.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * JSON envelope for cross-region results stored in Redis. The envelope carries
+ * the concrete result type (and element type for lists and sets) so values
+ * round-trip without JDK serialization; only types from an allow-list of
+ * packages are ever instantiated on decode.
+ */
+public class CrossRegionResultCodec {
+
+  private static final List<String> ALLOWED_PACKAGES = List.of(
+      "com.winnguyen1905.order.", "java.lang.", "java.util.", "java.time.", "java.math.");
+
+  private final ObjectMapper objectMapper;
+
+  public CrossRegionResultCodec(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  public String encode(Object value, long cachedAtMillis) {
+    ObjectNode envelope = objectMapper.createObjectNode();
+    envelope.put("type", topLevelType(value).getName());
+    Class<?> elementType = elementType(value);
+    if (elementType != null) {
+      envelope.put("elementType", elementType.getName());
+    }
+    envelope.put("cachedAt", cachedAtMillis);
+    envelope.set("value", objectMapper.valueToTree(value));
+    try {
+      return objectMapper.writeValueAsString(envelope);
+    } catch (Exception e) {
+      throw new IllegalArgumentException("Cannot encode cross-region result of type " + value.getClass(), e);
+    }
+  }
+
+  public Decoded decode(String payload) {
+    try {
+      JsonNode envelope = objectMapper.readTree(payload);
+      Class<?> type = resolve(envelope.path("type").asText());
+      JavaType javaType = objectMapper.constructType(type);
+      if (envelope.hasNonNull("elementType") && Collection.class.isAssignableFrom(type)) {
+        @SuppressWarnings("unchecked")
+        Class<? extends Collection<?>> collectionType = (Class<? extends Collection<?>>) type;
+        javaType = objectMapper.getTypeFactory()
+            .constructCollectionType(collectionType, resolve(envelope.get("elementType").asText()));
+      }
+      Object value = objectMapper.convertValue(envelope.get("value"), javaType);
+      return new Decoded(value, envelope.path("cachedAt").asLong());
+    } catch (Exception e) {
+      throw new IllegalArgumentException("Cannot decode cross-region result", e);
+    }
+  }
+
+  private static Class<?> topLevelType(Object value) {
+    // Immutable JDK collections (List.of, Stream.toList) have no public constructor
+    if (value instanceof List<?>) {
+      return ArrayList.class;
+    }
+    if (value instanceof Set<?>) {
+      return LinkedHashSet.class;
+    }
+    return value.getClass();
+  }
+
+  private static Class<?> elementType(Object value) {
+    if (value instanceof Collection<?> collection) {
+      for (Object element : collection) {
+        if (element != null) {
+          return element.getClass();
+        }
+      }
+    }
+    return null;
+  }
+
+  private static Class<?> resolve(String className) throws ClassNotFoundException {
+    for (String allowed : ALLOWED_PACKAGES) {
+      if (className.startsWith(allowed)) {
+        return Class.forName(className, false, CrossRegionResultCodec.class.getClassLoader());
+      }
+    }
+    throw new IllegalArgumentException("Type not allowed in cross-region cache: " + className);
+  }
+
+  public record Decoded(Object value, long cachedAtMillis) {
+  }
+}
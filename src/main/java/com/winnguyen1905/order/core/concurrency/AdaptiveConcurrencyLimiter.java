@@ -0,0 +1,161 @@
+package com.winnguyen1905.order.core.concurrency;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.winnguyen1905.order.secure.AccountType;
+import com.winnguyen1905.order.secure.RegionPartition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Admission control for write requests with one adaptive concurrency limit
+ * per region and account type. Limits follow AIMD: they grow by one while
+ * requests complete near the no-load latency and the limit is actually in
+ * use, and shrink multiplicatively when latency climbs past
+ * {@code tolerance} times that baseline or a request fails from overload.
+ * Requests over the limit are rejected immediately instead of queueing on the
+ * connection pool.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+  private final MeterRegistry meterRegistry;
+  private final int initialLimit;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final double tolerance;
+  private final long maxLatencyNanos;
+  private final Map<Key, Limit> limits = new ConcurrentHashMap<>();
+
+  public AdaptiveConcurrencyLimiter(
+      MeterRegistry meterRegistry,
+      @Value("${order.admission.initial-limit:20}") int initialLimit,
+      @Value("${order.admission.min-limit:2}") int minLimit,
+      @Value("${order.admission.max-limit:200}") int maxLimit,
+      @Value("${order.admission.backoff-ratio:0.9}") double backoffRatio,
+      @Value("${order.admission.latency-tolerance:2.0}") double tolerance,
+      @Value("${order.admission.max-latency-ms:2000}") long maxLatencyMillis) {
+    this.meterRegistry = meterRegistry;
+    this.minLimit = Math.max(1, minLimit);
+    this.maxLimit = Math.max(this.minLimit, maxLimit);
+    this.initialLimit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    this.backoffRatio = backoffRatio;
+    this.tolerance = tolerance;
+    this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+  }
+
+  /**
+   * Take a slot for a request of this partition, or return {@code null} when
+   * the partition is at its limit.
+   */
+  public Permit tryAcquire(RegionPartition region, AccountType accountType) {
+    Limit limit = limits.computeIfAbsent(new Key(region, accountType), this::newLimit);
+    return limit.tryAcquire() ? new Permit(limit, System.nanoTime()) : null;
+  }
+
+  /**
+   * Suggested client back-off for a rejected request: twice the partition's
+   * baseline latency, at least one second.
+   */
+  public long retryAfterSeconds(RegionPartition region, AccountType accountType) {
+    Limit limit = limits.get(new Key(region, accountType));
+    if (limit == null) {
+      return 1;
+    }
+    return Math.max(1, TimeUnit.NANOSECONDS.toSeconds((long) limit.baselineNanos * 2));
+  }
+
+  private Limit newLimit(Key key) {
+    Tags tags = Tags.of("region", key.region().getCode(), "account_type", key.accountType().name());
+    Limit limit = new Limit(
+        Counter.builder("order.admission.rejected").tags(tags).register(meterRegistry),
+        Timer.builder("order.admission.latency").tags(tags).register(meterRegistry));
+    Gauge.builder("order.admission.limit", limit, l -> l.limit).tags(tags)
+        .description("Current adaptive concurrency limit")
+        .register(meterRegistry);
+    Gauge.builder("order.admission.inflight", limit, l -> l.inFlight.get()).tags(tags)
+        .register(meterRegistry);
+    return limit;
+  }
+
+  /**
+   * Slot held by one admitted request; release it exactly once.
+   */
+  public static final class Permit {
+    private final Limit limit;
+    private final long startNanos;
+
+    private Permit(Limit limit, long startNanos) {
+      this.limit = limit;
+      this.startNanos = startNanos;
+    }
+
+    /**
+     * @param overloaded whether the request failed because the backend was
+     *                   saturated (timeouts, pool exhaustion)
+     */
+    public void release(boolean overloaded) {
+      limit.release(System.nanoTime() - startNanos, overloaded);
+    }
+  }
+
+  private record Key(RegionPartition region, AccountType accountType) {
+  }
+
+  private final class Limit {
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+    private final Timer latency;
+    private volatile int limit = initialLimit;
+    // Slow-moving latency average standing in for the no-load round trip
+    private volatile double baselineNanos;
+
+    Limit(Counter rejected, Timer latency) {
+      this.rejected = rejected;
+      this.latency = latency;
+    }
+
+    boolean tryAcquire() {
+      for (;;) {
+        int current = inFlight.get();
+        if (current >= limit) {
+          rejected.increment();
+          return false;
+        }
+        if (inFlight.compareAndSet(current, current + 1)) {
+          return true;
+        }
+      }
+    }
+
+    void release(long rttNanos, boolean overloaded) {
+      int inFlightAtRelease = inFlight.getAndDecrement();
+      latency.record(rttNanos, TimeUnit.NANOSECONDS);
+      synchronized (this) {
+        if (baselineNanos == 0) {
+          baselineNanos = rttNanos;
+        }
+        boolean congested = overloaded || rttNanos > maxLatencyNanos || rttNanos > baselineNanos * tolerance;
+        if (congested) {
+          limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (inFlightAtRelease * 2 >= limit) {
+          // Grow only while the limit is actually in use, not when traffic is light
+          limit = Math.min(maxLimit, limit + 1);
+        }
+        // Follow faster samples quickly and slower ones slowly, so sustained overload barely moves it
+        baselineNanos += (rttNanos - baselineNanos) * (rttNanos < baselineNanos ? 0.2 : 0.01);
+      }
+    }
+  }
+}
@@ -0,0 +1,220 @@
+package com.winnguyen1905.order.core.concurrency;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.backoff.ExponentialRandomBackOffPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.winnguyen1905.order.secure.BaseException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs order mutations in their own transaction and re-runs them when the
+ * {@code @Version} check on the order fails. Each attempt by a same-node
+ * writer for one order holds its lock stripe; the stripe is released during
+ * the backoff, so other writers to the orders sharing it are not held up.
+ * Conflicts are retried with jittered exponential backoff until the attempt
+ * limit or the retry budget runs out.
+ */
+@Slf4j
+@Component
+public class OrderMutationExecutor {
+
+  private static final String OPERATION_ATTRIBUTE = "order.mutation.operation";
+
+  private final TransactionTemplate transactionTemplate;
+  private final MeterRegistry meterRegistry;
+  private final StripedLocks locks;
+  private final RetryBudget retryBudget;
+  private final RetryTemplate retryTemplate;
+  private final long lockTimeoutMillis;
+  private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+  public OrderMutationExecutor(
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${order.concurrency.max-attempts:4}") int maxAttempts,
+      @Value("${order.concurrency.initial-backoff-ms:20}") long initialBackoffMillis,
+      @Value("${order.concurrency.max-backoff-ms:500}") long maxBackoffMillis,
+      @Value("${order.concurrency.retry-budget-ratio:0.2}") double retryBudgetRatio,
+      @Value("${order.concurrency.retry-budget-min:10}") int retryBudgetMin,
+      @Value("${order.concurrency.lock-stripes:256}") int lockStripes,
+      @Value("${order.concurrency.lock-timeout-ms:2000}") long lockTimeoutMillis) {
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.meterRegistry = meterRegistry;
+    this.locks = new StripedLocks(lockStripes);
+    this.retryBudget = new RetryBudget(retryBudgetRatio, retryBudgetMin, Math.max(retryBudgetMin, 100));
+    this.lockTimeoutMillis = lockTimeoutMillis;
+    this.retryTemplate = buildRetryTemplate(maxAttempts, initialBackoffMillis, maxBackoffMillis);
+  }
+
+  /**
+   * Execute a mutation of the given order, retrying on optimistic lock
+   * conflicts. When called inside an already running transaction the
+   * mutation joins it and conflicts surface at the outer boundary, since a
+   * rolled-back outer transaction cannot be retried from here.
+   */
+  public <T> T execute(UUID orderId, String operation, Supplier<T> mutation) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return withStripe(orderId, operation, mutation);
+    }
+    retryBudget.deposit();
+    return retryTemplate.execute((RetryCallback<T, RuntimeException>) context -> {
+      context.setAttribute(OPERATION_ATTRIBUTE, operation);
+      if (context.getRetryCount() > 0) {
+        counter("order.mutation.retries", operation).increment();
+        log.debug("Retrying {} for order {} (attempt {})", operation, orderId, context.getRetryCount() + 1);
+      }
+      // Locked per attempt; the backoff sleep runs between callbacks, unlocked
+      return withStripe(orderId, operation, () -> transactionTemplate.execute(status -> mutation.get()));
+    }, context -> {
+      Throwable last = context.getLastThrowable();
+      if (!isConflict(last)) {
+        // Business failures are not retried and keep their original type
+        if (last instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        throw new IllegalStateException(last);
+      }
+      counter("order.mutation.exhausted", operation).increment();
+      log.warn("Giving up {} for order {} after {} conflicting attempts", operation, orderId,
+          context.getRetryCount());
+      throw new BaseException("Order " + orderId + " was modified concurrently, please retry", 409);
+    });
+  }
+
+  public void run(UUID orderId, String operation, Runnable mutation) {
+    execute(orderId, operation, () -> {
+      mutation.run();
+      return null;
+    });
+  }
+
+  public double availableRetryBudget() {
+    return retryBudget.available();
+  }
+
+  private <T> T withStripe(UUID orderId, String operation, Supplier<T> work) {
+    ReentrantLock lock = locks.lockFor(orderId);
+    boolean locked = tryLock(lock, orderId, operation);
+    try {
+      return work.get();
+    } finally {
+      if (locked) {
+        lock.unlock();
+      }
+    }
+  }
+
+  private boolean tryLock(ReentrantLock lock, UUID orderId, String operation) {
+    try {
+      if (lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        return true;
+      }
+      // Fall through unlocked: the version check still guards correctness
+      log.debug("Lock stripe busy for {} on order {}, continuing optimistically", operation, orderId);
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new BaseException("Interrupted while waiting to update order " + orderId, 503);
+    }
+  }
+
+  private RetryTemplate buildRetryTemplate(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis) {
+    SimpleRetryPolicy conflictPolicy = new SimpleRetryPolicy(maxAttempts,
+        Map.of(OptimisticLockingFailureException.class, true, OptimisticLockException.class, true),
+        true);
+
+    ExponentialRandomBackOffPolicy backOffPolicy = new ExponentialRandomBackOffPolicy();
+    backOffPolicy.setInitialInterval(initialBackoffMillis);
+    backOffPolicy.setMultiplier(2.0);
+    backOffPolicy.setMaxInterval(maxBackoffMillis);
+
+    RetryTemplate template = new RetryTemplate();
+    template.setRetryPolicy(new BudgetedRetryPolicy(conflictPolicy, retryBudget));
+    template.setBackOffPolicy(backOffPolicy);
+    template.setThrowLastExceptionOnExhausted(false);
+    template.registerListener(new RetryListener() {
+      @Override
+      public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+          Throwable throwable) {
+        if (isConflict(throwable)) {
+          counter("order.mutation.conflicts", (String) context.getAttribute(OPERATION_ATTRIBUTE)).increment();
+        }
+      }
+    });
+    return template;
+  }
+
+  private Counter counter(String name, String operation) {
+    String op = operation != null ? operation : "unknown";
+    return counters.computeIfAbsent(name + ':' + op, key -> Counter.builder(name)
+        .tag("operation", op)
+        .register(meterRegistry));
+  }
+
+  private static boolean isConflict(Throwable throwable) {
+    for (Throwable t = throwable; t != null; t = t.getCause()) {
+      if (t instanceof OptimisticLockingFailureException || t instanceof OptimisticLockException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Delegates the exception classification to a {@link SimpleRetryPolicy} and
+   * additionally charges every retry against the shared {@link RetryBudget}.
+   */
+  private static class BudgetedRetryPolicy implements org.springframework.retry.RetryPolicy {
+    private final SimpleRetryPolicy delegate;
+    private final RetryBudget budget;
+
+    BudgetedRetryPolicy(SimpleRetryPolicy delegate, RetryBudget budget) {
+      this.delegate = delegate;
+      this.budget = budget;
+    }
+
+    @Override
+    public boolean canRetry(RetryContext context) {
+      if (context.getLastThrowable() == null) {
+        return true;
+      }
+      return delegate.canRetry(context) && budget.tryWithdraw();
+    }
+
+    @Override
+    public RetryContext open(RetryContext parent) {
+      return delegate.open(parent);
+    }
+
+    @Override
+    public void close(RetryContext context) {
+      delegate.close(context);
+    }
+
+    @Override
+    public void registerThrowable(RetryContext context, Throwable throwable) {
+      delegate.registerThrowable(context, throwable);
+    }
+  }
+}
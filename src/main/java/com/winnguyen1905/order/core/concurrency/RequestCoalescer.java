@@ -0,0 +1,106 @@
+package com.winnguyen1905.order.core.concurrency;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.winnguyen1905.order.secure.RegionContextHolder;
+import com.winnguyen1905.order.secure.RegionPartition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Single-flight for hot reads: while a load for an operation and key is
+ * running, identical calls wait for it and share its result or exception
+ * instead of issuing their own query. The load runs on the first caller's
+ * thread, so its region routing and Hibernate session apply; keys include the
+ * bound region because each region reads its own database, and the filter
+ * region because it decides which of those rows the caller sees. Nothing is
+ * cached once the load finishes, but a caller that joins a flight gets a
+ * result whose load began before it arrived, so it can miss a write committed
+ * in between; only coalesce reads that tolerate being one load stale. Calls
+ * inside a read-write transaction always load for themselves, since a shared
+ * load runs outside that transaction and would not see its writes.
+ */
+@Component
+public class RequestCoalescer {
+
+  private final MeterRegistry meterRegistry;
+  private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+  public RequestCoalescer(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    Gauge.builder("order.coalescing.inflight", inFlight, Map::size)
+        .description("Distinct reads currently being loaded")
+        .register(meterRegistry);
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T execute(String operation, Object key, Supplier<T> loader) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return loader.get();
+    }
+    Key flightKey = new Key(operation, RegionContextHolder.get(), RegionContextHolder.getFilterRegion(), key);
+    Stats operationStats = stats.computeIfAbsent(operation, this::newStats);
+
+    CompletableFuture<Object> flight = new CompletableFuture<>();
+    CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+    if (existing != null) {
+      operationStats.coalesced.increment();
+      try {
+        return (T) existing.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        throw e;
+      }
+    }
+
+    operationStats.loads.increment();
+    try {
+      T result = loader.get();
+      inFlight.remove(flightKey, flight);
+      flight.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      inFlight.remove(flightKey, flight);
+      flight.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private Stats newStats(String operation) {
+    Stats operationStats = new Stats(
+        Counter.builder("order.coalescing.requests").tag("operation", operation).tag("role", "leader")
+            .description("Reads that ran their own load")
+            .register(meterRegistry),
+        Counter.builder("order.coalescing.requests").tag("operation", operation).tag("role", "follower")
+            .description("Reads that joined a load already in flight")
+            .register(meterRegistry));
+    Gauge.builder("order.coalescing.ratio", operationStats, Stats::ratio)
+        .tag("operation", operation)
+        .description("Share of reads served by joining an in-flight load")
+        .register(meterRegistry);
+    return operationStats;
+  }
+
+  private record Key(String operation, RegionPartition region, RegionPartition filterRegion, Object key) {
+  }
+
+  private record Stats(Counter loads, Counter coalesced) {
+    double ratio() {
+      double total = loads.count() + coalesced.count();
+      return total == 0 ? 0 : coalesced.count() / total;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.winnguyen1905.order.core.concurrency;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that caps retries to a fraction of first attempts, so a hot
+ * order under heavy contention cannot multiply the write load on the database.
+ * Every first attempt deposits {@code ratio} tokens, every retry withdraws one.
+ */
+public class RetryBudget {
+
+  private static final long SCALE = 1_000L;
+
+  private final AtomicLong balance;
+  private final long depositPerCall;
+  private final long maxBalance;
+
+  public RetryBudget(double ratio, int minRetries, int maxTokens) {
+    this.depositPerCall = Math.round(ratio * SCALE);
+    this.maxBalance = (long) maxTokens * SCALE;
+    this.balance = new AtomicLong((long) minRetries * SCALE);
+  }
+
+  public void deposit() {
+    long current;
+    do {
+      current = balance.get();
+      if (current >= maxBalance) {
+        return;
+      }
+    } while (!balance.compareAndSet(current, Math.min(maxBalance, current + depositPerCall)));
+  }
+
+  public boolean tryWithdraw() {
+    long current;
+    do {
+      current = balance.get();
+      if (current < SCALE) {
+        return false;
+      }
+    } while (!balance.compareAndSet(current, current - SCALE));
+    return true;
+  }
+
+  public double available() {
+    return (double) balance.get() / SCALE;
+  }
+}
@@ -0,0 +1,33 @@
+package com.winnguyen1905.order.core.concurrency;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of re-entrant locks addressed by key hash. Mutations of the same
+ * order on this node serialize on one stripe instead of racing to the database
+ * and losing the optimistic version check.
+ */
+public class StripedLocks {
+
+  private final ReentrantLock[] stripes;
+  private final int mask;
+
+  public StripedLocks(int requestedStripes) {
+    int size = Integer.highestOneBit(Math.max(1, requestedStripes - 1)) << 1;
+    this.stripes = new ReentrantLock[size];
+    this.mask = size - 1;
+    for (int i = 0; i < size; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+  public ReentrantLock lockFor(Object key) {
+    int h = key.hashCode();
+    h ^= (h >>> 16);
+    return stripes[h & mask];
+  }
+
+  public int size() {
+    return stripes.length;
+  }
+}
@@ -0,0 +1,342 @@
+package com.winnguyen1905.order.core.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.winnguyen1905.order.secure.BaseException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local write-ahead journal for events the broker could not take. Events are
+ * appended to memory-mapped, preallocated segment files and are durable when
+ * {@link #append} returns; concurrent appenders share one fsync (group
+ * commit). A single consumer reads the journal in sequence order with
+ * {@link #poll} and {@link #acknowledge}s what it delivered, which advances a
+ * checkpoint and deletes fully delivered segments. Disk use is bounded by
+ * {@code max-segments * segment-bytes}; appends beyond that are rejected.
+ */
+@Slf4j
+@Component
+public class EventJournal {
+
+  private static final String CHECKPOINT_FILE = "checkpoint";
+
+  private final Path directory;
+  private final int segmentBytes;
+  private final int maxSegments;
+  private final List<JournalSegment> segments = new CopyOnWriteArrayList<>();
+  private final ReentrantLock appendLock = new ReentrantLock();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private final Counter appended;
+  private final Counter rejected;
+  private final Timer fsyncs;
+  private final DistributionSummary fsyncBatch;
+
+  private volatile long lastSequence;
+  private volatile long durableSequence;
+  private volatile long acknowledgedSequence;
+  private FileChannel checkpoint;
+
+  // Read cursor: first record after acknowledgedSequence; null until a segment exists
+  private JournalSegment cursorSegment;
+  private int cursorPosition;
+
+  public EventJournal(
+      MeterRegistry meterRegistry,
+      @Value("${order.event-journal.directory:./data/event-journal}") String directory,
+      @Value("${order.event-journal.segment-bytes:16777216}") int segmentBytes,
+      @Value("${order.event-journal.max-segments:32}") int maxSegments) {
+    this.directory = Paths.get(directory);
+    this.segmentBytes = segmentBytes;
+    this.maxSegments = Math.max(2, maxSegments);
+    this.appended = Counter.builder("order.event.journal.appended")
+        .description("Events written to the local journal because the broker could not take them")
+        .register(meterRegistry);
+    this.rejected = Counter.builder("order.event.journal.rejected")
+        .description("Events that could not be journaled because the journal was full")
+        .register(meterRegistry);
+    this.fsyncs = Timer.builder("order.event.journal.fsync")
+        .register(meterRegistry);
+    this.fsyncBatch = DistributionSummary.builder("order.event.journal.fsync.batch")
+        .description("Events made durable by one fsync")
+        .register(meterRegistry);
+    Gauge.builder("order.event.journal.pending", this, EventJournal::pending)
+        .description("Journaled events not yet delivered")
+        .register(meterRegistry);
+    Gauge.builder("order.event.journal.segments", segments, List::size)
+        .register(meterRegistry);
+    Gauge.builder("order.event.journal.disk", this, EventJournal::diskBytes)
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void open() throws IOException {
+    Files.createDirectories(directory);
+    checkpoint = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    ByteBuffer saved = ByteBuffer.allocate(Long.BYTES);
+    long acknowledged = checkpoint.read(saved, 0) == Long.BYTES ? saved.flip().getLong() : 0L;
+
+    List<Path> files;
+    try (Stream<Path> listing = Files.list(directory)) {
+      files = listing.filter(path -> path.getFileName().toString().endsWith(JournalSegment.SUFFIX))
+          .sorted()
+          .toList();
+    }
+    long last = acknowledged;
+    for (Path file : files) {
+      JournalSegment segment = JournalSegment.recover(file);
+      segments.add(segment);
+      last = Math.max(last, segment.lastSequence());
+    }
+
+    lastSequence = last;
+    durableSequence = last;
+    acknowledgedSequence = acknowledged;
+    resetCursor();
+    deleteDelivered();
+    if (pending() > 0) {
+      log.warn("Event journal holds {} undelivered events in {} segments", pending(), segments.size());
+    }
+  }
+
+  @PreDestroy
+  void close() throws IOException {
+    for (JournalSegment segment : segments) {
+      segment.force();
+      segment.close();
+    }
+    if (checkpoint != null) {
+      checkpoint.close();
+    }
+  }
+
+  /**
+   * Append an event and wait until it is on disk. Returns its sequence.
+   *
+   * @throws BaseException with status 503 when the journal is full or the
+   *                       event cannot be written
+   */
+  public long append(String topic, String key, byte[] value) {
+    if (JournalSegment.recordSize(topic, key, value) > segmentBytes) {
+      throw new BaseException("Event of " + value.length + " bytes does not fit in a journal segment", 503);
+    }
+
+    long sequence;
+    appendLock.lock();
+    try {
+      sequence = lastSequence + 1;
+      JournalSegment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+      if (active == null || !active.append(sequence, topic, key, value)) {
+        active = rotate(sequence);
+        active.append(sequence, topic, key, value);
+      }
+      lastSequence = sequence;
+    } finally {
+      appendLock.unlock();
+    }
+
+    awaitDurable(sequence);
+    appended.increment();
+    return sequence;
+  }
+
+  /**
+   * Whether every journaled event has been delivered. Producers route new
+   * events through the journal while this is {@code false} so delivery order
+   * is kept.
+   */
+  public boolean isEmpty() {
+    return acknowledgedSequence >= lastSequence;
+  }
+
+  public long pending() {
+    return lastSequence - acknowledgedSequence;
+  }
+
+  /**
+   * Read up to {@code max} durable events following the last acknowledged
+   * one, without consuming them.
+   */
+  public synchronized List<JournalEntry> poll(int max) {
+    List<JournalEntry> entries = new ArrayList<>(Math.min(max, 256));
+    if (cursorSegment == null) {
+      resetCursor();
+    }
+    JournalSegment segment = cursorSegment;
+    int position = cursorPosition;
+    long limit = durableSequence;
+    while (segment != null && entries.size() < max) {
+      JournalSegment.Read read = segment.readAt(position, limit);
+      if (read != null) {
+        entries.add(read.entry());
+        position = read.nextPosition();
+        continue;
+      }
+      segment = next(segment);
+      position = 0;
+    }
+    return entries;
+  }
+
+  /**
+   * Mark every event up to and including {@code sequence} as delivered.
+   */
+  public synchronized void acknowledge(long sequence) {
+    if (sequence <= acknowledgedSequence) {
+      return;
+    }
+    if (cursorSegment == null) {
+      resetCursor();
+    }
+    while (cursorSegment != null) {
+      JournalSegment.Read read = cursorSegment.readAt(cursorPosition, sequence);
+      if (read != null) {
+        cursorPosition = read.nextPosition();
+        continue;
+      }
+      if (cursorSegment.lastSequence() > sequence) {
+        break;
+      }
+      JournalSegment following = next(cursorSegment);
+      if (following == null) {
+        break;
+      }
+      cursorSegment = following;
+      cursorPosition = 0;
+    }
+
+    acknowledgedSequence = sequence;
+    try {
+      checkpoint.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence), 0);
+      checkpoint.force(false);
+    } catch (IOException e) {
+      // A stale checkpoint only causes redelivery after a restart
+      log.warn("Failed to persist event journal checkpoint {}: {}", sequence, e.getMessage());
+    }
+    deleteDelivered();
+  }
+
+  private JournalSegment rotate(long sequence) {
+    if (segments.size() >= maxSegments) {
+      rejected.increment();
+      throw new BaseException("Event journal is full, events cannot be accepted", 503);
+    }
+    try {
+      JournalSegment previous = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+      if (previous != null) {
+        previous.force();
+      }
+      JournalSegment created = JournalSegment.create(directory, sequence, segmentBytes);
+      segments.add(created);
+      return created;
+    } catch (IOException e) {
+      rejected.increment();
+      throw new BaseException("Event journal segment could not be created: " + e.getMessage(), 503);
+    }
+  }
+
+  private void awaitDurable(long sequence) {
+    if (durableSequence >= sequence) {
+      return;
+    }
+    flushLock.lock();
+    try {
+      // Whoever gets here first flushes for everyone that appended meanwhile
+      long previous = durableSequence;
+      if (previous >= sequence) {
+        return;
+      }
+      long target = lastSequence;
+      fsyncs.record(() -> {
+        for (JournalSegment segment : segments) {
+          if (segment.lastSequence() > previous) {
+            segment.force();
+          }
+        }
+      });
+      durableSequence = target;
+      fsyncBatch.record(target - previous);
+    } catch (UncheckedIOException e) {
+      throw new BaseException("Event journal could not be flushed: " + e.getMessage(), 503);
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /**
+   * Drop segments whose events were all delivered. The active segment goes
+   * too once it is fully delivered, so an idle journal keeps no files.
+   */
+  private synchronized void deleteDelivered() {
+    appendLock.lock();
+    try {
+      for (JournalSegment segment : segments) {
+        boolean active = segment == segments.get(segments.size() - 1);
+        if (segment.lastSequence() > acknowledgedSequence || (active && segment.isEmpty())) {
+          break;
+        }
+        segments.remove(segment);
+        segment.delete();
+      }
+      if (segments.isEmpty()) {
+        cursorSegment = null;
+        cursorPosition = 0;
+      } else if (!segments.contains(cursorSegment)) {
+        resetCursor();
+      }
+    } catch (IOException e) {
+      log.warn("Failed to delete delivered event journal segment: {}", e.getMessage());
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  private synchronized void resetCursor() {
+    cursorSegment = segments.isEmpty() ? null : segments.get(0);
+    cursorPosition = 0;
+    while (cursorSegment != null) {
+      JournalSegment.Read read = cursorSegment.readAt(cursorPosition, acknowledgedSequence);
+      if (read == null) {
+        break;
+      }
+      cursorPosition = read.nextPosition();
+    }
+  }
+
+  private JournalSegment next(JournalSegment segment) {
+    int index = segments.indexOf(segment);
+    return index >= 0 && index + 1 < segments.size() ? segments.get(index + 1) : null;
+  }
+
+  private long diskBytes() {
+    long total = 0;
+    for (JournalSegment segment : segments) {
+      total += segment.sizeBytes();
+    }
+    return total;
+  }
+}
@@ -0,0 +1,8 @@
+package com.winnguyen1905.order.core.journal;
+
+/**
+ * One event captured in the {@link EventJournal}, addressed by its
+ * journal-wide sequence number.
+ */
+public record JournalEntry(long sequence, String topic, String key, byte[] value) {
+}
@@ -0,0 +1,181 @@
+package com.winnguyen1905.order.core.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Fixed-size, preallocated journal file mapped into memory. Records are laid
+ * out back to back as {@code length | crc | sequence | topic | key | value};
+ * the zero-filled tail marks the end, and a record whose checksum does not
+ * match is treated as a torn write and ends the segment on recovery.
+ */
+final class JournalSegment implements Closeable {
+
+  static final String SUFFIX = ".journal";
+
+  /** length (int) + crc (int) + sequence (long). */
+  static final int HEADER_BYTES = 16;
+
+  private final Path path;
+  private final long baseSequence;
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private volatile int writePosition;
+  private volatile long lastSequence;
+
+  private JournalSegment(Path path, long baseSequence, FileChannel channel, MappedByteBuffer buffer) {
+    this.path = path;
+    this.baseSequence = baseSequence;
+    this.channel = channel;
+    this.buffer = buffer;
+    this.lastSequence = baseSequence - 1;
+  }
+
+  static JournalSegment create(Path directory, long baseSequence, int size) throws IOException {
+    Path path = directory.resolve(String.format("%020d%s", baseSequence, SUFFIX));
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    return new JournalSegment(path, baseSequence, channel, buffer);
+  }
+
+  /**
+   * Map an existing segment and find the end of its last intact record.
+   */
+  static JournalSegment recover(Path path) throws IOException {
+    String name = path.getFileName().toString();
+    long baseSequence = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+    JournalSegment segment = new JournalSegment(path, baseSequence, channel, buffer);
+
+    int position = 0;
+    for (;;) {
+      Read read = segment.readAt(position, Long.MAX_VALUE);
+      if (read == null) {
+        break;
+      }
+      segment.lastSequence = read.entry().sequence();
+      position = read.nextPosition();
+    }
+    segment.writePosition = position;
+    return segment;
+  }
+
+  static int recordSize(String topic, String key, byte[] value) {
+    return HEADER_BYTES + 4 + utf8Length(topic) + utf8Length(key) + value.length;
+  }
+
+  /**
+   * Append a record, returning {@code false} when it does not fit. Callers
+   * serialize appends; readers only look at records up to the published
+   * {@link #lastSequence()}.
+   */
+  boolean append(long sequence, String topic, String key, byte[] value) {
+    byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    int bodyLength = 8 + 2 + topicBytes.length + 2 + keyBytes.length + value.length;
+    int position = writePosition;
+    if (position + 8 + bodyLength > buffer.capacity()) {
+      return false;
+    }
+
+    ByteBuffer body = buffer.duplicate();
+    body.position(position + 8);
+    body.putLong(sequence);
+    body.putShort((short) topicBytes.length).put(topicBytes);
+    body.putShort((short) keyBytes.length).put(keyBytes);
+    body.put(value);
+
+    CRC32C crc = new CRC32C();
+    crc.update(buffer.slice(position + 8, bodyLength));
+    buffer.putInt(position + 4, (int) crc.getValue());
+    // Length last: a zero length is the end-of-segment marker
+    buffer.putInt(position, bodyLength);
+
+    writePosition = position + 8 + bodyLength;
+    lastSequence = sequence;
+    return true;
+  }
+
+  /**
+   * Read the record at {@code position} if it is intact and its sequence is
+   * at most {@code maxSequence}.
+   */
+  Read readAt(int position, long maxSequence) {
+    if (position + HEADER_BYTES > buffer.capacity()) {
+      return null;
+    }
+    int bodyLength = buffer.getInt(position);
+    if (bodyLength < 12 || position + 8 + bodyLength > buffer.capacity()) {
+      return null;
+    }
+    CRC32C crc = new CRC32C();
+    crc.update(buffer.slice(position + 8, bodyLength));
+    if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+      return null;
+    }
+
+    ByteBuffer body = buffer.slice(position + 8, bodyLength);
+    long sequence = body.getLong();
+    if (sequence > maxSequence) {
+      return null;
+    }
+    String topic = readString(body);
+    String key = readString(body);
+    byte[] value = new byte[body.remaining()];
+    body.get(value);
+    return new Read(new JournalEntry(sequence, topic, key, value), position + 8 + bodyLength);
+  }
+
+  void force() {
+    buffer.force();
+  }
+
+  boolean isEmpty() {
+    return writePosition == 0;
+  }
+
+  long baseSequence() {
+    return baseSequence;
+  }
+
+  long lastSequence() {
+    return lastSequence;
+  }
+
+  long sizeBytes() {
+    return buffer.capacity();
+  }
+
+  void delete() throws IOException {
+    close();
+    Files.deleteIfExists(path);
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private static String readString(ByteBuffer body) {
+    byte[] bytes = new byte[Short.toUnsignedInt(body.getShort())];
+    body.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static int utf8Length(String value) {
+    return value.getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  record Read(JournalEntry entry, int nextPosition) {
+  }
+}
@@ -0,0 +1,215 @@
+package com.winnguyen1905.order.core.partition;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.winnguyen1905.order.secure.RegionPartition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the partitioned order tables (see
+ * {@code db/partitioning/order-partitions.sql}) supplied with monthly range
+ * partitions, each list-partitioned by region, a few months ahead of time so
+ * inserts never land in the DEFAULT partition. It also owns {@code order_keys},
+ * the unique index of order ids that the partitioned {@code orders} table
+ * cannot carry itself, and the foreign keys that reference it.
+ * <p>
+ * When a retention period is set, an expired month is dropped by order month:
+ * the order's children in later partitions or in unpartitioned tables are
+ * deleted first, then the month's partitions of every partitioned table go
+ * together, so no child row outlives its order.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "order.partitioning", name = "enabled", havingValue = "true")
+public class PartitionMaintenanceJob {
+
+  static final List<String> PARTITIONED_TABLES = List.of("orders", "order_items", "order_status_history");
+
+  // Tables with an order_id column; the partitioned ones are split on their own created_date
+  static final List<String> PARTITIONED_CHILDREN = List.of("order_items", "order_status_history");
+  static final List<String> UNPARTITIONED_CHILDREN = List.of("vendor_orders", "order_discounts",
+      "order_external_refs");
+
+  private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+  private static final String LIST_PARTITIONS = """
+      SELECT child.relname FROM pg_inherits i
+      JOIN pg_class child ON child.oid = i.inhrelid
+      JOIN pg_class parent ON parent.oid = i.inhparent
+      WHERE parent.relname = ?
+      """;
+  private static final String KEYS_FUNCTION = """
+      CREATE OR REPLACE FUNCTION order_keys_sync() RETURNS trigger AS $$
+      BEGIN
+        IF TG_OP = 'INSERT' THEN
+          INSERT INTO order_keys (id, created_date, region) VALUES (NEW.id, NEW.created_date, NEW.region);
+          RETURN NEW;
+        END IF;
+        DELETE FROM order_keys WHERE id = OLD.id;
+        RETURN OLD;
+      END
+      $$ LANGUAGE plpgsql
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final int premakeMonths;
+  private final int retentionMonths;
+  private final Counter created;
+  private final Counter dropped;
+  private final Counter failures;
+
+  public PartitionMaintenanceJob(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${order.partitioning.premake-months:3}") int premakeMonths,
+      @Value("${order.partitioning.retention-months:0}") int retentionMonths) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.premakeMonths = premakeMonths;
+    this.retentionMonths = retentionMonths;
+    this.created = Counter.builder("order.partitions.created").register(meterRegistry);
+    this.dropped = Counter.builder("order.partitions.dropped").register(meterRegistry);
+    this.failures = Counter.builder("order.partitions.failures").register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onStartup() {
+    // Runs after Hibernate's schema update, so the child tables exist by now
+    try {
+      ensureOrderKeys();
+      UNPARTITIONED_CHILDREN.forEach(this::ensureOrderKeyReference);
+      PARTITIONED_CHILDREN.forEach(this::ensureOrderKeyReference);
+    } catch (RuntimeException e) {
+      failures.increment();
+      log.error("Could not set up order_keys: {}", e.getMessage());
+    }
+    maintain();
+  }
+
+  @Scheduled(cron = "${order.partitioning.cron:0 15 3 * * *}", zone = "UTC")
+  public void maintain() {
+    YearMonth current = YearMonth.now(ZoneOffset.UTC);
+    for (String table : PARTITIONED_TABLES) {
+      for (int offset = 0; offset <= premakeMonths; offset++) {
+        ensureMonth(table, current.plusMonths(offset));
+      }
+    }
+    if (retentionMonths > 0) {
+      dropBefore(current.minusMonths(retentionMonths));
+    }
+  }
+
+  private void ensureOrderKeys() {
+    jdbcTemplate.execute(KEYS_FUNCTION);
+    transactionTemplate.executeWithoutResult(status -> {
+      // Block order inserts so none slips between the backfill and the trigger
+      jdbcTemplate.execute("LOCK TABLE orders IN SHARE ROW EXCLUSIVE MODE");
+      Boolean installed = jdbcTemplate.queryForObject(
+          "SELECT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'order_keys_sync' AND tgrelid = 'orders'::regclass)",
+          Boolean.class);
+      if (Boolean.TRUE.equals(installed)) {
+        return;
+      }
+      int backfilled = jdbcTemplate.update("INSERT INTO order_keys (id, created_date, region) "
+          + "SELECT id, created_date, region FROM orders ON CONFLICT (id) DO NOTHING");
+      jdbcTemplate.execute("CREATE TRIGGER order_keys_sync AFTER INSERT OR DELETE ON orders "
+          + "FOR EACH ROW EXECUTE FUNCTION order_keys_sync()");
+      log.info("Installed order_keys trigger and backfilled {} order ids", backfilled);
+    });
+  }
+
+  private void ensureOrderKeyReference(String table) {
+    String constraint = "fk_" + table + "_order_keys";
+    Boolean present = jdbcTemplate.queryForObject(
+        "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ?)", Boolean.class, constraint);
+    if (!Boolean.TRUE.equals(present)) {
+      jdbcTemplate.execute("ALTER TABLE " + table + " ADD CONSTRAINT " + constraint
+          + " FOREIGN KEY (order_id) REFERENCES order_keys (id)");
+      log.info("Added {} referencing order_keys", constraint);
+    }
+  }
+
+  private void ensureMonth(String table, YearMonth month) {
+    String monthPartition = table + "_p" + month.format(SUFFIX);
+    try {
+      jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + monthPartition + " PARTITION OF " + table
+          + " FOR VALUES FROM ('" + month.atDay(1) + " 00:00:00+00') TO ('" + month.plusMonths(1).atDay(1)
+          + " 00:00:00+00') PARTITION BY LIST (region)");
+      for (RegionPartition region : RegionPartition.values()) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + monthPartition + "_" + region.getCode()
+            + " PARTITION OF " + monthPartition + " FOR VALUES IN ('" + region.getCode() + "')");
+      }
+      jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + monthPartition + "_default PARTITION OF "
+          + monthPartition + " DEFAULT");
+      created.increment();
+    } catch (RuntimeException e) {
+      // Typically rows for this month already sit in the table's DEFAULT partition
+      failures.increment();
+      log.error("Could not create partition {}: {}", monthPartition, e.getMessage());
+    }
+  }
+
+  private void dropBefore(YearMonth cutoff) {
+    Pattern monthly = Pattern.compile("^orders_p(\\d{6})$");
+    List<YearMonth> expired = jdbcTemplate.queryForList(LIST_PARTITIONS, String.class, "orders").stream()
+        .map(monthly::matcher)
+        .filter(Matcher::matches)
+        .map(matcher -> YearMonth.parse(matcher.group(1), SUFFIX))
+        .filter(month -> month.isBefore(cutoff))
+        .sorted()
+        .toList();
+    // Oldest first: each month clears its orders' children from the later months it reaches into
+    for (YearMonth month : expired) {
+      try {
+        transactionTemplate.executeWithoutResult(status -> dropMonth(month));
+        dropped.increment();
+        log.info("Dropped {} partitions past the {}-month retention", month, retentionMonths);
+      } catch (RuntimeException e) {
+        failures.increment();
+        log.error("Could not drop {} partitions, keeping the later months too: {}", month, e.getMessage());
+        return;
+      }
+    }
+  }
+
+  private void dropMonth(YearMonth month) {
+    String orders = "orders_p" + month.format(SUFFIX);
+    String expiredIds = "SELECT id FROM " + orders;
+    String nextMonth = "'" + month.plusMonths(1).atDay(1) + " 00:00:00+00'";
+    for (String table : PARTITIONED_CHILDREN) {
+      jdbcTemplate.update("DELETE FROM " + table + " WHERE created_date >= " + nextMonth
+          + " AND order_id IN (" + expiredIds + ")");
+    }
+    for (String table : UNPARTITIONED_CHILDREN) {
+      jdbcTemplate.update("DELETE FROM " + table + " WHERE order_id IN (" + expiredIds + ")");
+    }
+    jdbcTemplate.update("DELETE FROM order_view WHERE order_id IN (" + expiredIds + ")");
+    // What is left in the children's partitions for this month belongs to this or older months' orders
+    for (String table : PARTITIONED_CHILDREN) {
+      jdbcTemplate.execute("DROP TABLE IF EXISTS " + table + "_p" + month.format(SUFFIX));
+    }
+    // Dropping a partition skips the trigger, so its ids leave order_keys by hand
+    jdbcTemplate.update("DELETE FROM order_keys WHERE id IN (" + expiredIds + ")");
+    // Dropping the monthly partition drops its regional sub-partitions with it
+    jdbcTemplate.execute("DROP TABLE " + orders);
+  }
+}
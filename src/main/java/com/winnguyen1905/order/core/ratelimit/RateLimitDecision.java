@@ -0,0 +1,28 @@
+package com.winnguyen1905.order.core.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of one rate-limit check, carrying what the {@code RateLimit-*}
+ * response headers report.
+ *
+ * @param resetSeconds      seconds until the bucket is full again
+ * @param retryAfterSeconds seconds until the next token, zero when allowed
+ */
+public record RateLimitDecision(boolean allowed, int limit, int remaining, long resetSeconds,
+    long retryAfterSeconds) {
+
+  static RateLimitDecision allowed(int limit, int remaining, long untilFullNanos) {
+    return new RateLimitDecision(true, limit, Math.max(0, remaining), ceilSeconds(untilFullNanos), 0);
+  }
+
+  static RateLimitDecision rejected(int limit, long untilFullNanos, long untilNextNanos) {
+    return new RateLimitDecision(false, limit, 0, ceilSeconds(untilFullNanos),
+        Math.max(1, ceilSeconds(untilNextNanos)));
+  }
+
+  private static long ceilSeconds(long nanos) {
+    long second = TimeUnit.SECONDS.toNanos(1);
+    return Math.max(0, (nanos + second - 1) / second);
+  }
+}
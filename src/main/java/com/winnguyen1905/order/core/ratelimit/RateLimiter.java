@@ -0,0 +1,123 @@
+package com.winnguyen1905.order.core.ratelimit;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.winnguyen1905.order.config.RateLimitConfiguration.Group;
+import com.winnguyen1905.order.config.RateLimitConfiguration.Mode;
+import com.winnguyen1905.order.config.RateLimitConfiguration.RateLimitProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token-bucket rate limits per group and caller. Local buckets are lock-free
+ * {@link TokenBucket}s in a size-bounded Caffeine map; idle buckets refill to
+ * full and are dropped after {@code idle-seconds}. In {@link Mode#REDIS} the
+ * same algorithm runs as a Lua script against Redis' clock so every node
+ * shares one budget, and a Redis outage falls back to the local buckets.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+  private static final String KEY_PREFIX = "order:rate-limit:";
+
+  // GCRA against the server clock; returns {allowed, micros until full, micros until next token}
+  private static final RedisScript<List> GCRA_SCRIPT = new DefaultRedisScript<>("""
+      local time = redis.call('TIME')
+      local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+      local interval = tonumber(ARGV[1])
+      local burst = tonumber(ARGV[2])
+      local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+      if tat < now then tat = now end
+      local ahead = tat + interval - now
+      if ahead > burst then
+        return {0, tat - now, ahead - burst}
+      end
+      redis.call('SET', KEYS[1], tat + interval, 'PX', math.ceil(ahead / 1000))
+      return {1, ahead, 0}
+      """, List.class);
+
+  private final RateLimitProperties properties;
+  private final StringRedisTemplate redisTemplate;
+  private final Cache<String, TokenBucket> buckets;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+  private final Counter redisFallbacks;
+
+  public RateLimiter(RateLimitProperties properties, StringRedisTemplate redisTemplate,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.redisTemplate = redisTemplate;
+    this.meterRegistry = meterRegistry;
+    this.buckets = Caffeine.newBuilder()
+        .maximumSize(properties.getMaxKeys())
+        .expireAfterAccess(properties.getIdleSeconds(), TimeUnit.SECONDS)
+        .recordStats()
+        .build();
+    this.redisFallbacks = Counter.builder("order.rate-limit.redis.fallbacks")
+        .description("Checks served by local buckets because Redis was unavailable")
+        .register(meterRegistry);
+    CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate-limit-buckets");
+  }
+
+  /**
+   * Take one token for the caller in the group, or return {@code null} when
+   * the group is not configured.
+   */
+  public RateLimitDecision tryAcquire(String groupName, String callerKey) {
+    Group group = properties.getGroups().get(groupName);
+    if (group == null) {
+      return null;
+    }
+    String key = groupName + ':' + callerKey;
+    RateLimitDecision decision = properties.getMode() == Mode.REDIS
+        ? acquireShared(key, group)
+        : acquireLocal(key, group);
+    if (!decision.allowed()) {
+      rejections.computeIfAbsent(groupName, name -> Counter.builder("order.rate-limit.rejected")
+          .tag("group", name)
+          .register(meterRegistry)).increment();
+    }
+    return decision;
+  }
+
+  private RateLimitDecision acquireLocal(String key, Group group) {
+    return buckets.get(key, k -> new TokenBucket(group.getCapacity(), group.getRefillPerSecond())).tryAcquire();
+  }
+
+  private RateLimitDecision acquireShared(String key, Group group) {
+    long intervalMicros = Math.max(1, (long) (TimeUnit.SECONDS.toMicros(1) / group.getRefillPerSecond()));
+    long burstMicros = intervalMicros * group.getCapacity();
+    try {
+      List<?> result = redisTemplate.execute(GCRA_SCRIPT, List.of(KEY_PREFIX + key),
+          Long.toString(intervalMicros), Long.toString(burstMicros));
+      if (result == null || result.size() < 3) {
+        throw new IllegalStateException("Unexpected rate-limit script result " + result);
+      }
+      long untilFull = TimeUnit.MICROSECONDS.toNanos(((Number) result.get(1)).longValue());
+      if (((Number) result.get(0)).longValue() == 1) {
+        int remaining = (int) ((burstMicros - ((Number) result.get(1)).longValue()) / intervalMicros);
+        return RateLimitDecision.allowed(group.getCapacity(), remaining, untilFull);
+      }
+      return RateLimitDecision.rejected(group.getCapacity(), untilFull,
+          TimeUnit.MICROSECONDS.toNanos(((Number) result.get(2)).longValue()));
+    } catch (Exception e) {
+      log.debug("Redis rate limit unavailable for {}, using local bucket: {}", key, e.getMessage());
+      redisFallbacks.increment();
+      return acquireLocal(key, group);
+    }
+  }
+}
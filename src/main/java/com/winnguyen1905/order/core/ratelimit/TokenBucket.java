@@ -0,0 +1,39 @@
+package com.winnguyen1905.order.core.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket in its GCRA form: the whole state is the theoretical arrival
+ * time of the next request, so taking a token is a single CAS on one
+ * {@link AtomicLong} with no lock and no allocation.
+ */
+public final class TokenBucket {
+
+  private final int capacity;
+  private final long intervalNanos;
+  private final long burstNanos;
+  private final AtomicLong theoreticalArrival;
+
+  public TokenBucket(int capacity, double refillPerSecond) {
+    this.capacity = capacity;
+    this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+    this.burstNanos = intervalNanos * capacity;
+    this.theoreticalArrival = new AtomicLong(System.nanoTime());
+  }
+
+  public RateLimitDecision tryAcquire() {
+    long now = System.nanoTime();
+    for (;;) {
+      long tat = theoreticalArrival.get();
+      long base = Math.max(tat, now);
+      long ahead = base + intervalNanos - now;
+      if (ahead > burstNanos) {
+        return RateLimitDecision.rejected(capacity, base - now, ahead - burstNanos);
+      }
+      if (theoreticalArrival.compareAndSet(tat, base + intervalNanos)) {
+        return RateLimitDecision.allowed(capacity, (int) ((burstNanos - ahead) / intervalNanos), ahead);
+      }
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.winnguyen1905.order.core.replication;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.winnguyen1905.order.core.view.OrderViewProjector;
+import com.winnguyen1905.order.model.response.OrderResponse;
+import com.winnguyen1905.order.persistance.entity.EOrder;
+import com.winnguyen1905.order.persistance.jdbc.OrderBatchWriter;
+import com.winnguyen1905.order.persistance.repository.OrderRepository;
+import com.winnguyen1905.order.secure.RegionPartition;
+import com.winnguyen1905.order.util.Money;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Copies orders created by a fallback region during checkout into the
+ * customer's primary region. The payload is the {@link OrderResponse} the
+ * checkout returned, which holds everything {@code createOrder} writes: the
+ * pending order row and its initial status entry. Orders the target already
+ * has are skipped, so a re-delivered batch inserts nothing twice.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CreateOrderReplicationHandler implements ReplicationHandler {
+
+  public static final String OPERATION = "createOrder";
+  private static final String REPLICATED_REASON = "Order created in a fallback region - replicated";
+
+  private final OrderRepository orderRepository;
+  private final OrderBatchWriter orderBatchWriter;
+  private final OrderViewProjector orderViewProjector;
+
+  @Override
+  public String operation() {
+    return OPERATION;
+  }
+
+  @Override
+  public void apply(RegionPartition targetRegion, List<Object> payloads) {
+    List<OrderResponse> orders = payloads.stream().map(OrderResponse.class::cast).toList();
+    Set<UUID> present = new HashSet<>(orderRepository.findIdsByIdIn(
+        orders.stream().map(OrderResponse::getId).toList()));
+    List<EOrder> missing = orders.stream()
+        .filter(order -> present.add(order.getId()))
+        .map(order -> toEntity(order, targetRegion))
+        .toList();
+    if (missing.isEmpty()) {
+      return;
+    }
+    // Ids and timestamps come from the fallback region, so the JDBC path keeps them as they were
+    orderBatchWriter.insertOrders(missing);
+    orderBatchWriter.insertInitialStatusHistory(missing, REPLICATED_REASON, "SYSTEM");
+    missing.forEach(order -> orderViewProjector.markDirty(order.getId()));
+    log.info("Replicated {} of {} fallback orders to {}", missing.size(), orders.size(), targetRegion);
+  }
+
+  private static EOrder toEntity(OrderResponse order, RegionPartition region) {
+    return EOrder.builder()
+        .id(order.getId())
+        .createdDate(order.getCreatedDate())
+        .updatedDate(order.getUpdatedDate())
+        .customerId(order.getCustomerId())
+        .orderNumber(order.getOrderNumber())
+        .subtotal(Money.fromDouble(order.getSubtotal()))
+        .discountAmount(Money.fromDouble(order.getDiscountAmount()))
+        .taxAmount(Money.fromDouble(order.getTaxAmount()))
+        .shippingAmount(Money.fromDouble(order.getShippingAmount()))
+        .totalAmount(Money.fromDouble(order.getTotalAmount()))
+        .paidAmount(Money.fromDouble(order.getPaidAmount()))
+        .amountToBePaid(Money.fromDouble(order.getAmountToBePaid()))
+        .status(order.getStatus())
+        .shippingAddress(order.getShippingAddress())
+        .billingAddress(order.getBillingAddress())
+        .estimatedDeliveryDate(order.getEstimatedDeliveryDate())
+        .specialInstructions(order.getSpecialInstructions())
+        .region(region)
+        .build();
+  }
+}
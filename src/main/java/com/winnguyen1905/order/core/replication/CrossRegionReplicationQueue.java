@@ -0,0 +1,265 @@
+package com.winnguyen1905.order.core.replication;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winnguyen1905.order.config.RegionalFallbackConfiguration.RegionalFallbackService;
+import com.winnguyen1905.order.core.cache.CrossRegionResultCodec;
+import com.winnguyen1905.order.persistance.entity.ECrossRegionReplication;
+import com.winnguyen1905.order.persistance.repository.CrossRegionReplicationRepository;
+import com.winnguyen1905.order.secure.RegionContextHolder;
+import com.winnguyen1905.order.secure.RegionPartition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durable log of writes served by a fallback region that still have to reach
+ * the customer's primary region. Entries are stored in the region that served
+ * the write, inside the caller's transaction when there is one, and a
+ * scheduled drain applies them per source/target pair in batches once the
+ * target's breaker lets calls through. Failed batches are retried with
+ * jittered exponential backoff.
+ */
+@Slf4j
+@Component
+public class CrossRegionReplicationQueue {
+
+  private final CrossRegionReplicationRepository repository;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate applyTemplate;
+  private final CrossRegionResultCodec codec;
+  private final ObjectProvider<RegionalFallbackService> fallbackService;
+  private final Map<String, ReplicationHandler> handlers;
+  private final int batchSize;
+  private final int maxBatchesPerRun;
+  private final long initialBackoffMillis;
+  private final long maxBackoffMillis;
+  private final Map<RegionPartition, AtomicLong> depth = new EnumMap<>(RegionPartition.class);
+  private final Map<RegionPartition, AtomicLong> lagMillis = new EnumMap<>(RegionPartition.class);
+  private final Counter replicated;
+  private final Counter failedBatches;
+  private final Counter dropped;
+
+  public CrossRegionReplicationQueue(
+      CrossRegionReplicationRepository repository,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper,
+      ObjectProvider<RegionalFallbackService> fallbackService,
+      List<ReplicationHandler> handlers,
+      MeterRegistry meterRegistry,
+      @Value("${order.replication.batch-size:100}") int batchSize,
+      @Value("${order.replication.max-batches-per-run:10}") int maxBatchesPerRun,
+      @Value("${order.replication.initial-backoff-ms:1000}") long initialBackoffMillis,
+      @Value("${order.replication.max-backoff-ms:60000}") long maxBackoffMillis) {
+    this.repository = repository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.applyTemplate = new TransactionTemplate(transactionManager);
+    this.applyTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.codec = new CrossRegionResultCodec(objectMapper);
+    this.fallbackService = fallbackService;
+    if (handlers.isEmpty()) {
+      // Every fallback write would be dropped; refuse to start rather than lose them silently
+      throw new IllegalStateException("No ReplicationHandler registered; fallback writes could not be replicated");
+    }
+    this.handlers = handlers.stream()
+        .collect(Collectors.toMap(ReplicationHandler::operation, Function.identity()));
+    log.info("Replicating fallback writes of {}", this.handlers.keySet());
+    this.batchSize = batchSize;
+    this.maxBatchesPerRun = maxBatchesPerRun;
+    this.initialBackoffMillis = initialBackoffMillis;
+    this.maxBackoffMillis = maxBackoffMillis;
+    this.replicated = Counter.builder("order.replication.applied").register(meterRegistry);
+    this.failedBatches = Counter.builder("order.replication.failed.batches").register(meterRegistry);
+    this.dropped = Counter.builder("order.replication.dropped").register(meterRegistry);
+    for (RegionPartition region : RegionPartition.values()) {
+      AtomicLong regionDepth = new AtomicLong();
+      AtomicLong regionLag = new AtomicLong();
+      depth.put(region, regionDepth);
+      lagMillis.put(region, regionLag);
+      Gauge.builder("order.replication.queue.depth", regionDepth, AtomicLong::get)
+          .tag("target", region.getRegion())
+          .register(meterRegistry);
+      TimeGauge.builder("order.replication.lag", regionLag, TimeUnit.MILLISECONDS, AtomicLong::get)
+          .tag("target", region.getRegion())
+          .description("Age of the oldest entry waiting for the target region")
+          .register(meterRegistry);
+    }
+  }
+
+  /**
+   * Record a fallback result for later replication to the target region.
+   * A write without a {@link ReplicationHandler} cannot be replicated; it is
+   * counted as dropped and logged. Failures are logged rather than thrown:
+   * the write itself already succeeded in the source region.
+   */
+  public void enqueue(RegionPartition sourceRegion, RegionPartition targetRegion, String operation, Object payload) {
+    if (payload == null) {
+      return;
+    }
+    if (!handlers.containsKey(operation)) {
+      dropped.increment();
+      log.error("Dropping {} served by {}: no replication handler, {} will not receive it", operation,
+          sourceRegion, targetRegion);
+      return;
+    }
+    try {
+      ECrossRegionReplication entry = ECrossRegionReplication.builder()
+          .sourceRegion(sourceRegion.name())
+          .targetRegion(targetRegion.name())
+          .operation(operation)
+          .payload(codec.encode(payload, System.currentTimeMillis()))
+          .attempts(0)
+          .nextAttemptAt(Instant.now())
+          .build();
+      inRegion(sourceRegion, () -> transactionTemplate.executeWithoutResult(status -> repository.save(entry)));
+      depth.get(targetRegion).incrementAndGet();
+    } catch (RuntimeException e) {
+      dropped.increment();
+      log.error("Could not queue {} for replication from {} to {}: {}", operation, sourceRegion, targetRegion,
+          e.getMessage());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${order.replication.poll-interval-ms:10000}")
+  public void drain() {
+    Map<RegionPartition, long[]> backlog = new EnumMap<>(RegionPartition.class);
+    for (RegionPartition source : RegionPartition.values()) {
+      if (!isAvailable(source)) {
+        continue;
+      }
+      for (RegionPartition target : RegionPartition.values()) {
+        if (target == source) {
+          continue;
+        }
+        try {
+          inRegion(source, () -> {
+            if (isAvailable(target)) {
+              drainPair(source, target);
+            }
+            accumulateBacklog(source, target, backlog.computeIfAbsent(target, t -> new long[2]));
+          });
+        } catch (RuntimeException e) {
+          log.warn("Replication drain from {} to {} failed: {}", source, target, e.getMessage());
+        }
+      }
+    }
+    backlog.forEach((target, stats) -> {
+      depth.get(target).set(stats[0]);
+      lagMillis.get(target).set(stats[1]);
+    });
+  }
+
+  private void drainPair(RegionPartition source, RegionPartition target) {
+    for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+      Boolean more = transactionTemplate.execute(status -> applyNextBatch(source, target));
+      if (!Boolean.TRUE.equals(more)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Claim and apply one batch; returns {@code true} when the batch was full
+   * and fully applied, so the caller should look for more.
+   */
+  private boolean applyNextBatch(RegionPartition source, RegionPartition target) {
+    List<ECrossRegionReplication> batch = repository
+        .findBySourceRegionAndTargetRegionAndNextAttemptAtLessThanEqualOrderByCreatedDateAsc(
+            source.name(), target.name(), Instant.now(), PageRequest.of(0, batchSize));
+    if (batch.isEmpty()) {
+      return false;
+    }
+
+    Map<String, List<ECrossRegionReplication>> byOperation = new LinkedHashMap<>();
+    batch.forEach(entry -> byOperation.computeIfAbsent(entry.getOperation(), op -> new ArrayList<>()).add(entry));
+
+    for (Map.Entry<String, List<ECrossRegionReplication>> group : byOperation.entrySet()) {
+      List<ECrossRegionReplication> entries = group.getValue();
+      ReplicationHandler handler = handlers.get(group.getKey());
+      if (handler == null) {
+        log.warn("Dropping {} queued {} entries for {}: no replication handler", entries.size(), group.getKey(),
+            target);
+        dropped.increment(entries.size());
+        repository.deleteAllInBatch(entries);
+        continue;
+      }
+      try {
+        List<Object> payloads = entries.stream().map(entry -> codec.decode(entry.getPayload()).value()).toList();
+        // New transaction on the target region's connection; the claim stays open on the source
+        inRegion(target, () -> applyTemplate.executeWithoutResult(status -> handler.apply(target, payloads)));
+        repository.deleteAllInBatch(entries);
+        replicated.increment(entries.size());
+      } catch (RuntimeException e) {
+        failedBatches.increment();
+        reschedule(entries, e);
+        log.warn("Replication of {} {} entries to {} failed, retrying later: {}", entries.size(), group.getKey(),
+            target, e.getMessage());
+        return false;
+      }
+    }
+    return batch.size() == batchSize;
+  }
+
+  private void reschedule(List<ECrossRegionReplication> entries, RuntimeException cause) {
+    Instant now = Instant.now();
+    String error = String.valueOf(cause.getMessage());
+    for (ECrossRegionReplication entry : entries) {
+      int attempts = entry.getAttempts() + 1;
+      entry.setAttempts(attempts);
+      entry.setNextAttemptAt(now.plus(backoff(attempts)));
+      entry.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+    }
+    repository.saveAll(entries);
+  }
+
+  private Duration backoff(int attempts) {
+    long exponential = initialBackoffMillis << Math.min(attempts - 1, 20);
+    long capped = Math.min(maxBackoffMillis, exponential);
+    return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+  }
+
+  private void accumulateBacklog(RegionPartition source, RegionPartition target, long[] stats) {
+    stats[0] += repository.countBySourceRegionAndTargetRegion(source.name(), target.name());
+    repository.findFirstBySourceRegionAndTargetRegionOrderByCreatedDateAsc(source.name(), target.name())
+        .ifPresent(oldest -> stats[1] = Math.max(stats[1],
+            Duration.between(oldest.getCreatedDate(), Instant.now()).toMillis()));
+  }
+
+  private boolean isAvailable(RegionPartition region) {
+    RegionalFallbackService service = fallbackService.getIfAvailable();
+    return service == null || service.isRegionAvailable(region);
+  }
+
+  private static void inRegion(RegionPartition region, Runnable action) {
+    RegionPartition previous = RegionContextHolder.set(region);
+    try {
+      action.run();
+    } finally {
+      RegionContextHolder.restore(previous);
+    }
+  }
+}
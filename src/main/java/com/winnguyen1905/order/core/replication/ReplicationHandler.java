@@ -0,0 +1,18 @@
+package com.winnguyen1905.order.core.replication;
+
+import java.util.List;
+
+import com.winnguyen1905.order.secure.RegionPartition;
+
+/**
+ * Applies queued fallback results of one operation to the region that should
+ * have served them. Implementations are Spring beans; {@link #apply} runs with
+ * database routing pinned to the target region and must be idempotent, since a
+ * batch is re-delivered whole when any part of it fails.
+ */
+public interface ReplicationHandler {
+
+  String operation();
+
+  void apply(RegionPartition targetRegion, List<Object> payloads);
+}
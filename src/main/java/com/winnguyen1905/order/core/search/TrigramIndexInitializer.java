@@ -0,0 +1,108 @@
+package com.winnguyen1905.order.core.search;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.winnguyen1905.order.secure.RegionContextHolder;
+import com.winnguyen1905.order.secure.RegionPartition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the {@code pg_trgm} GIN indexes behind partial order-number search,
+ * and the GIN index behind the order view's vendor filter, in every region's
+ * database once the schema exists. Hibernate cannot declare GIN indexes or
+ * operator classes, so they are created here with idempotent DDL. Plain
+ * tables are indexed {@code CONCURRENTLY} so writes continue meanwhile;
+ * partitioned tables do not support that and are indexed in one statement,
+ * which cascades to their partitions. An index left invalid by an earlier
+ * failed build is dropped and built again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "order.search", name = "trigram-indexes", havingValue = "true", matchIfMissing = true)
+public class TrigramIndexInitializer {
+
+  static final List<GinIndex> INDEXES = List.of(
+      new GinIndex("idx_orders_order_number_trgm", "orders", "order_number gin_trgm_ops"),
+      new GinIndex("idx_order_view_order_number_trgm", "order_view", "order_number gin_trgm_ops"),
+      new GinIndex("idx_vendor_orders_number_trgm", "vendor_orders", "vendor_order_number gin_trgm_ops"),
+      // array_contains on vendor_ids compiles to @>
+      new GinIndex("idx_order_view_vendor_ids", "order_view", "vendor_ids"));
+
+  private static final String RELATION_KIND = "SELECT relkind FROM pg_class WHERE relname = ? AND pg_table_is_visible(oid)";
+  private static final String INDEX_VALID = "SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid"
+      + " WHERE c.relname = ? AND pg_table_is_visible(c.oid)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Counter failures;
+
+  public TrigramIndexInitializer(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.failures = Counter.builder("order.search.index.failures").register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onStartup() {
+    for (RegionPartition region : RegionPartition.values()) {
+      RegionPartition previous = RegionContextHolder.set(region);
+      try {
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        for (GinIndex index : INDEXES) {
+          ensureIndex(region, index);
+        }
+      } catch (RuntimeException e) {
+        // Searches still work without the indexes, only as scans
+        failures.increment();
+        log.error("Could not enable pg_trgm in region {}: {}", region, e.getMessage());
+      } finally {
+        RegionContextHolder.restore(previous);
+      }
+    }
+  }
+
+  private void ensureIndex(RegionPartition region, GinIndex index) {
+    boolean concurrent = false;
+    try {
+      List<String> kind = jdbcTemplate.queryForList(RELATION_KIND, String.class, index.table());
+      if (kind.isEmpty()) {
+        log.debug("Skipping {} in region {}: table {} does not exist", index.name(), region, index.table());
+        return;
+      }
+      concurrent = !"p".equals(kind.get(0));
+      List<Boolean> valid = jdbcTemplate.queryForList(INDEX_VALID, Boolean.class, index.name());
+      if (!valid.isEmpty() && !Boolean.TRUE.equals(valid.get(0))) {
+        // Left by a build that died with the process; IF NOT EXISTS would keep it
+        log.warn("Rebuilding invalid index {} in region {}", index.name(), region);
+        dropQuietly(index);
+      }
+      jdbcTemplate.execute("CREATE INDEX " + (concurrent ? "CONCURRENTLY " : "") + "IF NOT EXISTS " + index.name()
+          + " ON " + index.table() + " USING gin (" + index.key() + ")");
+    } catch (RuntimeException e) {
+      failures.increment();
+      log.error("Could not create index {} in region {}: {}", index.name(), region, e.getMessage());
+      if (concurrent) {
+        // A failed concurrent build leaves an invalid index that IF NOT EXISTS would keep forever
+        dropQuietly(index);
+      }
+    }
+  }
+
+  private void dropQuietly(GinIndex index) {
+    try {
+      jdbcTemplate.execute("DROP INDEX IF EXISTS " + index.name());
+    } catch (RuntimeException e) {
+      log.warn("Could not drop invalid index {}: {}", index.name(), e.getMessage());
+    }
+  }
+
+  record GinIndex(String name, String table, String key) {
+  }
+}
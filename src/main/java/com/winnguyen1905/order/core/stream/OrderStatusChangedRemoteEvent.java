@@ -0,0 +1,28 @@
+package com.winnguyen1905.order.core.stream;
+
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Carries an {@link OrderStatusStreamEvent} to the other order-service nodes
+ * over Spring Cloud Bus so their subscribers see transitions written here.
+ */
+@Getter
+@Setter
+public class OrderStatusChangedRemoteEvent extends RemoteApplicationEvent {
+
+  private OrderStatusStreamEvent event;
+
+  // For JSON deserialization on the receiving node
+  public OrderStatusChangedRemoteEvent() {
+  }
+
+  public OrderStatusChangedRemoteEvent(Object source, String originService, Destination destination,
+      OrderStatusStreamEvent event) {
+    super(source, originService, destination);
+    this.event = event;
+  }
+}
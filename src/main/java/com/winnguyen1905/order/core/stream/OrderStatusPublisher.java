@@ -0,0 +1,127 @@
+package com.winnguyen1905.order.core.stream;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Entry point for status transitions bound for the streams. Events are
+ * released only after the writing transaction commits, delivered to this
+ * node's {@link OrderStatusStreamHub} (and {@link VendorInboxHub} for vendor
+ * orders) directly and to the other order-service nodes over Spring Cloud
+ * Bus. Event ids combine the wall clock with a per-node counter so they
+ * increase on every node and stay roughly ordered across nodes.
+ */
+@Slf4j
+@Component
+public class OrderStatusPublisher {
+
+  private static final int COUNTER_BITS = 20;
+
+  private final OrderStatusStreamHub hub;
+  private final VendorInboxHub vendorInboxHub;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ObjectProvider<BusProperties> busProperties;
+  private final ObjectProvider<Destination.Factory> destinationFactory;
+  private final String applicationName;
+  private final AtomicLong lastId = new AtomicLong();
+  private final Counter published;
+  private final Counter received;
+  private final Counter busFailures;
+
+  public OrderStatusPublisher(
+      OrderStatusStreamHub hub,
+      VendorInboxHub vendorInboxHub,
+      ApplicationEventPublisher eventPublisher,
+      ObjectProvider<BusProperties> busProperties,
+      ObjectProvider<Destination.Factory> destinationFactory,
+      MeterRegistry meterRegistry,
+      @Value("${spring.application.name}") String applicationName) {
+    this.hub = hub;
+    this.vendorInboxHub = vendorInboxHub;
+    this.eventPublisher = eventPublisher;
+    this.busProperties = busProperties;
+    this.destinationFactory = destinationFactory;
+    this.applicationName = applicationName;
+    this.published = Counter.builder("order.status-stream.published")
+        .tag("origin", "local")
+        .register(meterRegistry);
+    this.received = Counter.builder("order.status-stream.published")
+        .tag("origin", "remote")
+        .register(meterRegistry);
+    this.busFailures = Counter.builder("order.status-stream.bus.failures")
+        .register(meterRegistry);
+  }
+
+  public void publish(OrderStatusStreamEvent event) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          dispatch(event);
+        }
+      });
+    } else {
+      dispatch(event);
+    }
+  }
+
+  @EventListener
+  public void onRemoteStatusChange(OrderStatusChangedRemoteEvent remoteEvent) {
+    BusProperties bus = busProperties.getIfAvailable();
+    if (remoteEvent.getEvent() == null || (bus != null && bus.getId().equals(remoteEvent.getOriginService()))) {
+      // Our own events already went to the local hub in dispatch
+      return;
+    }
+    received.increment();
+    deliverLocally(remoteEvent.getEvent());
+  }
+
+  private void dispatch(OrderStatusStreamEvent event) {
+    event.setId(nextId());
+    if (event.getOccurredAt() == null) {
+      event.setOccurredAt(Instant.now());
+    }
+    published.increment();
+    deliverLocally(event);
+
+    BusProperties bus = busProperties.getIfAvailable();
+    Destination.Factory destinations = destinationFactory.getIfAvailable();
+    if (bus == null || destinations == null || !bus.isEnabled()) {
+      return;
+    }
+    try {
+      eventPublisher.publishEvent(new OrderStatusChangedRemoteEvent(this, bus.getId(),
+          destinations.getDestination(applicationName + ":**"), event));
+    } catch (RuntimeException e) {
+      // Subscribers on other nodes miss this transition until they reload the history
+      busFailures.increment();
+      log.warn("Failed to broadcast status change of order {}: {}", event.getOrderId(), e.getMessage());
+    }
+  }
+
+  private void deliverLocally(OrderStatusStreamEvent event) {
+    hub.deliver(event);
+    if (event.getKind() == OrderStatusStreamEvent.Kind.VENDOR_ORDER) {
+      vendorInboxHub.deliver(event);
+    }
+  }
+
+  private long nextId() {
+    long candidate = System.currentTimeMillis() << COUNTER_BITS;
+    return lastId.accumulateAndGet(candidate, (last, next) -> Math.max(last + 1, next));
+  }
+}
@@ -0,0 +1,36 @@
+package com.winnguyen1905.order.core.stream;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A status transition pushed to order and customer streams. {@code id} is
+ * assigned when the event is published and doubles as the SSE event id
+ * clients hand back in {@code Last-Event-ID}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusStreamEvent {
+
+  public enum Kind {
+    ORDER, VENDOR_ORDER
+  }
+
+  private long id;
+  private Kind kind;
+  private UUID orderId;
+  private Long customerId;
+  private UUID vendorOrderId;
+  private Long vendorId;
+  private String oldStatus;
+  private String newStatus;
+  private String reason;
+  private Instant occurredAt;
+}
@@ -0,0 +1,234 @@
+package com.winnguyen1905.order.core.stream;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.winnguyen1905.order.secure.BaseException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process fan-out of status transitions to SSE subscribers, one topic per
+ * order and per customer. Each topic keeps its last few events so a client
+ * reconnecting with {@code Last-Event-ID} gets what it missed; when the gap is
+ * older than that, it receives a {@code resync} event and should reload the
+ * history once. Idle connections get a heartbeat comment so proxies keep them
+ * open.
+ * <p>
+ * Publishing only enqueues: every subscriber is a {@link QueuedSseSubscriber}
+ * drained on a virtual thread, so neither the after-commit thread nor the
+ * heartbeat writes to a connection, and no network I/O happens under a topic
+ * lock. A subscriber whose buffer overflows gets a {@code resync} as well.
+ */
+@Component
+public class OrderStatusStreamHub {
+
+  static final String STATUS_EVENT = "status";
+  static final String RESYNC_EVENT = "resync";
+
+  private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+  private final AtomicInteger subscriberCount = new AtomicInteger();
+  private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+  private final long emitterTimeoutMillis;
+  private final int replaySize;
+  private final int bufferSize;
+  private final long idleTopicMillis;
+  private final int maxSubscribers;
+  private final Counter delivered;
+  private final Counter dropped;
+  private final Counter failedSends;
+
+  public OrderStatusStreamHub(
+      MeterRegistry meterRegistry,
+      @Value("${order.status-stream.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+      @Value("${order.status-stream.replay-size:64}") int replaySize,
+      @Value("${order.status-stream.buffer-size:256}") int bufferSize,
+      @Value("${order.status-stream.idle-topic-ms:600000}") long idleTopicMillis,
+      @Value("${order.status-stream.max-subscribers:10000}") int maxSubscribers) {
+    this.emitterTimeoutMillis = emitterTimeoutMillis;
+    this.replaySize = replaySize;
+    this.bufferSize = bufferSize;
+    this.idleTopicMillis = idleTopicMillis;
+    this.maxSubscribers = maxSubscribers;
+    this.delivered = Counter.builder("order.status-stream.delivered")
+        .description("Events written to subscriber connections")
+        .register(meterRegistry);
+    this.dropped = Counter.builder("order.status-stream.dropped")
+        .description("Events dropped from full subscriber buffers")
+        .register(meterRegistry);
+    this.failedSends = Counter.builder("order.status-stream.send.failures")
+        .register(meterRegistry);
+    Gauge.builder("order.status-stream.subscribers", subscriberCount, AtomicInteger::get)
+        .register(meterRegistry);
+    Gauge.builder("order.status-stream.topics", topics, Map::size)
+        .register(meterRegistry);
+  }
+
+  public static String orderTopic(UUID orderId) {
+    return "order:" + orderId;
+  }
+
+  public static String customerTopic(Long customerId) {
+    return "customer:" + customerId;
+  }
+
+  /**
+   * Open a stream on the topic, first replaying events after
+   * {@code lastEventId} when the client is resuming.
+   */
+  public SseEmitter subscribe(String topicKey, String lastEventId) {
+    if (subscriberCount.incrementAndGet() > maxSubscribers) {
+      subscriberCount.decrementAndGet();
+      throw new BaseException("Too many open status streams, retry later", 503);
+    }
+
+    SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+    QueuedSseSubscriber subscriber = new QueuedSseSubscriber(emitter, senders, bufferSize,
+        lost -> resyncEvent(), delivered, dropped, failedSends);
+    Topic topic = lockableTopic(topicKey);
+    Runnable unsubscribe = () -> {
+      subscriber.close();
+      if (topic.subscribers.remove(subscriber)) {
+        subscriberCount.decrementAndGet();
+      }
+    };
+    emitter.onCompletion(unsubscribe);
+    emitter.onTimeout(unsubscribe);
+    emitter.onError(error -> unsubscribe.run());
+
+    // Replay and registration happen under the topic lock so no event is missed or reordered
+    synchronized (topic) {
+      Long resumeAfter = parseEventId(lastEventId);
+      if (resumeAfter != null) {
+        if (resumeAfter < topic.evictedUpTo) {
+          subscriber.offer(resyncEvent(), false);
+        }
+        for (OrderStatusStreamEvent event : topic.recent) {
+          if (event.getId() > resumeAfter) {
+            subscriber.offer(statusEvent(event), false);
+          }
+        }
+      }
+      topic.subscribers.add(subscriber);
+    }
+    return emitter;
+  }
+
+  /**
+   * Push an event to its order topic and its customer topic.
+   */
+  public void deliver(OrderStatusStreamEvent event) {
+    deliver(orderTopic(event.getOrderId()), event);
+    if (event.getCustomerId() != null) {
+      deliver(customerTopic(event.getCustomerId()), event);
+    }
+  }
+
+  private void deliver(String topicKey, OrderStatusStreamEvent event) {
+    Topic topic = lockableTopic(topicKey);
+    synchronized (topic) {
+      topic.recent.addLast(event);
+      if (topic.recent.size() > replaySize) {
+        topic.evictedUpTo = Math.max(topic.evictedUpTo, topic.recent.removeFirst().getId());
+      }
+      // Enqueued under the lock so subscribers see topic order; nothing here blocks
+      for (QueuedSseSubscriber subscriber : topic.subscribers) {
+        subscriber.offer(statusEvent(event), false);
+      }
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${order.status-stream.heartbeat-ms:15000}")
+  public void heartbeat() {
+    long now = System.currentTimeMillis();
+    Iterator<Map.Entry<String, Topic>> iterator = topics.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Topic topic = iterator.next().getValue();
+      synchronized (topic) {
+        if (topic.subscribers.isEmpty()) {
+          // Keep recent events around for reconnects, then let the topic go
+          if (now - topic.lastActivityMillis > idleTopicMillis) {
+            topic.removed = true;
+            iterator.remove();
+          }
+          continue;
+        }
+      }
+      for (QueuedSseSubscriber subscriber : topic.subscribers) {
+        subscriber.offer(SseEmitter.event().comment("heartbeat"), true);
+      }
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    senders.shutdownNow();
+  }
+
+  /**
+   * The live topic for the key, touched so the idle sweep leaves it alone.
+   * Retries when the sweep removed the topic between lookup and touch.
+   */
+  private Topic lockableTopic(String topicKey) {
+    for (;;) {
+      Topic topic = topics.computeIfAbsent(topicKey, key -> new Topic());
+      synchronized (topic) {
+        if (!topic.removed) {
+          topic.touch();
+          return topic;
+        }
+      }
+    }
+  }
+
+  private static SseEmitter.SseEventBuilder resyncEvent() {
+    return SseEmitter.event().name(RESYNC_EVENT).data("{}", MediaType.APPLICATION_JSON);
+  }
+
+  private static SseEmitter.SseEventBuilder statusEvent(OrderStatusStreamEvent event) {
+    return SseEmitter.event()
+        .id(Long.toString(event.getId()))
+        .name(STATUS_EVENT)
+        .data(event, MediaType.APPLICATION_JSON);
+  }
+
+  private static Long parseEventId(String lastEventId) {
+    if (lastEventId == null || lastEventId.isBlank()) {
+      return null;
+    }
+    try {
+      return Long.parseLong(lastEventId.trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static final class Topic {
+    private final ArrayDeque<OrderStatusStreamEvent> recent = new ArrayDeque<>();
+    private final Set<QueuedSseSubscriber> subscribers = new CopyOnWriteArraySet<>();
+    private long evictedUpTo;
+    private boolean removed;
+    private long lastActivityMillis = System.currentTimeMillis();
+
+    void touch() {
+      lastActivityMillis = System.currentTimeMillis();
+    }
+  }
+}
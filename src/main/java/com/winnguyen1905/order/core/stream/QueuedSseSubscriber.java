@@ -0,0 +1,124 @@
+package com.winnguyen1905.order.core.stream;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One SSE connection behind a bounded queue. Publishers only enqueue; a task
+ * on the senders executor drains the queue while it is non-empty, so network
+ * writes never run on the publisher's thread or under its locks. When a slow
+ * consumer lets the queue fill up the oldest events are dropped, and the next
+ * write starts with the event {@code overflow} builds from the dropped count.
+ */
+@Slf4j
+final class QueuedSseSubscriber {
+
+  private final SseEmitter emitter;
+  private final Executor senders;
+  private final int bufferSize;
+  private final IntFunction<SseEmitter.SseEventBuilder> overflow;
+  private final Counter delivered;
+  private final Counter dropped;
+  private final Counter failedSends;
+  private final ArrayDeque<Item> queue = new ArrayDeque<>();
+  private int droppedSinceLastWrite;
+  private boolean draining;
+  private volatile boolean closed;
+
+  QueuedSseSubscriber(SseEmitter emitter, Executor senders, int bufferSize,
+      IntFunction<SseEmitter.SseEventBuilder> overflow, Counter delivered, Counter dropped, Counter failedSends) {
+    this.emitter = emitter;
+    this.senders = senders;
+    this.bufferSize = Math.max(1, bufferSize);
+    this.overflow = overflow;
+    this.delivered = delivered;
+    this.dropped = dropped;
+    this.failedSends = failedSends;
+  }
+
+  SseEmitter emitter() {
+    return emitter;
+  }
+
+  void close() {
+    synchronized (this) {
+      closed = true;
+      queue.clear();
+    }
+  }
+
+  /**
+   * Queue an event without blocking; heartbeats are skipped rather than
+   * displacing real events when the queue is full.
+   */
+  void offer(SseEmitter.SseEventBuilder event, boolean heartbeat) {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      if (queue.size() >= bufferSize) {
+        if (heartbeat) {
+          return;
+        }
+        if (!queue.removeFirst().heartbeat()) {
+          droppedSinceLastWrite++;
+          dropped.increment();
+        }
+      }
+      queue.addLast(new Item(event, heartbeat));
+      if (draining) {
+        return;
+      }
+      draining = true;
+    }
+    senders.execute(this::drain);
+  }
+
+  private void drain() {
+    for (;;) {
+      Item next;
+      int lost;
+      synchronized (this) {
+        next = queue.pollFirst();
+        lost = droppedSinceLastWrite;
+        droppedSinceLastWrite = 0;
+        if (next == null && lost == 0) {
+          draining = false;
+          return;
+        }
+      }
+      try {
+        if (lost > 0) {
+          emitter.send(overflow.apply(lost));
+        }
+        if (next != null) {
+          emitter.send(next.event());
+          if (!next.heartbeat()) {
+            delivered.increment();
+          }
+        }
+      } catch (IOException | IllegalStateException e) {
+        // Client went away; the emitter's callbacks unsubscribe it
+        failedSends.increment();
+        log.debug("Closing SSE subscriber: {}", e.getMessage());
+        synchronized (this) {
+          closed = true;
+          queue.clear();
+          draining = false;
+        }
+        emitter.completeWithError(e);
+        return;
+      }
+    }
+  }
+
+  private record Item(SseEmitter.SseEventBuilder event, boolean heartbeat) {
+  }
+}
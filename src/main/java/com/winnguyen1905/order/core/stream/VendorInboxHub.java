@@ -0,0 +1,144 @@
+package com.winnguyen1905.order.core.stream;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.winnguyen1905.order.secure.BaseException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes new vendor orders and vendor-order status changes to the vendor's
+ * SSE subscribers. Publishers never write to a connection: each subscriber
+ * has a bounded queue drained by its own virtual thread, and when a slow
+ * consumer lets the queue fill up the oldest events are dropped. The next
+ * write then starts with an {@code overflow} event carrying the number of
+ * dropped events, so the client knows to reload its list once. Open streams
+ * are capped per subscribing account, so no caller can use up a vendor's
+ * connections.
+ */
+@Component
+public class VendorInboxHub {
+
+  static final String INBOX_EVENT = "vendor-order";
+  static final String OVERFLOW_EVENT = "overflow";
+
+  private final Map<Long, Set<QueuedSseSubscriber>> subscribers = new ConcurrentHashMap<>();
+  private final Map<UUID, Integer> openByCaller = new ConcurrentHashMap<>();
+  private final AtomicInteger subscriberCount = new AtomicInteger();
+  private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+  private final long emitterTimeoutMillis;
+  private final int bufferSize;
+  private final int maxSubscribersPerCaller;
+  private final Counter delivered;
+  private final Counter dropped;
+  private final Counter failedSends;
+
+  public VendorInboxHub(
+      MeterRegistry meterRegistry,
+      @Value("${order.vendor-inbox.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+      @Value("${order.vendor-inbox.buffer-size:256}") int bufferSize,
+      @Value("${order.vendor-inbox.max-subscribers-per-caller:16}") int maxSubscribersPerCaller) {
+    this.emitterTimeoutMillis = emitterTimeoutMillis;
+    this.bufferSize = bufferSize;
+    this.maxSubscribersPerCaller = maxSubscribersPerCaller;
+    this.delivered = Counter.builder("order.vendor-inbox.delivered")
+        .register(meterRegistry);
+    this.dropped = Counter.builder("order.vendor-inbox.dropped")
+        .description("Events dropped from full subscriber buffers")
+        .register(meterRegistry);
+    this.failedSends = Counter.builder("order.vendor-inbox.send.failures")
+        .register(meterRegistry);
+    Gauge.builder("order.vendor-inbox.subscribers", subscriberCount, AtomicInteger::get)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Open an inbox stream of {@code vendorId} for the account {@code callerId};
+   * the caller must already be authorized for that vendor.
+   */
+  public SseEmitter subscribe(Long vendorId, UUID callerId) {
+    openByCaller.compute(callerId, (id, open) -> {
+      int count = open != null ? open : 0;
+      if (count >= maxSubscribersPerCaller) {
+        throw new BaseException("Too many open inbox streams", 503);
+      }
+      return count + 1;
+    });
+    SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+    QueuedSseSubscriber subscriber = new QueuedSseSubscriber(emitter, senders, bufferSize,
+        lost -> SseEmitter.event().name(OVERFLOW_EVENT).data(Map.of("dropped", lost), MediaType.APPLICATION_JSON),
+        delivered, dropped, failedSends);
+    // Registered atomically with the map entry so the idle sweep cannot orphan it
+    Set<QueuedSseSubscriber> vendorSubscribers = subscribers.compute(vendorId, (id, existing) -> {
+      Set<QueuedSseSubscriber> set = existing != null ? existing : new CopyOnWriteArraySet<>();
+      set.add(subscriber);
+      return set;
+    });
+    subscriberCount.incrementAndGet();
+
+    Runnable unsubscribe = () -> {
+      subscriber.close();
+      if (vendorSubscribers.remove(subscriber)) {
+        subscriberCount.decrementAndGet();
+        openByCaller.computeIfPresent(callerId, (id, open) -> open > 1 ? open - 1 : null);
+      }
+    };
+    emitter.onCompletion(unsubscribe);
+    emitter.onTimeout(unsubscribe);
+    emitter.onError(error -> unsubscribe.run());
+    return emitter;
+  }
+
+  /**
+   * Queue a vendor-order event for every subscriber of its vendor; never
+   * blocks on the network.
+   */
+  public void deliver(OrderStatusStreamEvent event) {
+    if (event.getVendorId() == null) {
+      return;
+    }
+    Set<QueuedSseSubscriber> vendorSubscribers = subscribers.get(event.getVendorId());
+    if (vendorSubscribers == null || vendorSubscribers.isEmpty()) {
+      return;
+    }
+    for (QueuedSseSubscriber subscriber : vendorSubscribers) {
+      subscriber.offer(SseEmitter.event()
+          .id(Long.toString(event.getId()))
+          .name(INBOX_EVENT)
+          .data(event, MediaType.APPLICATION_JSON), false);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${order.vendor-inbox.heartbeat-ms:15000}")
+  public void heartbeat() {
+    for (Long vendorId : subscribers.keySet()) {
+      subscribers.computeIfPresent(vendorId, (id, set) -> set.isEmpty() ? null : set);
+    }
+    for (Set<QueuedSseSubscriber> vendorSubscribers : subscribers.values()) {
+      for (QueuedSseSubscriber subscriber : vendorSubscribers) {
+        subscriber.offer(SseEmitter.event().comment("heartbeat"), true);
+      }
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    senders.shutdownNow();
+  }
+}
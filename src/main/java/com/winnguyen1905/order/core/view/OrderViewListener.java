@@ -0,0 +1,44 @@
+package com.winnguyen1905.order.core.view;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.winnguyen1905.order.persistance.entity.EOrder;
+import com.winnguyen1905.order.persistance.entity.EOrderItem;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener on orders and order items that marks the owning order dirty
+ * in {@link OrderViewProjector}. Hibernate creates it through Spring's bean
+ * container while the entity manager factory is still being built, so the
+ * projector, which needs repositories, is looked up lazily. JDBC and bulk
+ * JPQL writes bypass it and mark or delete view rows themselves.
+ */
+public class OrderViewListener {
+
+  private final ObjectProvider<OrderViewProjector> projector;
+
+  public OrderViewListener(ObjectProvider<OrderViewProjector> projector) {
+    this.projector = projector;
+  }
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  void onChange(Object entity) {
+    UUID orderId = null;
+    if (entity instanceof EOrder order) {
+      orderId = order.getId();
+    } else if (entity instanceof EOrderItem item && item.getOrder() != null) {
+      orderId = item.getOrder().getId();
+    }
+    if (orderId != null) {
+      UUID dirty = orderId;
+      projector.ifAvailable(p -> p.markDirty(dirty));
+    }
+  }
+}
@@ -0,0 +1,255 @@
+package com.winnguyen1905.order.core.view;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.winnguyen1905.order.persistance.entity.EOrder;
+import com.winnguyen1905.order.persistance.entity.EOrderItem;
+import com.winnguyen1905.order.persistance.entity.EOrderView;
+import com.winnguyen1905.order.persistance.repository.OrderItemRepository;
+import com.winnguyen1905.order.persistance.repository.OrderRepository;
+import com.winnguyen1905.order.persistance.repository.OrderViewRepository;
+import com.winnguyen1905.order.secure.RegionContextHolder;
+import com.winnguyen1905.order.secure.RegionHibernateFilterConfigurer;
+import com.winnguyen1905.order.secure.RegionPartition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains {@code order_view}, the denormalized row per order behind the
+ * list and search reads. Writers mark an order dirty (JPA writes do so
+ * through {@link OrderViewListener}); once the writing transaction commits,
+ * the marked orders are re-read with their items and their rows replaced in
+ * a new transaction, so the view never sees uncommitted state. A periodic
+ * sweep re-projects orders and items changed since the previous sweep in each
+ * region, which repairs rows whose after-commit projection failed. The view's
+ * own {@code projected_at} serves as the durable watermark, so a restart
+ * resumes from the last projection instead of re-projecting every order.
+ */
+@Slf4j
+@Component
+public class OrderViewProjector {
+
+  private static final Comparator<EOrderItem> ITEM_ORDER = Comparator
+      .comparing(EOrderItem::getCreatedDate, Comparator.nullsLast(Comparator.naturalOrder()))
+      .thenComparing(EOrderItem::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+  private final OrderRepository orderRepository;
+  private final OrderItemRepository orderItemRepository;
+  private final OrderViewRepository orderViewRepository;
+  private final RegionHibernateFilterConfigurer regionFilterConfigurer;
+  private final TransactionTemplate readTemplate;
+  private final TransactionTemplate writeTemplate;
+  private final int batchSize;
+  private final Duration watermarkOverlap;
+  private final Duration reconcileInterval;
+  private final Counter projected;
+  private final Counter failures;
+  // Sweep thread only
+  private final Map<RegionPartition, Instant> watermarks = new EnumMap<>(RegionPartition.class);
+
+  public OrderViewProjector(
+      OrderRepository orderRepository,
+      OrderItemRepository orderItemRepository,
+      OrderViewRepository orderViewRepository,
+      RegionHibernateFilterConfigurer regionFilterConfigurer,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${order.read-model.batch-size:500}") int batchSize,
+      @Value("${order.read-model.watermark-overlap-ms:60000}") long watermarkOverlapMillis,
+      @Value("${order.read-model.reconcile-ms:300000}") long reconcileMillis) {
+    this.orderRepository = orderRepository;
+    this.orderItemRepository = orderItemRepository;
+    this.orderViewRepository = orderViewRepository;
+    this.regionFilterConfigurer = regionFilterConfigurer;
+    this.readTemplate = new TransactionTemplate(transactionManager);
+    this.readTemplate.setReadOnly(true);
+    // Also runs from afterCommit, where the finished transaction is still bound
+    this.writeTemplate = new TransactionTemplate(transactionManager);
+    this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.batchSize = batchSize;
+    this.watermarkOverlap = Duration.ofMillis(watermarkOverlapMillis);
+    this.reconcileInterval = Duration.ofMillis(reconcileMillis);
+    this.projected = Counter.builder("order.read-model.projected").register(meterRegistry);
+    this.failures = Counter.builder("order.read-model.failures").register(meterRegistry);
+  }
+
+  /**
+   * Re-project the order after the current transaction commits, or now when
+   * there is none. Orders marked several times in one transaction are
+   * projected once.
+   */
+  public void markDirty(UUID orderId) {
+    if (orderId == null) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      projectQuietly(List.of(orderId));
+      return;
+    }
+    @SuppressWarnings("unchecked")
+    Set<UUID> dirty = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+    if (dirty == null) {
+      Set<UUID> pending = new LinkedHashSet<>();
+      TransactionSynchronizationManager.bindResource(this, pending);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          projectQuietly(pending);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(OrderViewProjector.this);
+        }
+      });
+      dirty = pending;
+    }
+    dirty.add(orderId);
+  }
+
+  /**
+   * Replace the view rows of the given orders in batches; orders that no
+   * longer exist in any region lose their row.
+   */
+  public void project(Collection<UUID> orderIds) {
+    List<UUID> ids = new ArrayList<>(orderIds);
+    for (int from = 0; from < ids.size(); from += batchSize) {
+      List<UUID> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+      // By id across regions: the caller's region filter must not make an order look deleted
+      regionFilterConfigurer.unfiltered(() -> writeTemplate.executeWithoutResult(status -> projectBatch(batch)));
+      projected.increment(batch.size());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${order.read-model.reconcile-ms:300000}",
+      initialDelayString = "${order.read-model.initial-delay-ms:15000}")
+  public void reconcile() {
+    for (RegionPartition region : RegionPartition.values()) {
+      RegionPartition previous = RegionContextHolder.set(region);
+      try {
+        Instant started = Instant.now();
+        Instant watermark = watermarks.computeIfAbsent(region, r -> resumePoint());
+        Instant since = watermark.minus(watermarkOverlap);
+        Set<UUID> changed = new LinkedHashSet<>();
+        readTemplate.executeWithoutResult(status -> {
+          changed.addAll(orderRepository.findIdsChangedSince(since));
+          changed.addAll(orderItemRepository.findOrderIdsChangedSince(since));
+        });
+        project(changed);
+        watermarks.put(region, started);
+        if (!changed.isEmpty()) {
+          log.debug("Re-projected {} orders in region {}", changed.size(), region);
+        }
+      } catch (RuntimeException e) {
+        failures.increment();
+        log.warn("Order view sweep for region {} failed: {}", region, e.getMessage());
+      } finally {
+        RegionContextHolder.restore(previous);
+      }
+    }
+  }
+
+  /**
+   * Where the first sweep after a restart starts: one sweep interval before
+   * the newest projection in the region, so changes whose after-commit
+   * projection failed shortly before the restart are still repaired. An
+   * empty view is projected from the beginning.
+   */
+  private Instant resumePoint() {
+    Instant latest = readTemplate.execute(status -> orderViewRepository.findLatestProjectedAt());
+    return latest != null ? latest.minus(reconcileInterval) : Instant.EPOCH;
+  }
+
+  private void projectQuietly(Collection<UUID> orderIds) {
+    try {
+      project(orderIds);
+    } catch (RuntimeException e) {
+      // The next sweep picks these orders up again
+      failures.increment();
+      log.warn("Projecting {} orders into the order view failed: {}", orderIds.size(), e.getMessage());
+    }
+  }
+
+  private void projectBatch(List<UUID> orderIds) {
+    Instant now = Instant.now();
+    List<EOrder> orders = orderRepository.findAllWithItemsByIdIn(orderIds);
+    List<EOrderView> views = new ArrayList<>(orders.size());
+    Set<UUID> found = new HashSet<>();
+    for (EOrder order : orders) {
+      if (found.add(order.getId())) {
+        views.add(toView(order, now));
+      }
+    }
+    orderViewRepository.saveAll(views);
+
+    List<UUID> missing = orderIds.stream().filter(id -> !found.contains(id)).toList();
+    if (!missing.isEmpty()) {
+      orderViewRepository.deleteAllByIdInBatch(missing);
+    }
+  }
+
+  private static EOrderView toView(EOrder order, Instant now) {
+    List<EOrderItem> items = order.getOrderItems() != null ? new ArrayList<>(order.getOrderItems()) : List.of();
+    int totalQuantity = 0;
+    Set<Long> vendorIds = new TreeSet<>();
+    for (EOrderItem item : items) {
+      totalQuantity += item.getQuantity() != null ? item.getQuantity() : 0;
+      if (item.getVendorId() != null) {
+        vendorIds.add(item.getVendorId());
+      }
+    }
+    EOrderItem first = items.stream().min(ITEM_ORDER).orElse(null);
+
+    return EOrderView.builder()
+        .orderId(order.getId())
+        .region(order.getRegion())
+        .orderNumber(order.getOrderNumber())
+        .customerId(order.getCustomerId())
+        .status(order.getStatus())
+        .subtotal(order.getSubtotal())
+        .discountAmount(order.getDiscountAmount())
+        .taxAmount(order.getTaxAmount())
+        .shippingAmount(order.getShippingAmount())
+        .totalAmount(order.getTotalAmount())
+        .paidAmount(order.getPaidAmount())
+        .amountToBePaid(order.getAmountToBePaid())
+        .estimatedDeliveryDate(order.getEstimatedDeliveryDate())
+        .shippingAddress(order.getShippingAddress())
+        .billingAddress(order.getBillingAddress())
+        .specialInstructions(order.getSpecialInstructions())
+        .itemCount(items.size())
+        .totalQuantity(totalQuantity)
+        .vendorIds(vendorIds.toArray(Long[]::new))
+        .firstItemProductId(first != null ? first.getProductId() : null)
+        .firstItemProductName(first != null ? first.getProductName() : null)
+        .firstItemQuantity(first != null ? first.getQuantity() : null)
+        .firstItemUnitPrice(first != null ? first.getUnitPrice() : 0L)
+        .createdDate(order.getCreatedDate())
+        .updatedDate(order.getUpdatedDate())
+        .projectedAt(now)
+        .build();
+  }
+}
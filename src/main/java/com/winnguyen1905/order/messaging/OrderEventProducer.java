@@ -1,20 +1,48 @@
 package com.winnguyen1905.order.messaging;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winnguyen1905.order.core.journal.EventJournal;
 import com.winnguyen1905.order.model.event.OrderCreatedEvent;
+import com.winnguyen1905.order.secure.BaseException;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Publishes order events to Kafka. When the broker cannot take an event it is
+ * written to the local {@link EventJournal} instead and delivered later by the
+ * {@link OrderEventReplayer}; while the journal holds a backlog, new events
+ * queue behind it so they reach the topic in order.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class OrderEventProducer {
 
   private final KafkaTemplate<String, OrderCreatedEvent> kafkaTemplate;
+  private final EventJournal eventJournal;
+  private final ObjectMapper objectMapper;
+
+  // Delivery callbacks run on the producer's network thread, which must not wait on an fsync
+  private final ExecutorService journalWriter = Executors.newSingleThreadExecutor(
+      Thread.ofPlatform().name("order-event-journal").daemon().factory());
 
   @Value("${topic.name.order.created:order-created}")
   private String orderCreatedTopic;
@@ -23,12 +51,119 @@ public class OrderEventProducer {
     log.info("Publishing OrderCreated event: orderId={}, sagaId={}",
         event.getOrderId(), event.getSagaId());
 
+    if (!eventJournal.isEmpty()) {
+      journal(event);
+      return;
+    }
+
     try {
-      kafkaTemplate.send(orderCreatedTopic, event.getOrderId().toString(), event);
+      send(event);
       log.info("Successfully published OrderCreated event for orderId: {}", event.getOrderId());
     } catch (Exception e) {
-      log.error("Failed to publish OrderCreated event for orderId: {}", event.getOrderId(), e);
-      throw new RuntimeException("Failed to publish order created event", e);
+      log.warn("Broker unavailable, journaling OrderCreated event for orderId: {}: {}",
+          event.getOrderId(), e.getMessage());
+      journal(event);
+    }
+  }
+
+  /**
+   * Enqueue a batch of OrderCreated events without waiting on each send, then
+   * flush once so the producer ships them in as few requests as possible.
+   * Events the broker rejected are journaled. Never throws, because the
+   * orders are already committed when this runs.
+   *
+   * @return ids of the orders whose event was neither sent nor journaled
+   */
+  public Set<UUID> publishOrderCreatedBatch(List<OrderCreatedEvent> events) {
+    log.info("Publishing {} OrderCreated events as one batch", events.size());
+
+    List<CompletableFuture<?>> sends = new ArrayList<>(events.size());
+    if (eventJournal.isEmpty()) {
+      try {
+        for (OrderCreatedEvent event : events) {
+          sends.add(kafkaTemplate.send(orderCreatedTopic, event.getOrderId().toString(), event));
+        }
+        kafkaTemplate.flush();
+      } catch (Exception e) {
+        log.warn("Broker unavailable after {} of {} OrderCreated events, journaling the rest: {}",
+            sends.size(), events.size(), e.getMessage());
+      }
+    }
+
+    Set<UUID> undelivered = new LinkedHashSet<>();
+    for (int i = 0; i < events.size(); i++) {
+      OrderCreatedEvent event = events.get(i);
+      CompletableFuture<?> sent = i < sends.size() ? sends.get(i) : null;
+      if (sent != null && !sent.isDone()) {
+        // The flush was cut short; settle this one when the producer does
+        sent.whenComplete((result, failure) -> {
+          if (failure != null) {
+            journalLater(event);
+          }
+        });
+        continue;
+      }
+      if (sent != null && !sent.isCompletedExceptionally()) {
+        continue;
+      }
+      if (!journalQuietly(event)) {
+        undelivered.add(event.getOrderId());
+      }
+    }
+    if (!undelivered.isEmpty()) {
+      log.error("{} of {} OrderCreated events could neither be sent nor journaled", undelivered.size(),
+          events.size());
+    }
+    return undelivered;
+  }
+
+  private void send(OrderCreatedEvent event) {
+    kafkaTemplate.send(orderCreatedTopic, event.getOrderId().toString(), event)
+        .whenComplete((result, failure) -> {
+          if (failure != null) {
+            // Rejected after the send was accepted, e.g. delivery timeout
+            log.warn("Delivery of OrderCreated event for orderId: {} failed, journaling: {}",
+                event.getOrderId(), failure.getMessage());
+            journalLater(event);
+          }
+        });
+  }
+
+  private void journal(OrderCreatedEvent event) {
+    try {
+      eventJournal.append(orderCreatedTopic, event.getOrderId().toString(), objectMapper.writeValueAsBytes(event));
+    } catch (JsonProcessingException e) {
+      throw new BaseException("Failed to serialize order created event", 500);
+    } catch (BaseException e) {
+      log.error("Failed to publish or journal OrderCreated event for orderId: {}", event.getOrderId(), e);
+      throw e;
+    }
+  }
+
+  private void journalLater(OrderCreatedEvent event) {
+    try {
+      journalWriter.execute(() -> journalQuietly(event));
+    } catch (RejectedExecutionException e) {
+      log.error("OrderCreated event for orderId: {} was lost during shutdown", event.getOrderId());
+    }
+  }
+
+  private boolean journalQuietly(OrderCreatedEvent event) {
+    try {
+      journal(event);
+      return true;
+    } catch (Exception e) {
+      log.error("OrderCreated event for orderId: {} was lost", event.getOrderId(), e);
+      return false;
+    }
+  }
+
+  @PreDestroy
+  void close() throws InterruptedException {
+    // Let pending journal appends finish before the journal itself closes
+    journalWriter.shutdown();
+    if (!journalWriter.awaitTermination(10, TimeUnit.SECONDS)) {
+      log.warn("Journal appends for failed OrderCreated deliveries did not finish before shutdown");
     }
   }
 }
@@ -0,0 +1,109 @@
+package com.winnguyen1905.order.messaging;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winnguyen1905.order.core.journal.EventJournal;
+import com.winnguyen1905.order.core.journal.JournalEntry;
+import com.winnguyen1905.order.model.event.OrderCreatedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers events from the {@link EventJournal} once the broker is reachable
+ * again. Entries are sent one at a time in journal order and acknowledged only
+ * after the broker confirmed them, so a failed send stops the run and the same
+ * entry is retried on the next one. Delivery is at-least-once: a crash between
+ * send and checkpoint resends the entry.
+ */
+@Slf4j
+@Component
+public class OrderEventReplayer {
+
+  private final EventJournal eventJournal;
+  private final KafkaTemplate<String, OrderCreatedEvent> kafkaTemplate;
+  private final ObjectMapper objectMapper;
+  private final int batchSize;
+  private final long sendTimeoutMillis;
+  private final Counter replayed;
+  private final Counter dropped;
+
+  public OrderEventReplayer(
+      EventJournal eventJournal,
+      KafkaTemplate<String, OrderCreatedEvent> kafkaTemplate,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${order.event-journal.replay-batch-size:500}") int batchSize,
+      @Value("${order.event-journal.send-timeout-ms:10000}") long sendTimeoutMillis) {
+    this.eventJournal = eventJournal;
+    this.kafkaTemplate = kafkaTemplate;
+    this.objectMapper = objectMapper;
+    this.batchSize = batchSize;
+    this.sendTimeoutMillis = sendTimeoutMillis;
+    this.replayed = Counter.builder("order.event.journal.replayed")
+        .description("Journaled events delivered to the broker")
+        .register(meterRegistry);
+    this.dropped = Counter.builder("order.event.journal.dropped")
+        .description("Journaled events skipped because they could not be decoded")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${order.event-journal.replay-interval-ms:5000}")
+  public void replay() {
+    if (eventJournal.isEmpty()) {
+      return;
+    }
+
+    long delivered = 0;
+    List<JournalEntry> batch;
+    while (!(batch = eventJournal.poll(batchSize)).isEmpty()) {
+      long lastSent = -1;
+      try {
+        for (JournalEntry entry : batch) {
+          send(entry);
+          lastSent = entry.sequence();
+          delivered++;
+        }
+      } catch (Exception e) {
+        log.warn("Replay of journaled events paused, broker still unavailable: {}", e.getMessage());
+        return;
+      } finally {
+        if (lastSent >= 0) {
+          eventJournal.acknowledge(lastSent);
+        }
+      }
+    }
+
+    if (delivered > 0) {
+      log.info("Replayed {} journaled events, {} still pending", delivered, eventJournal.pending());
+    }
+  }
+
+  private void send(JournalEntry entry) throws Exception {
+    OrderCreatedEvent event;
+    try {
+      event = objectMapper.readValue(entry.value(), OrderCreatedEvent.class);
+    } catch (Exception e) {
+      // An undecodable entry would block the journal forever; skip it loudly
+      log.error("Dropping journaled event {} for key {}: {}", entry.sequence(), entry.key(), e.getMessage());
+      dropped.increment();
+      return;
+    }
+
+    try {
+      kafkaTemplate.send(entry.topic(), entry.key(), event).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw e;
+    }
+    replayed.increment();
+  }
+}
@@ -0,0 +1,28 @@
+package com.winnguyen1905.order.model.request;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import com.winnguyen1905.order.secure.AbstractModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request class for reading many orders (or their items, references or
+ * history) in one call. Duplicate ids are answered once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReadRequest implements AbstractModel {
+
+  @NotEmpty(message = "At least one id is required")
+  @Size(max = 500, message = "A batch may contain at most 500 ids")
+  private List<UUID> ids;
+}
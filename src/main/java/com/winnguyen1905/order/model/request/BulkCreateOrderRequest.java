@@ -0,0 +1,28 @@
+package com.winnguyen1905.order.model.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import com.winnguyen1905.order.secure.AbstractModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request class for creating many orders in one call.
+ * Individual orders are validated by the service so that one bad payload
+ * is reported in the per-order results instead of rejecting the batch.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateOrderRequest implements AbstractModel {
+
+  @NotEmpty(message = "At least one order is required")
+  @Size(max = 500, message = "A batch may contain at most 500 orders")
+  private List<CreateOrderRequest> orders;
+}
@@ -0,0 +1,32 @@
+package com.winnguyen1905.order.model.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response class for batch reads: one result per id found, in request order,
+ * and the ids that do not exist
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReadResponse<T> {
+    private int requested;
+    private int found;
+    private List<Result<T>> results;
+    private List<UUID> missing;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result<T> {
+        private UUID id;
+        private T data;
+    }
+}
@@ -0,0 +1,44 @@
+package com.winnguyen1905.order.model.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response class for bulk order creation with one result per submitted order,
+ * in the same order as the request
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateOrderResponse {
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<Result> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private int index;
+        private boolean success;
+        private UUID orderId;
+        private String orderNumber;
+        private String error;
+
+        public static Result success(int index, UUID orderId, String orderNumber) {
+            return new Result(index, true, orderId, orderNumber, null);
+        }
+
+        public static Result failure(int index, String error) {
+            return new Result(index, false, null, null, error);
+        }
+    }
+}
@@ -33,6 +33,9 @@ public class OrderResponse {
     private LocalDate estimatedDeliveryDate;
     private String specialInstructions;
     private List<OrderItemResponse> orderItems;
+    // Set by list views; with summary=true they leave orderItems null
+    private Integer itemCount;
+    private OrderItemResponse firstItem;
     private Instant createdDate;
     private Instant updatedDate;
 } 
@@ -0,0 +1,47 @@
+package com.winnguyen1905.order.model.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sketch-based customer, product and order-value metrics for a vendor or the
+ * whole platform; counts and quantiles are estimates
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendorAudienceMetricsResponse {
+    private Long vendorId; // null for the whole platform
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int daysCovered;
+    
+    // Order statistics
+    private long totalOrders;
+    private double medianOrderValue;
+    private double p90OrderValue;
+    private double p99OrderValue;
+    
+    // Customer metrics
+    private long estimatedUniqueCustomers;
+    
+    // Product metrics
+    private List<ProductEstimate> topProducts;
+    
+    /**
+     * Inner class for heavy-hitter product estimates
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProductEstimate {
+        private Long productId;
+        private long estimatedQuantity;
+    }
+}
@@ -0,0 +1,26 @@
+package com.winnguyen1905.order.persistance.converter;
+
+import java.math.BigDecimal;
+
+import com.winnguyen1905.order.util.Money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a minor-unit {@code long} amount in a {@code DECIMAL(10,2)} column.
+ * A {@code NULL} column reads as zero.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Long, BigDecimal> {
+
+  @Override
+  public BigDecimal convertToDatabaseColumn(Long minor) {
+    return Money.toDecimal(minor != null ? minor : 0L);
+  }
+
+  @Override
+  public Long convertToEntityAttribute(BigDecimal amount) {
+    return Money.fromDecimal(amount);
+  }
+}
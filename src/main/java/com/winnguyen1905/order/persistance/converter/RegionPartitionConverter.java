@@ -0,0 +1,24 @@
+package com.winnguyen1905.order.persistance.converter;
+
+import com.winnguyen1905.order.secure.RegionPartition;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link RegionPartition} as its lower-case region code, the same
+ * value the region filter and the JWT {@code region} claim use.
+ */
+@Converter
+public class RegionPartitionConverter implements AttributeConverter<RegionPartition, String> {
+
+  @Override
+  public String convertToDatabaseColumn(RegionPartition region) {
+    return region != null ? region.getCode() : null;
+  }
+
+  @Override
+  public RegionPartition convertToEntityAttribute(String code) {
+    return code != null ? RegionPartition.fromCode(code) : null;
+  }
+}
@@ -0,0 +1,47 @@
+package com.winnguyen1905.order.persistance.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Pending write made in a fallback region that still has to be applied to the
+ * customer's primary region. Rows live in the region that served the write
+ * and are deleted once the target region has accepted them.
+ */
+@Getter
+@Setter
+@Entity
+@SuperBuilder
+@Table(name = "cross_region_replication", indexes = {
+    @Index(name = "idx_replication_target_due", columnList = "target_region, next_attempt_at"),
+    @Index(name = "idx_replication_target_created", columnList = "target_region, created_date")
+})
+public class ECrossRegionReplication extends EBaseAudit {
+  @Column(name = "source_region", nullable = false, length = 16)
+  private String sourceRegion;
+
+  @Column(name = "target_region", nullable = false, length = 16)
+  private String targetRegion;
+
+  @Column(name = "operation", nullable = false, length = 100)
+  private String operation;
+
+  @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+  private String payload;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private Instant nextAttemptAt;
+
+  @Column(name = "last_error", length = 1000)
+  private String lastError;
+}
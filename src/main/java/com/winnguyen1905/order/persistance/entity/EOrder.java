@@ -3,12 +3,21 @@ package com.winnguyen1905.order.persistance.entity;
 import java.time.LocalDate;
 import java.util.List;
 
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
+
 import com.winnguyen1905.order.common.constant.OrderStatus;
+import com.winnguyen1905.order.core.view.OrderViewListener;
+import com.winnguyen1905.order.persistance.converter.MoneyConverter;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.Getter;
@@ -19,34 +28,50 @@ import lombok.experimental.SuperBuilder;
 @Setter
 @Entity
 @SuperBuilder
-@Table(name = "orders")
-public class EOrder extends EBaseAudit {
+@FilterDef(name = ERegionScoped.REGION_FILTER, defaultCondition = "region = :region",
+    parameters = @ParamDef(name = ERegionScoped.REGION_PARAMETER, type = String.class))
+@Filter(name = ERegionScoped.REGION_FILTER)
+@EntityListeners(OrderViewListener.class)
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_region_customer", columnList = "region, customer_id, created_date"),
+    @Index(name = "idx_orders_region_status", columnList = "region, status, created_date"),
+    @Index(name = "idx_orders_region_updated", columnList = "region, updated_date")
+})
+public class EOrder extends ERegionScoped {
   @Column(name = "customer_id", nullable = false)
   private Long customerId;
 
   @Column(name = "order_number", nullable = false, unique = true)
   private String orderNumber;
 
-  @Column(name = "subtotal", nullable = false)
-  private Double subtotal;
+  // Amounts are minor units (cents); see Money
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "subtotal", nullable = false, precision = 10, scale = 2)
+  private long subtotal;
 
-  @Column(name = "discount_amount", nullable = false)
-  private Double discountAmount;
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "discount_amount", nullable = false, precision = 10, scale = 2)
+  private long discountAmount;
 
-  @Column(name = "tax_amount", nullable = false)
-  private Double taxAmount;
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "tax_amount", nullable = false, precision = 10, scale = 2)
+  private long taxAmount;
 
-  @Column(name = "shipping_amount", nullable = false)
-  private Double shippingAmount;
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "shipping_amount", nullable = false, precision = 10, scale = 2)
+  private long shippingAmount;
 
-  @Column(name = "total_amount", nullable = false)
-  private Double totalAmount;
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
+  private long totalAmount;
 
-  @Column(name = "paid_amount", nullable = false)
-  private Double paidAmount;
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "paid_amount", nullable = false, precision = 10, scale = 2)
+  private long paidAmount;
 
-  @Column(name = "amount_to_be_paid", nullable = false)
-  private Double amountToBePaid;
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "amount_to_be_paid", nullable = false, precision = 10, scale = 2)
+  private long amountToBePaid;
 
   @Enumerated(EnumType.STRING)
   @Column(name = "status")
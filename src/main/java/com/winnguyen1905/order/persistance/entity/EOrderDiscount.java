@@ -1,12 +1,17 @@
 package com.winnguyen1905.order.persistance.entity;
 
+import org.hibernate.annotations.Filter;
+
 import com.winnguyen1905.order.common.constant.DiscountAppliesTo;
 import com.winnguyen1905.order.common.constant.DiscountType;
+import com.winnguyen1905.order.persistance.converter.MoneyConverter;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -18,8 +23,11 @@ import lombok.experimental.SuperBuilder;
 @Setter
 @Entity
 @SuperBuilder
-@Table(name = "order_discounts")
-public class EOrderDiscount extends EBaseAudit {
+@Filter(name = ERegionScoped.REGION_FILTER)
+@Table(name = "order_discounts", indexes = {
+    @Index(name = "idx_order_discounts_region_order", columnList = "region, order_id")
+})
+public class EOrderDiscount extends ERegionScoped {
   @ManyToOne
   @JoinColumn(name = "order_id", nullable = false)
   private EOrder order;
@@ -37,12 +45,18 @@ public class EOrderDiscount extends EBaseAudit {
   @Column(name = "discount_value", nullable = false)
   private Double discountValue;
 
-  @Column(name = "discount_amount", nullable = false)
-  private Double discountAmount;
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "discount_amount", nullable = false, precision = 10, scale = 2)
+  private long discountAmount;
 
   @Enumerated(EnumType.STRING)
   @Column(name = "applies_to")
   private DiscountAppliesTo appliesTo;
 
   // applied_at handled by EBaseAudit.createdDate
+
+  @Override
+  protected ERegionScoped regionParent() {
+    return order;
+  }
 }
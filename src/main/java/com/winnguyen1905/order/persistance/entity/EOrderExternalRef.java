@@ -1,7 +1,10 @@
 package com.winnguyen1905.order.persistance.entity;
 
+import org.hibernate.annotations.Filter;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -13,8 +16,12 @@ import lombok.experimental.SuperBuilder;
 @Setter
 @Entity
 @SuperBuilder
-@Table(name = "order_external_refs")
-public class EOrderExternalRef extends EBaseAudit {
+@Filter(name = ERegionScoped.REGION_FILTER)
+@Table(name = "order_external_refs", indexes = {
+    @Index(name = "idx_order_external_refs_region_order", columnList = "region, order_id"),
+    @Index(name = "idx_order_external_refs_region_external", columnList = "region, service_name, external_id")
+})
+public class EOrderExternalRef extends ERegionScoped {
   @ManyToOne
   @JoinColumn(name = "order_id", nullable = false)
   private EOrder order;
@@ -32,4 +39,9 @@ public class EOrderExternalRef extends EBaseAudit {
   private String status;
 
   // created_at, updated_at handled by EBaseAudit
+
+  @Override
+  protected ERegionScoped regionParent() {
+    return order;
+  }
 }
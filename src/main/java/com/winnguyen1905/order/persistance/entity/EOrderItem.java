@@ -2,12 +2,19 @@ package com.winnguyen1905.order.persistance.entity;
 
 import java.util.UUID;
 
+import org.hibernate.annotations.Filter;
+
 import com.winnguyen1905.order.common.constant.OrderItemStatus;
+import com.winnguyen1905.order.core.view.OrderViewListener;
+import com.winnguyen1905.order.persistance.converter.MoneyConverter;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -19,8 +26,15 @@ import lombok.experimental.SuperBuilder;
 @Setter
 @Entity
 @SuperBuilder
-@Table(name = "order_items")
-public class EOrderItem extends EBaseAudit {
+@Filter(name = ERegionScoped.REGION_FILTER)
+@EntityListeners(OrderViewListener.class)
+@Table(name = "order_items", indexes = {
+    @Index(name = "idx_order_items_region_order", columnList = "region, order_id"),
+    @Index(name = "idx_order_items_region_vendor", columnList = "region, vendor_id"),
+    @Index(name = "idx_order_items_region_created", columnList = "region, created_date"),
+    @Index(name = "idx_order_items_region_updated", columnList = "region, updated_date")
+})
+public class EOrderItem extends ERegionScoped {
     @ManyToOne
     @JoinColumn(name = "order_id", nullable = false)
     private EOrder order;
@@ -43,11 +57,13 @@ public class EOrderItem extends EBaseAudit {
     @Column(name = "quantity", nullable = false)
     private Integer quantity;
 
-    @Column(name = "unit_price", nullable = false)
-    private Double unitPrice;
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
+    private long unitPrice;
 
-    @Column(name = "total_price", nullable = false)
-    private Double totalPrice;
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "total_price", nullable = false, precision = 10, scale = 2)
+    private long totalPrice;
 
     @Column(name = "weight")
     private Double weight;
@@ -61,4 +77,9 @@ public class EOrderItem extends EBaseAudit {
     @Enumerated(EnumType.STRING)
     @Column(name = "status")
     private OrderItemStatus status;
+
+    @Override
+    protected ERegionScoped regionParent() {
+        return order;
+    }
 }
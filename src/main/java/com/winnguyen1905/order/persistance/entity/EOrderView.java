@@ -0,0 +1,146 @@
+package com.winnguyen1905.order.persistance.entity;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.winnguyen1905.order.common.constant.OrderStatus;
+import com.winnguyen1905.order.persistance.converter.MoneyConverter;
+import com.winnguyen1905.order.persistance.converter.RegionPartitionConverter;
+import com.winnguyen1905.order.secure.RegionPartition;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Denormalized list row for one order, written by {@code OrderViewProjector}
+ * whenever the order or its items change. List and search reads page over
+ * this table alone; the indexes lead with region and the filter column and
+ * end with {@code created_date}, so the default newest-first order is read
+ * straight from the index. {@code vendor_ids} is served by a GIN index that
+ * {@code TrigramIndexInitializer} creates, since Hibernate cannot declare
+ * one. Keyed by the order id and never written by the request path.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Filter(name = ERegionScoped.REGION_FILTER)
+@Table(name = "order_view", indexes = {
+    @Index(name = "idx_order_view_region_created", columnList = "region, created_date"),
+    @Index(name = "idx_order_view_region_customer", columnList = "region, customer_id, created_date"),
+    @Index(name = "idx_order_view_region_status", columnList = "region, status, created_date"),
+    @Index(name = "idx_order_view_order_number", columnList = "order_number"),
+    @Index(name = "idx_order_view_region_projected", columnList = "region, projected_at")
+})
+public class EOrderView {
+  @Id
+  @Column(name = "order_id")
+  private UUID orderId;
+
+  @Convert(converter = RegionPartitionConverter.class)
+  @Column(name = "region", nullable = false, length = 16)
+  private RegionPartition region;
+
+  @Column(name = "order_number", nullable = false)
+  private String orderNumber;
+
+  @Column(name = "customer_id", nullable = false)
+  private Long customerId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status")
+  private OrderStatus status;
+
+  // Amounts are minor units (cents); see Money
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "subtotal", nullable = false, precision = 10, scale = 2)
+  private long subtotal;
+
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "discount_amount", nullable = false, precision = 10, scale = 2)
+  private long discountAmount;
+
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "tax_amount", nullable = false, precision = 10, scale = 2)
+  private long taxAmount;
+
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "shipping_amount", nullable = false, precision = 10, scale = 2)
+  private long shippingAmount;
+
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
+  private long totalAmount;
+
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "paid_amount", nullable = false, precision = 10, scale = 2)
+  private long paidAmount;
+
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "amount_to_be_paid", nullable = false, precision = 10, scale = 2)
+  private long amountToBePaid;
+
+  @Column(name = "estimated_delivery_date")
+  private LocalDate estimatedDeliveryDate;
+
+  @Column(name = "shipping_address", columnDefinition = "json")
+  private String shippingAddress;
+
+  @Column(name = "billing_address", columnDefinition = "json")
+  private String billingAddress;
+
+  @Column(name = "special_instructions")
+  private String specialInstructions;
+
+  @Column(name = "item_count", nullable = false)
+  private int itemCount;
+
+  @Column(name = "total_quantity", nullable = false)
+  private int totalQuantity;
+
+  // Distinct, ascending
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "vendor_ids", nullable = false)
+  private Long[] vendorIds;
+
+  // Preview of the order's earliest item
+  @Column(name = "first_item_product_id")
+  private Long firstItemProductId;
+
+  @Column(name = "first_item_product_name")
+  private String firstItemProductName;
+
+  @Column(name = "first_item_quantity")
+  private Integer firstItemQuantity;
+
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "first_item_unit_price", precision = 10, scale = 2)
+  private long firstItemUnitPrice;
+
+  @Column(name = "created_date", nullable = false)
+  private Instant createdDate;
+
+  @Column(name = "updated_date")
+  private Instant updatedDate;
+
+  @Column(name = "projected_at", nullable = false)
+  private Instant projectedAt;
+}
@@ -0,0 +1,53 @@
+package com.winnguyen1905.order.persistance.entity;
+
+import com.winnguyen1905.order.persistance.converter.RegionPartitionConverter;
+import com.winnguyen1905.order.secure.RegionContextHolder;
+import com.winnguyen1905.order.secure.RegionPartition;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Base for the order aggregate's tables, which are partitioned by customer
+ * region. Each row carries its region so the {@value #REGION_FILTER} filter
+ * and the region-leading indexes can restrict queries to one region's slice.
+ * Children inherit the region of their order.
+ */
+@Getter
+@Setter
+@SuperBuilder
+@MappedSuperclass
+public abstract class ERegionScoped extends EBaseAudit {
+  public static final String REGION_FILTER = "regionFilter";
+  public static final String REGION_PARAMETER = "region";
+
+  @Convert(converter = RegionPartitionConverter.class)
+  @Column(name = "region", nullable = false, length = 16)
+  private RegionPartition region;
+
+  /**
+   * Row whose region this one follows, or {@code null} for the aggregate root
+   */
+  protected ERegionScoped regionParent() {
+    return null;
+  }
+
+  @PrePersist
+  protected void assignRegion() {
+    if (region != null) {
+      return;
+    }
+    ERegionScoped parent = regionParent();
+    if (parent != null && parent.getRegion() != null) {
+      region = parent.getRegion();
+    } else {
+      RegionPartition current = RegionContextHolder.get();
+      region = current != null ? current : RegionPartition.US;
+    }
+  }
+}
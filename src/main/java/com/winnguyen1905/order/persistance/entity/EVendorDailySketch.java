@@ -0,0 +1,48 @@
+package com.winnguyen1905.order.persistance.entity;
+
+import java.time.LocalDate;
+
+import org.hibernate.annotations.Filter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * One vendor's sketches for one day, as written by
+ * {@code VendorSketchJob}: unique customers (HyperLogLog), product quantities
+ * (Count-Min with heavy-hitter candidates) and vendor-order values
+ * (t-digest). Blobs are merged across days when a range is queried.
+ */
+@Getter
+@Setter
+@Entity
+@SuperBuilder
+@Filter(name = ERegionScoped.REGION_FILTER)
+@Table(name = "vendor_daily_sketches", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_vendor_daily_sketches_region_day_vendor",
+        columnNames = { "region", "sketch_date", "vendor_id" })
+})
+public class EVendorDailySketch extends ERegionScoped {
+  @Column(name = "vendor_id", nullable = false)
+  private Long vendorId;
+
+  @Column(name = "sketch_date", nullable = false)
+  private LocalDate sketchDate;
+
+  @Column(name = "order_count", nullable = false)
+  private long orderCount;
+
+  @Column(name = "customers", nullable = false, columnDefinition = "BYTEA")
+  private byte[] customers;
+
+  @Column(name = "products", nullable = false, columnDefinition = "BYTEA")
+  private byte[] products;
+
+  @Column(name = "order_values", nullable = false, columnDefinition = "BYTEA")
+  private byte[] orderValues;
+}
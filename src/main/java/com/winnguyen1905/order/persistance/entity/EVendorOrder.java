@@ -1,11 +1,19 @@
 package com.winnguyen1905.order.persistance.entity;
 
+import java.time.Instant;
+import java.time.LocalDate;
+
+import org.hibernate.annotations.Filter;
+
 import com.winnguyen1905.order.common.constant.VendorOrderStatus;
+import com.winnguyen1905.order.persistance.converter.MoneyConverter;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -17,8 +25,13 @@ import lombok.experimental.SuperBuilder;
 @Setter
 @Entity
 @SuperBuilder
-@Table(name = "vendor_orders")
-public class EVendorOrder extends EBaseAudit {
+@Filter(name = ERegionScoped.REGION_FILTER)
+@Table(name = "vendor_orders", indexes = {
+    @Index(name = "idx_vendor_orders_region_vendor", columnList = "region, vendor_id, created_date"),
+    @Index(name = "idx_vendor_orders_region_order", columnList = "region, order_id"),
+    @Index(name = "idx_vendor_orders_region_updated", columnList = "region, updated_date")
+})
+public class EVendorOrder extends ERegionScoped {
   @ManyToOne
   @JoinColumn(name = "order_id", nullable = false)
   private EOrder order;
@@ -29,21 +42,46 @@ public class EVendorOrder extends EBaseAudit {
   @Column(name = "vendor_order_number", nullable = false, unique = true)
   private String vendorOrderNumber;
 
-  @Column(name = "subtotal", nullable = false)
-  private Double subtotal;
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "subtotal", nullable = false, precision = 10, scale = 2)
+  private long subtotal;
 
   @Column(name = "commission_rate", nullable = false)
   private Double commissionRate;
 
-  @Column(name = "commission_amount", nullable = false)
-  private Double commissionAmount;
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "commission_amount", nullable = false, precision = 10, scale = 2)
+  private long commissionAmount;
 
-  @Column(name = "vendor_payout", nullable = false)
-  private Double vendorPayout;
+  @Convert(converter = MoneyConverter.class)
+  @Column(name = "vendor_payout", nullable = false, precision = 10, scale = 2)
+  private long vendorPayout;
 
   @Enumerated(EnumType.STRING)
   @Column(name = "status", nullable = false)
   private VendorOrderStatus status;
 
+  // Transition timestamps, stamped once when the status is first reached
+  @Column(name = "accepted_at")
+  private Instant acceptedAt;
+
+  @Column(name = "shipped_at")
+  private Instant shippedAt;
+
+  @Column(name = "delivered_at")
+  private Instant deliveredAt;
+
+  @Column(name = "cancelled_at")
+  private Instant cancelledAt;
+
+  // Ship-by date the vendor committed to when accepting
+  @Column(name = "promised_ship_date")
+  private LocalDate promisedShipDate;
+
   // created_at, updated_at handled by EBaseAudit
+
+  @Override
+  protected ERegionScoped regionParent() {
+    return order;
+  }
 }
@@ -0,0 +1,35 @@
+package com.winnguyen1905.order.persistance.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import com.winnguyen1905.order.persistance.entity.ECrossRegionReplication;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface CrossRegionReplicationRepository extends JpaRepository<ECrossRegionReplication, UUID> {
+
+  /**
+   * Claim the oldest due entries for one region pair; rows locked by another
+   * node's drain are skipped instead of waited on (lock timeout -2 is SKIP LOCKED).
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  List<ECrossRegionReplication> findBySourceRegionAndTargetRegionAndNextAttemptAtLessThanEqualOrderByCreatedDateAsc(
+      String sourceRegion, String targetRegion, Instant now, Pageable pageable);
+
+  long countBySourceRegionAndTargetRegion(String sourceRegion, String targetRegion);
+
+  Optional<ECrossRegionReplication> findFirstBySourceRegionAndTargetRegionOrderByCreatedDateAsc(
+      String sourceRegion, String targetRegion);
+}
@@ -1,10 +1,55 @@
 package com.winnguyen1905.order.persistance.repository;
 
+import com.winnguyen1905.order.core.analytics.SnapshotItemRow;
 import com.winnguyen1905.order.persistance.entity.EOrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<EOrderItem, UUID> {
-} 
+
+  @Query("select i.order.id from EOrderItem i where i.id = :id")
+  Optional<UUID> findOrderIdById(@Param("id") UUID id);
+
+  /**
+   * Items created since {@code from} and changed after {@code since}, in
+   * snapshot order
+   */
+  @Query("select new com.winnguyen1905.order.core.analytics.SnapshotItemRow("
+      + "i.id, i.vendorId, i.productId, i.productName, i.productCategory, i.quantity, i.totalPrice, "
+      + "i.createdDate, i.updatedDate, o.id) "
+      + "from EOrderItem i join i.order o "
+      + "where i.createdDate >= :from and i.updatedDate > :since "
+      + "order by i.vendorId, i.createdDate")
+  List<SnapshotItemRow> findSnapshotRows(@Param("from") Instant from, @Param("since") Instant since);
+
+  @Query("select new com.winnguyen1905.order.core.analytics.SnapshotItemRow("
+      + "i.id, i.vendorId, i.productId, i.productName, i.productCategory, i.quantity, i.totalPrice, "
+      + "i.createdDate, i.updatedDate, o.id) "
+      + "from EOrderItem i join i.order o "
+      + "where i.vendorId = :vendorId and i.createdDate >= :from and i.createdDate <= :to "
+      + "order by i.createdDate")
+  List<SnapshotItemRow> findVendorSnapshotRows(@Param("vendorId") Long vendorId,
+      @Param("from") Instant from, @Param("to") Instant to);
+
+  @Query("select new com.winnguyen1905.order.core.analytics.SnapshotItemRow("
+      + "i.id, i.vendorId, i.productId, i.productName, i.productCategory, i.quantity, i.totalPrice, "
+      + "i.createdDate, i.updatedDate, o.id) "
+      + "from EOrderItem i join i.order o "
+      + "where i.createdDate >= :from and i.createdDate < :to")
+  List<SnapshotItemRow> findSnapshotRowsCreatedIn(@Param("from") Instant from, @Param("to") Instant to);
+
+  // The order is eager; fetching it in the same query avoids one select per order
+  @Query("select i from EOrderItem i join fetch i.order o where o.id in :orderIds order by i.createdDate, i.id")
+  List<EOrderItem> findByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
+
+  @Query("select distinct i.order.id from EOrderItem i where i.updatedDate > :since")
+  List<UUID> findOrderIdsChangedSince(@Param("since") Instant since);
+}
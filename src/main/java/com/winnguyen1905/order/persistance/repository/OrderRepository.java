@@ -1,10 +1,53 @@
 package com.winnguyen1905.order.persistance.repository;
 
+import com.winnguyen1905.order.common.constant.OrderStatus;
 import com.winnguyen1905.order.persistance.entity.EOrder;
+
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface OrderRepository extends JpaRepository<EOrder, UUID> {
+
+  @Query("select o.id from EOrder o where o.updatedDate > :since")
+  List<UUID> findIdsChangedSince(@Param("since") Instant since);
+
+  @Query("select o.id from EOrder o where o.id in :ids")
+  List<UUID> findIdsByIdIn(@Param("ids") Collection<UUID> ids);
+
+  List<EOrder> findByStatusInAndUpdatedDateBefore(Collection<OrderStatus> statuses, Instant cutoff, Pageable pageable);
+
+  /**
+   * Lock the given orders that are still terminal and untouched since the
+   * cutoff, so archival never deletes an order that changed after its snapshot
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select o from EOrder o where o.id in :ids and o.status in :statuses and o.updatedDate < :cutoff")
+  List<EOrder> lockArchivable(@Param("ids") Collection<UUID> ids, @Param("statuses") Collection<OrderStatus> statuses,
+      @Param("cutoff") Instant cutoff);
+
+  /**
+   * Load the given orders and one child collection in one query, for batch
+   * reads; the children's back-reference resolves to the fetched order and
+   * Hibernate de-duplicates the root rows
+   */
+  @Query("select o from EOrder o left join fetch o.orderItems where o.id in :ids")
+  List<EOrder> findAllWithItemsByIdIn(@Param("ids") Collection<UUID> ids);
+
+  @Query("select o from EOrder o left join fetch o.externalRefs where o.id in :ids")
+  List<EOrder> findAllWithExternalRefsByIdIn(@Param("ids") Collection<UUID> ids);
+
+  @Query("select o from EOrder o left join fetch o.statusHistories h where o.id in :ids order by h.createdDate asc")
+  List<EOrder> findAllWithStatusHistoriesByIdIn(@Param("ids") Collection<UUID> ids);
 } 
@@ -0,0 +1,49 @@
+package com.winnguyen1905.order.persistance.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.winnguyen1905.order.common.constant.OrderStatus;
+import com.winnguyen1905.order.persistance.entity.EOrderView;
+
+/**
+ * Read side of the order list views; rows are written only by
+ * {@code OrderViewProjector}
+ */
+@Repository
+public interface OrderViewRepository extends JpaRepository<EOrderView, UUID> {
+
+  @Query("select max(v.projectedAt) from EOrderView v")
+  Instant findLatestProjectedAt();
+
+  Page<EOrderView> findByCustomerId(Long customerId, Pageable pageable);
+
+  Page<EOrderView> findByStatus(OrderStatus status, Pageable pageable);
+
+  @Query("select v from EOrderView v where array_contains(v.vendorIds, :vendorId)")
+  Page<EOrderView> findByVendorId(@Param("vendorId") Long vendorId, Pageable pageable);
+
+  /**
+   * Every filter is optional; {@code orderNumberPattern} comes from
+   * {@code SearchPatterns.contains}, {@code to} is exclusive and amounts are
+   * minor units
+   */
+  @Query("select v from EOrderView v "
+      + "where (:customerId is null or v.customerId = :customerId) "
+      + "and (:orderNumberPattern is null or v.orderNumber like :orderNumberPattern escape '!') "
+      + "and (:status is null or v.status = :status) "
+      + "and (:from is null or v.createdDate >= :from) "
+      + "and (:to is null or v.createdDate < :to) "
+      + "and (:minAmount is null or v.totalAmount >= :minAmount) "
+      + "and (:maxAmount is null or v.totalAmount <= :maxAmount)")
+  Page<EOrderView> search(@Param("customerId") Long customerId, @Param("orderNumberPattern") String orderNumberPattern,
+      @Param("status") OrderStatus status, @Param("from") Instant from, @Param("to") Instant to,
+      @Param("minAmount") Long minAmount, @Param("maxAmount") Long maxAmount, Pageable pageable);
+}
@@ -0,0 +1,30 @@
+package com.winnguyen1905.order.persistance.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.winnguyen1905.order.persistance.entity.EVendorDailySketch;
+import com.winnguyen1905.order.secure.RegionPartition;
+
+@Repository
+public interface VendorDailySketchRepository extends JpaRepository<EVendorDailySketch, UUID> {
+
+  List<EVendorDailySketch> findByVendorIdAndSketchDateBetween(Long vendorId, LocalDate from, LocalDate to);
+
+  @Query("select distinct s.sketchDate from EVendorDailySketch s where s.sketchDate >= :from")
+  List<LocalDate> findSketchDatesFrom(@Param("from") LocalDate from);
+
+  /**
+   * Bulk deletes bypass the region filter, so the region is explicit
+   */
+  @Modifying
+  @Query("delete from EVendorDailySketch s where s.region = :region and s.sketchDate = :day")
+  int deleteDay(@Param("region") RegionPartition region, @Param("day") LocalDate day);
+}
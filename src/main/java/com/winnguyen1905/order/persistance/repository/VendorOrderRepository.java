@@ -1,10 +1,82 @@
 package com.winnguyen1905.order.persistance.repository;
 
+import com.winnguyen1905.order.core.analytics.SnapshotVendorOrderRow;
+import com.winnguyen1905.order.core.analytics.VendorPerformanceRow;
+import com.winnguyen1905.order.common.constant.VendorOrderStatus;
 import com.winnguyen1905.order.persistance.entity.EVendorOrder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface VendorOrderRepository extends JpaRepository<EVendorOrder, UUID> {
-} 
+
+  /**
+   * Vendor orders created since {@code from} and changed after {@code since},
+   * in snapshot order
+   */
+  @Query("select new com.winnguyen1905.order.core.analytics.SnapshotVendorOrderRow("
+      + "vo.id, vo.vendorId, vo.subtotal, vo.status, vo.createdDate, vo.updatedDate, o.customerId) "
+      + "from EVendorOrder vo join vo.order o "
+      + "where vo.createdDate >= :from and vo.updatedDate > :since "
+      + "order by vo.vendorId, vo.createdDate")
+  List<SnapshotVendorOrderRow> findSnapshotRows(@Param("from") Instant from, @Param("since") Instant since);
+
+  @Query("select new com.winnguyen1905.order.core.analytics.SnapshotVendorOrderRow("
+      + "vo.id, vo.vendorId, vo.subtotal, vo.status, vo.createdDate, vo.updatedDate, o.customerId) "
+      + "from EVendorOrder vo join vo.order o "
+      + "where vo.vendorId = :vendorId and vo.createdDate >= :from and vo.createdDate <= :to "
+      + "order by vo.createdDate")
+  List<SnapshotVendorOrderRow> findVendorSnapshotRows(@Param("vendorId") Long vendorId,
+      @Param("from") Instant from, @Param("to") Instant to);
+
+  @Query("select new com.winnguyen1905.order.core.analytics.SnapshotVendorOrderRow("
+      + "vo.id, vo.vendorId, vo.subtotal, vo.status, vo.createdDate, vo.updatedDate, o.customerId) "
+      + "from EVendorOrder vo join vo.order o "
+      + "where vo.createdDate >= :from and vo.createdDate < :to")
+  List<SnapshotVendorOrderRow> findSnapshotRowsCreatedIn(@Param("from") Instant from, @Param("to") Instant to);
+
+  /**
+   * Transition timestamps of vendor orders created since {@code from} and
+   * changed after {@code since}
+   */
+  @Query("select new com.winnguyen1905.order.core.analytics.VendorPerformanceRow("
+      + "vo.id, vo.vendorId, vo.createdDate, vo.updatedDate, vo.acceptedAt, vo.shippedAt, vo.deliveredAt, "
+      + "vo.cancelledAt, vo.promisedShipDate, o.status) "
+      + "from EVendorOrder vo join vo.order o "
+      + "where vo.createdDate >= :from and vo.updatedDate > :since")
+  List<VendorPerformanceRow> findPerformanceRows(@Param("from") Instant from, @Param("since") Instant since);
+
+  @Query("select new com.winnguyen1905.order.core.analytics.VendorPerformanceRow("
+      + "vo.id, vo.vendorId, vo.createdDate, vo.updatedDate, vo.acceptedAt, vo.shippedAt, vo.deliveredAt, "
+      + "vo.cancelledAt, vo.promisedShipDate, o.status) "
+      + "from EVendorOrder vo join vo.order o "
+      + "where vo.vendorId = :vendorId and vo.createdDate >= :from")
+  List<VendorPerformanceRow> findVendorPerformanceRows(@Param("vendorId") Long vendorId, @Param("from") Instant from);
+
+  /**
+   * Every filter is optional. {@code numberPattern} (from
+   * {@code SearchPatterns.contains}) matches the vendor order number or the
+   * parent order number; each side is a subquery so both trigram indexes can
+   * be used. {@code to} is exclusive and amounts are minor units
+   */
+  @Query("select vo from EVendorOrder vo "
+      + "where (:vendorId is null or vo.vendorId = :vendorId) "
+      + "and (:numberPattern is null "
+      + "  or vo.id in (select n.id from EVendorOrder n where n.vendorOrderNumber like :numberPattern escape '!') "
+      + "  or vo.order.id in (select o.id from EOrder o where o.orderNumber like :numberPattern escape '!')) "
+      + "and (:status is null or vo.status = :status) "
+      + "and (:from is null or vo.createdDate >= :from) "
+      + "and (:to is null or vo.createdDate < :to) "
+      + "and (:minAmount is null or vo.subtotal >= :minAmount) "
+      + "and (:maxAmount is null or vo.subtotal <= :maxAmount)")
+  Page<EVendorOrder> search(@Param("vendorId") Long vendorId, @Param("numberPattern") String numberPattern,
+      @Param("status") VendorOrderStatus status, @Param("from") Instant from, @Param("to") Instant to,
+      @Param("minAmount") Long minAmount, @Param("maxAmount") Long maxAmount, Pageable pageable);
+}
@@ -7,14 +7,24 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.winnguyen1905.order.common.constant.OrderStatus;
+import com.winnguyen1905.order.core.stream.OrderStatusStreamHub;
+import com.winnguyen1905.order.model.request.BatchReadRequest;
+import com.winnguyen1905.order.model.request.BulkCreateOrderRequest;
 import com.winnguyen1905.order.model.request.CreateOrderRequest;
+import com.winnguyen1905.order.model.response.BatchReadResponse;
+import com.winnguyen1905.order.model.response.BulkCreateOrderResponse;
 import com.winnguyen1905.order.model.response.OrderResponse;
+import com.winnguyen1905.order.rest.service.OrderBatchReadService;
 import com.winnguyen1905.order.rest.service.OrderService;
 import com.winnguyen1905.order.secure.AccountRequest;
+import com.winnguyen1905.order.secure.AccountType;
+import com.winnguyen1905.order.secure.RateLimited;
 import com.winnguyen1905.order.secure.RestResponse;
 import com.winnguyen1905.order.secure.TAccountRequest;
 import com.winnguyen1905.order.util.ResponseUtil;
@@ -26,17 +36,21 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @RestController
 @RequestMapping("/api/orders")
+@RateLimited("orders")
 @RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Order Management", description = "APIs for managing orders for both customers and vendors")
 public class OrderController {
   private final OrderService orderService;
+  private final OrderBatchReadService orderBatchReadService;
+  private final OrderStatusStreamHub orderStatusStreamHub;
 
   // Customer-facing endpoints
 
@@ -49,6 +63,7 @@ public class OrderController {
       @ApiResponse(responseCode = "500", description = "Internal server error")
   })
   @PostMapping
+  @RateLimited("checkout")
   public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request, @AccountRequest TAccountRequest accountRequest) {
     log.info("Creating new order for customer: {}", accountRequest.id());
     OrderResponse response = orderService.createOrder(request, accountRequest);
@@ -57,6 +72,24 @@ public class OrderController {
         .body(response);
   }
 
+  @Operation(summary = "Create orders in bulk", description = "Creates up to 500 orders in one call and reports success or failure for each order in request order", tags = {
+      "Customer Operations" })
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "201", description = "All orders created successfully", content = @Content(schema = @Schema(implementation = BulkCreateOrderResponse.class))),
+      @ApiResponse(responseCode = "207", description = "Some orders could not be created", content = @Content(schema = @Schema(implementation = BulkCreateOrderResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid request data"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized"),
+      @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  @PostMapping("/batch")
+  @RateLimited("checkout")
+  public ResponseEntity<BulkCreateOrderResponse> createOrders(@Valid @RequestBody BulkCreateOrderRequest request, @AccountRequest TAccountRequest accountRequest) {
+    log.info("Creating {} orders in bulk for customer: {}", request.getOrders().size(), accountRequest.id());
+    BulkCreateOrderResponse response = orderService.createOrders(request.getOrders(), accountRequest);
+    return ResponseEntity.status(response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+        .body(response);
+  }
+
   @Operation(summary = "Get order by ID", description = "Retrieves detailed order information by its unique identifier", tags = {
       "Customer Operations", "Vendor Operations" })
   @ApiResponses(value = {
@@ -73,6 +106,58 @@ public class OrderController {
     return ResponseEntity.ok(response);
   }
 
+  @Operation(summary = "Get orders by IDs", description = "Retrieves up to 500 orders with their items in one call; results follow request order and unknown IDs are listed as missing", tags = {
+      "Admin Operations", "Integration Operations" })
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
+      @ApiResponse(responseCode = "400", description = "Invalid request data"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized"),
+      @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  @PostMapping("/batch-read")
+  public ResponseEntity<BatchReadResponse<OrderResponse>> getOrdersByIds(@Valid @RequestBody BatchReadRequest request) {
+    log.info("Batch reading {} orders", request.getIds().size());
+    return ResponseEntity.ok(orderBatchReadService.getOrders(request.getIds()));
+  }
+
+  @Operation(summary = "Stream order status changes", description = "Server-sent events for status transitions of one order; reconnect with Last-Event-ID to resume", tags = {
+      "Customer Operations" })
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Stream opened"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized"),
+      @ApiResponse(responseCode = "404", description = "Order not found or not owned by the caller"),
+      @ApiResponse(responseCode = "503", description = "Too many open streams")
+  })
+  @GetMapping(path = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamOrderStatus(
+      @Parameter(description = "Order ID", required = true) @PathVariable UUID id,
+      @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+      @AccountRequest TAccountRequest accountRequest) {
+    // Same customer id derivation as the customer stream; other callers' orders look absent
+    OrderResponse order = orderService.getOrderById(id);
+    if (accountRequest.accountType() != AccountType.ADMIN
+        && !Long.valueOf(accountRequest.id().getMostSignificantBits()).equals(order.getCustomerId())) {
+      throw new EntityNotFoundException("Order not found with id: " + id);
+    }
+    return orderStatusStreamHub.subscribe(OrderStatusStreamHub.orderTopic(id), lastEventId);
+  }
+
+  @Operation(summary = "Stream my order status changes", description = "Server-sent events for status transitions of every order of the calling customer; reconnect with Last-Event-ID to resume", tags = {
+      "Customer Operations" })
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Stream opened"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized"),
+      @ApiResponse(responseCode = "503", description = "Too many open streams")
+  })
+  @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamCustomerOrderStatus(
+      @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+      @AccountRequest TAccountRequest accountRequest) {
+    // Orders store the customer id derived from the account id, see OrderServiceImpl
+    Long customerId = accountRequest.id().getMostSignificantBits();
+    return orderStatusStreamHub.subscribe(OrderStatusStreamHub.customerTopic(customerId), lastEventId);
+  }
+
   @Operation(summary = "Get all orders with pagination", description = "Retrieves all orders with pagination support", tags = {
       "Admin Operations" })
   @ApiResponses(value = {
@@ -83,9 +168,10 @@ public class OrderController {
   })
   @GetMapping
   public ResponseEntity<Page<OrderResponse>> getAllOrders(
-      @Parameter(description = "Pagination parameters") @PageableDefault(size = 20) Pageable pageable) {
+      @Parameter(description = "Pagination parameters") @PageableDefault(size = 20) Pageable pageable,
+      @Parameter(description = "Leave out orderItems and return itemCount and firstItem instead") @RequestParam(defaultValue = "false") boolean summary) {
     log.info("Retrieving all orders with pagination: {}", pageable);
-    Page<OrderResponse> response = orderService.getAllOrders(pageable);
+    Page<OrderResponse> response = orderService.getAllOrders(pageable, summary);
     return ResponseEntity.ok(response);
   }
 
@@ -94,9 +180,10 @@ public class OrderController {
   @GetMapping("/customer/{customerId}")
   public ResponseEntity<Page<OrderResponse>> getOrdersByCustomerId(
       @Parameter(description = "Customer ID", required = true) @PathVariable Long customerId,
-      @Parameter(description = "Pagination parameters") @PageableDefault(size = 20) Pageable pageable) {
+      @Parameter(description = "Pagination parameters") @PageableDefault(size = 20) Pageable pageable,
+      @Parameter(description = "Leave out orderItems and return itemCount and firstItem instead") @RequestParam(defaultValue = "false") boolean summary) {
     log.info("Retrieving orders for customer: {}", customerId);
-    Page<OrderResponse> response = orderService.getOrdersByCustomerId(customerId, pageable);
+    Page<OrderResponse> response = orderService.getOrdersByCustomerId(customerId, pageable, summary);
     return ResponseEntity.ok(response);
   }
 
@@ -107,9 +194,10 @@ public class OrderController {
   @GetMapping("/status/{status}")
   public ResponseEntity<Page<OrderResponse>> getOrdersByStatus(
       @Parameter(description = "Order status", required = true) @PathVariable OrderStatus status,
-      @Parameter(description = "Pagination parameters") @PageableDefault(size = 20) Pageable pageable) {
+      @Parameter(description = "Pagination parameters") @PageableDefault(size = 20) Pageable pageable,
+      @Parameter(description = "Leave out orderItems and return itemCount and firstItem instead") @RequestParam(defaultValue = "false") boolean summary) {
     log.info("Retrieving orders with status: {}", status);
-    Page<OrderResponse> response = orderService.getOrdersByStatus(status, pageable);
+    Page<OrderResponse> response = orderService.getOrdersByStatus(status, pageable, summary);
     return ResponseEntity.ok(response);
   }
 
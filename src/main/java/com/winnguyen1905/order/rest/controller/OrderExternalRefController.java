@@ -11,8 +11,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import com.winnguyen1905.order.model.request.BatchReadRequest;
 import com.winnguyen1905.order.model.request.CreateExternalRefRequest;
+import com.winnguyen1905.order.model.response.BatchReadResponse;
 import com.winnguyen1905.order.model.response.OrderExternalRefResponse;
+import com.winnguyen1905.order.rest.service.OrderBatchReadService;
 import com.winnguyen1905.order.rest.service.OrderExternalRefService;
 import com.winnguyen1905.order.secure.RestResponse;
 import com.winnguyen1905.order.util.ResponseUtil;
@@ -37,6 +40,7 @@ import lombok.extern.slf4j.Slf4j;
 @Tag(name = "External References", description = "APIs for managing external references to orders for integration with other services")
 public class OrderExternalRefController {
   private final OrderExternalRefService orderExternalRefService;
+  private final OrderBatchReadService orderBatchReadService;
 
   @Operation(
       summary = "Create external reference", 
@@ -104,6 +108,25 @@ public class OrderExternalRefController {
     return ResponseEntity.ok(response);
   }
 
+  @Operation(
+      summary = "Get external references for many orders", 
+      description = "Retrieves the external references of up to 500 orders in one call, grouped per order in request order; unknown order IDs are listed as missing",
+      tags = {"Integration Operations", "Admin Operations"}
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "External references retrieved successfully"),
+      @ApiResponse(responseCode = "400", description = "Invalid request data"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized"),
+      @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  @PostMapping("/orders/batch-read")
+  public ResponseEntity<BatchReadResponse<List<OrderExternalRefResponse>>> getExternalRefsByOrderIds(
+      @Valid @RequestBody BatchReadRequest request) {
+
+    log.info("Batch reading external references for {} orders", request.getIds().size());
+    return ResponseEntity.ok(orderBatchReadService.getExternalRefs(request.getIds()));
+  }
+
   @Operation(
       summary = "Get external references by service name", 
       description = "Retrieves all external references for a specific service with pagination",
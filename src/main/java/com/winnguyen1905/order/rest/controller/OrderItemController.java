@@ -10,7 +10,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.winnguyen1905.order.common.constant.OrderItemStatus;
+import com.winnguyen1905.order.model.request.BatchReadRequest;
+import com.winnguyen1905.order.model.response.BatchReadResponse;
 import com.winnguyen1905.order.model.response.OrderItemResponse;
+import com.winnguyen1905.order.rest.service.OrderBatchReadService;
 import com.winnguyen1905.order.rest.service.OrderItemService;
 import com.winnguyen1905.order.secure.RestResponse;
 import com.winnguyen1905.order.util.ResponseUtil;
@@ -22,6 +25,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,6 +36,7 @@ import lombok.extern.slf4j.Slf4j;
 @Tag(name = "Order Items", description = "APIs for managing individual items within orders")
 public class OrderItemController {
   private final OrderItemService orderItemService;
+  private final OrderBatchReadService orderBatchReadService;
 
   @Operation(summary = "Get order item by ID", description = "Retrieves a specific order item by its unique identifier", tags = {
       "Customer Operations", "Vendor Operations", "Admin Operations" })
@@ -66,6 +71,21 @@ public class OrderItemController {
     return ResponseEntity.ok(response);
   }
 
+  @Operation(summary = "Get order items for many orders", description = "Retrieves the items of up to 500 orders in one call, grouped per order in request order; unknown order IDs are listed as missing", tags = {
+      "Admin Operations", "Integration Operations" })
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Order items retrieved successfully"),
+      @ApiResponse(responseCode = "400", description = "Invalid request data"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized"),
+      @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  @PostMapping("/orders/batch-read")
+  public ResponseEntity<BatchReadResponse<List<OrderItemResponse>>> getOrderItemsByOrderIds(
+      @Valid @RequestBody BatchReadRequest request) {
+    log.info("Batch reading order items for {} orders", request.getIds().size());
+    return ResponseEntity.ok(orderBatchReadService.getOrderItems(request.getIds()));
+  }
+
   @Operation(summary = "Update order item status", description = "Updates the status of a specific order item", tags = {
       "Vendor Operations", "Admin Operations" })
   @ApiResponses(value = {
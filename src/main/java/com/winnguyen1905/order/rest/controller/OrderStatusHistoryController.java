@@ -6,7 +6,10 @@ import java.util.UUID;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.winnguyen1905.order.model.request.BatchReadRequest;
+import com.winnguyen1905.order.model.response.BatchReadResponse;
 import com.winnguyen1905.order.model.response.OrderStatusHistoryResponse;
+import com.winnguyen1905.order.rest.service.OrderBatchReadService;
 import com.winnguyen1905.order.rest.service.OrderStatusHistoryService;
 import com.winnguyen1905.order.secure.RestResponse;
 import com.winnguyen1905.order.util.ResponseUtil;
@@ -18,6 +21,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,6 +32,7 @@ import lombok.extern.slf4j.Slf4j;
 @Tag(name = "Order Status History", description = "APIs for tracking order status changes over time")
 public class OrderStatusHistoryController {
   private final OrderStatusHistoryService orderStatusHistoryService;
+  private final OrderBatchReadService orderBatchReadService;
 
   @Operation(summary = "Get status history entry by ID", description = "Retrieves a specific status history entry by its unique identifier", tags = {
       "Admin Operations" })
@@ -60,4 +65,20 @@ public class OrderStatusHistoryController {
     List<OrderStatusHistoryResponse> response = orderStatusHistoryService.getStatusHistoryByOrderId(orderId);
     return ResponseEntity.ok(ResponseUtil.success("Order status history retrieved successfully", response));
   }
+
+  @Operation(summary = "Get status history for many orders", description = "Retrieves the status history of up to 500 orders in one call, grouped per order in request order; unknown order IDs are listed as missing", tags = {
+      "Admin Operations", "Integration Operations" })
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Order status history retrieved successfully"),
+      @ApiResponse(responseCode = "400", description = "Invalid request data"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized"),
+      @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  @PostMapping("/orders/batch-read")
+  public ResponseEntity<RestResponse<BatchReadResponse<List<OrderStatusHistoryResponse>>>> getStatusHistoryByOrderIds(
+      @Valid @RequestBody BatchReadRequest request) {
+    log.info("Batch reading status history for {} orders", request.getIds().size());
+    BatchReadResponse<List<OrderStatusHistoryResponse>> response = orderBatchReadService.getStatusHistories(request.getIds());
+    return ResponseEntity.ok(ResponseUtil.success("Order status history retrieved successfully", response));
+  }
 }
@@ -7,14 +7,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.winnguyen1905.order.common.constant.VendorOrderStatus;
+import com.winnguyen1905.order.core.stream.VendorInboxHub;
 import com.winnguyen1905.order.model.request.CreateVendorOrderRequest;
 import com.winnguyen1905.order.model.response.VendorOrderResponse;
 import com.winnguyen1905.order.rest.service.VendorOrderService;
+import com.winnguyen1905.order.secure.AccountRequest;
+import com.winnguyen1905.order.secure.AccountType;
+import com.winnguyen1905.order.secure.BaseException;
+import com.winnguyen1905.order.secure.RateLimited;
 import com.winnguyen1905.order.secure.RestResponse;
+import com.winnguyen1905.order.secure.TAccountRequest;
 import com.winnguyen1905.order.util.ResponseUtil;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,11 +38,13 @@ import lombok.extern.slf4j.Slf4j;
 
 @RestController
 @RequestMapping("/api/vendor-orders")
+@RateLimited("vendor-orders")
 @RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Vendor Order Management", description = "APIs for managing vendor-specific orders and fulfillment")
 public class VendorOrderController {
     private final VendorOrderService vendorOrderService;
+    private final VendorInboxHub vendorInboxHub;
     
     @Operation(
         summary = "Create vendor order", 
@@ -111,6 +121,7 @@ public class VendorOrderController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/vendors/{vendorId}")
+    @RateLimited("vendor-polling")
     public ResponseEntity<RestResponse<Page<VendorOrderResponse>>> getVendorOrdersByVendorId(
             @Parameter(description = "Vendor ID", required = true) @PathVariable Long vendorId,
             @Parameter(description = "Pagination parameters") 
@@ -119,6 +130,31 @@ public class VendorOrderController {
         Page<VendorOrderResponse> response = vendorOrderService.getVendorOrdersByVendorId(vendorId, pageable);
         return ResponseEntity.ok(ResponseUtil.success("Vendor orders retrieved successfully", response));
     }
+
+    @Operation(
+        summary = "Stream vendor inbox", 
+        description = "Server-sent events for new vendor orders and their status changes; an overflow event means the client fell behind and should reload its list",
+        tags = {"Vendor Operations"}
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Inbox stream opened"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Caller is not this vendor"),
+        @ApiResponse(responseCode = "503", description = "Too many open inbox streams for the caller")
+    })
+    @GetMapping(path = "/vendors/{vendorId}/inbox", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamVendorInbox(
+            @Parameter(description = "Vendor ID", required = true) @PathVariable Long vendorId,
+            @AccountRequest TAccountRequest accountRequest) {
+        // Vendor ids use the same account id derivation as customer ids, see OrderServiceImpl
+        boolean ownInbox = accountRequest.accountType() == AccountType.VENDOR
+                && vendorId.equals(accountRequest.id().getMostSignificantBits());
+        if (!ownInbox && accountRequest.accountType() != AccountType.ADMIN) {
+            throw new BaseException("Not allowed to read the inbox of vendor " + vendorId, 403);
+        }
+        log.info("Opening inbox stream for vendor: {}", vendorId);
+        return vendorInboxHub.subscribe(vendorId, accountRequest.id());
+    }
     
     @Operation(
         summary = "Update vendor order status", 
@@ -0,0 +1,49 @@
+package com.winnguyen1905.order.rest.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.winnguyen1905.order.model.response.BatchReadResponse;
+import com.winnguyen1905.order.model.response.OrderExternalRefResponse;
+import com.winnguyen1905.order.model.response.OrderItemResponse;
+import com.winnguyen1905.order.model.response.OrderResponse;
+import com.winnguyen1905.order.model.response.OrderStatusHistoryResponse;
+
+/**
+ * Service for reading many orders and their children at once
+ * Each call resolves all ids with a single IN query, returns results in request order
+ * and reports the order ids that do not exist
+ */
+public interface OrderBatchReadService {
+    /**
+     * Get orders, with their items, by ID
+     * 
+     * @param ids Order IDs
+     * @return Orders in request order, plus the IDs not found
+     */
+    BatchReadResponse<OrderResponse> getOrders(List<UUID> ids);
+
+    /**
+     * Get the items of many orders
+     * 
+     * @param orderIds Order IDs
+     * @return Items grouped per order in request order, plus the order IDs not found
+     */
+    BatchReadResponse<List<OrderItemResponse>> getOrderItems(List<UUID> orderIds);
+
+    /**
+     * Get the external references of many orders
+     * 
+     * @param orderIds Order IDs
+     * @return References grouped per order in request order, plus the order IDs not found
+     */
+    BatchReadResponse<List<OrderExternalRefResponse>> getExternalRefs(List<UUID> orderIds);
+
+    /**
+     * Get the status history of many orders, oldest entry first
+     * 
+     * @param orderIds Order IDs
+     * @return History grouped per order in request order, plus the order IDs not found
+     */
+    BatchReadResponse<List<OrderStatusHistoryResponse>> getStatusHistories(List<UUID> orderIds);
+}
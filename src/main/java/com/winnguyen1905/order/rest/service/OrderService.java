@@ -10,6 +10,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.winnguyen1905.order.model.request.CreateOrderRequest;
+import com.winnguyen1905.order.model.response.BulkCreateOrderResponse;
 import com.winnguyen1905.order.model.response.OrderResponse;
 import com.winnguyen1905.order.model.response.OrderSummaryResponse;
 import com.winnguyen1905.order.common.constant.OrderStatus;
@@ -28,6 +29,16 @@ public interface OrderService {
      * @return Created order response
      */ 
     OrderResponse createOrder(CreateOrderRequest request, TAccountRequest accountRequest);
+
+    /**
+     * Create many orders in one call
+     * Orders are inserted in batched transactions and their events are published together
+     * 
+     * @param requests Order creation requests
+     * @param accountRequest Account request
+     * @return Per-order success or failure, in request order
+     */
+    BulkCreateOrderResponse createOrders(List<CreateOrderRequest> requests, TAccountRequest accountRequest);
     
     /**
      * Get order by ID
@@ -41,27 +52,30 @@ public interface OrderService {
      * Get all orders with pagination
      *
      * @param pageable Pagination information
+     * @param summary Leave orderItems out and set itemCount and firstItem instead
      * @return Page of orders
      */
-    Page<OrderResponse> getAllOrders(Pageable pageable);
+    Page<OrderResponse> getAllOrders(Pageable pageable, boolean summary);
     
     /**
      * Get orders by customer ID with pagination
      * 
      * @param customerId Customer ID
      * @param pageable Pagination information
+     * @param summary Leave orderItems out and set itemCount and firstItem instead
      * @return Page of orders for the customer
      */
-    Page<OrderResponse> getOrdersByCustomerId(Long customerId, Pageable pageable);
+    Page<OrderResponse> getOrdersByCustomerId(Long customerId, Pageable pageable, boolean summary);
     
     /**
      * Get orders by status with pagination
      * 
      * @param status Order status
      * @param pageable Pagination information
+     * @param summary Leave orderItems out and set itemCount and firstItem instead
      * @return Page of orders with the specified status
      */
-    Page<OrderResponse> getOrdersByStatus(OrderStatus status, Pageable pageable);
+    Page<OrderResponse> getOrdersByStatus(OrderStatus status, Pageable pageable, boolean summary);
     
     /**
      * Update order status
@@ -123,9 +137,10 @@ public interface OrderService {
      * 
      * @param vendorId Vendor ID
      * @param pageable Pagination information
+     * @param summary Leave orderItems out and set itemCount and firstItem instead
      * @return Page of orders containing products from the vendor
      */
-    Page<OrderResponse> getOrdersContainingVendorProducts(Long vendorId, Pageable pageable);
+    Page<OrderResponse> getOrdersContainingVendorProducts(Long vendorId, Pageable pageable, boolean summary);
     
     /**
      * Search orders by various criteria
@@ -139,11 +154,12 @@ public interface OrderService {
      * @param minAmount Minimum order amount (optional)
      * @param maxAmount Maximum order amount (optional)
      * @param pageable Pagination information
+     * @param summary Leave orderItems out and set itemCount and firstItem instead
      * @return Page of orders matching the criteria
      */
     Page<OrderResponse> searchOrders(Long customerId, String orderNumber, OrderStatus status,
                                    LocalDate startDate, LocalDate endDate, 
-                                   Double minAmount, Double maxAmount, Pageable pageable);
+                                   Double minAmount, Double maxAmount, Pageable pageable, boolean summary);
     
     /**
      * Get customer order history summary
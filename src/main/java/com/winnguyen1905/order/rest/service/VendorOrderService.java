@@ -11,6 +11,7 @@ import org.springframework.data.domain.Pageable;
 import com.winnguyen1905.order.common.constant.VendorOrderStatus;
 import com.winnguyen1905.order.model.request.CreateVendorOrderRequest;
 import com.winnguyen1905.order.model.request.VendorShippingUpdateRequest;
+import com.winnguyen1905.order.model.response.VendorAudienceMetricsResponse;
 import com.winnguyen1905.order.model.response.VendorOrderAnalyticsResponse;
 import com.winnguyen1905.order.model.response.VendorOrderResponse;
 import com.winnguyen1905.order.model.response.VendorPerformanceResponse;
@@ -156,6 +157,18 @@ public interface VendorOrderService {
      */
     VendorPerformanceResponse getVendorPerformance(Long vendorId, LocalDate startDate, LocalDate endDate);
     
+    /**
+     * Get sketch-based audience metrics
+     * Merges the per-day sketches in the range into unique-customer, top-product
+     * and order-value estimates; cheap for long ranges and the whole platform
+     * 
+     * @param vendorId Vendor ID, or null for the whole platform
+     * @param startDate Start date
+     * @param endDate End date
+     * @return Estimated audience metrics
+     */
+    VendorAudienceMetricsResponse getVendorAudienceMetrics(Long vendorId, LocalDate startDate, LocalDate endDate);
+    
     /**
      * Get pending vendor orders count
      * Quick way for vendors to see how many orders need attention
@@ -0,0 +1,136 @@
+package com.winnguyen1905.order.rest.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.winnguyen1905.order.core.archive.ArchivedOrder;
+import com.winnguyen1905.order.core.archive.OrderArchive;
+import com.winnguyen1905.order.model.response.BatchReadResponse;
+import com.winnguyen1905.order.model.response.OrderExternalRefResponse;
+import com.winnguyen1905.order.model.response.OrderItemResponse;
+import com.winnguyen1905.order.model.response.OrderResponse;
+import com.winnguyen1905.order.model.response.OrderStatusHistoryResponse;
+import com.winnguyen1905.order.persistance.entity.EOrder;
+import com.winnguyen1905.order.persistance.repository.OrderRepository;
+import com.winnguyen1905.order.rest.service.OrderBatchReadService;
+import com.winnguyen1905.order.util.OrderMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class OrderBatchReadServiceImpl implements OrderBatchReadService {
+    private final OrderRepository orderRepository;
+    private final OrderArchive orderArchive;
+    private final OrderMapper orderMapper;
+
+    @Override
+    public BatchReadResponse<OrderResponse> getOrders(List<UUID> ids) {
+        List<UUID> distinctIds = distinct(ids);
+        Map<UUID, OrderResponse> found = new HashMap<>();
+        for (EOrder order : orderRepository.findAllWithItemsByIdIn(distinctIds)) {
+            found.put(order.getId(), orderMapper.toOrderResponse(order));
+        }
+        addArchived(distinctIds, found, ArchivedOrder::getOrder);
+        return toResponse(ids.size(), distinctIds, found);
+    }
+
+    @Override
+    public BatchReadResponse<List<OrderItemResponse>> getOrderItems(List<UUID> orderIds) {
+        List<UUID> distinctIds = distinct(orderIds);
+        Map<UUID, List<OrderItemResponse>> found = group(orderRepository.findAllWithItemsByIdIn(distinctIds),
+                EOrder::getOrderItems, orderMapper::toOrderItemResponse);
+        addArchived(distinctIds, found, archived -> orEmpty(archived.getOrder().getOrderItems()));
+        return toResponse(orderIds.size(), distinctIds, found);
+    }
+
+    @Override
+    public BatchReadResponse<List<OrderExternalRefResponse>> getExternalRefs(List<UUID> orderIds) {
+        List<UUID> distinctIds = distinct(orderIds);
+        Map<UUID, List<OrderExternalRefResponse>> found = group(
+                orderRepository.findAllWithExternalRefsByIdIn(distinctIds),
+                EOrder::getExternalRefs, orderMapper::toOrderExternalRefResponse);
+        addArchived(distinctIds, found, archived -> orEmpty(archived.getExternalRefs()));
+        return toResponse(orderIds.size(), distinctIds, found);
+    }
+
+    @Override
+    public BatchReadResponse<List<OrderStatusHistoryResponse>> getStatusHistories(List<UUID> orderIds) {
+        List<UUID> distinctIds = distinct(orderIds);
+        Map<UUID, List<OrderStatusHistoryResponse>> found = group(
+                orderRepository.findAllWithStatusHistoriesByIdIn(distinctIds),
+                EOrder::getStatusHistories, orderMapper::toOrderStatusHistoryResponse);
+        // Archived in collection order; sort to match the query's oldest-first
+        addArchived(distinctIds, found, archived -> orEmpty(archived.getStatusHistory()).stream()
+                .sorted(Comparator.comparing(OrderStatusHistoryResponse::getCreatedDate,
+                        Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList());
+        return toResponse(orderIds.size(), distinctIds, found);
+    }
+
+    /**
+     * Same fallback as getOrderById for the ids the database did not return;
+     * archive lookups are local reads, not queries
+     */
+    private <T> void addArchived(List<UUID> distinctIds, Map<UUID, T> found, Function<ArchivedOrder, T> extract) {
+        for (UUID id : distinctIds) {
+            if (!found.containsKey(id)) {
+                orderArchive.findOrder(id)
+                        .filter(archived -> archived.getOrder() != null)
+                        .ifPresent(archived -> found.put(id, extract.apply(archived)));
+            }
+        }
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+
+    private static List<UUID> distinct(List<UUID> ids) {
+        return new ArrayList<>(new LinkedHashSet<>(ids));
+    }
+
+    private static <E, R> Map<UUID, List<R>> group(List<EOrder> orders, Function<EOrder, List<E>> children,
+            Function<E, R> mapper) {
+        Map<UUID, List<R>> grouped = new HashMap<>();
+        for (EOrder order : orders) {
+            List<E> loaded = children.apply(order);
+            grouped.put(order.getId(), loaded == null ? List.of() : loaded.stream().map(mapper).toList());
+        }
+        return grouped;
+    }
+
+    private static <T> BatchReadResponse<T> toResponse(int requested, List<UUID> distinctIds, Map<UUID, T> found) {
+        List<BatchReadResponse.Result<T>> results = new ArrayList<>(found.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : distinctIds) {
+            T data = found.get(id);
+            if (data != null) {
+                results.add(new BatchReadResponse.Result<>(id, data));
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            log.debug("Batch read found {} of {} ids", results.size(), distinctIds.size());
+        }
+        return BatchReadResponse.<T>builder()
+                .requested(requested)
+                .found(results.size())
+                .results(results)
+                .missing(missing)
+                .build();
+    }
+}
@@ -14,6 +14,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.winnguyen1905.order.common.constant.OrderItemStatus;
+import com.winnguyen1905.order.core.analytics.LongLongHashMap;
+import com.winnguyen1905.order.core.concurrency.OrderMutationExecutor;
 import com.winnguyen1905.order.model.request.CreateOrderItemRequest;
 import com.winnguyen1905.order.model.request.UpdateOrderItemRequest;
 import com.winnguyen1905.order.model.response.OrderItemResponse;
@@ -24,6 +26,7 @@ import com.winnguyen1905.order.persistance.repository.OrderItemRepository;
 import com.winnguyen1905.order.persistance.repository.OrderRepository;
 import com.winnguyen1905.order.rest.service.OrderItemService;
 import com.winnguyen1905.order.secure.BaseException;
+import com.winnguyen1905.order.util.Money;
 import com.winnguyen1905.order.util.OrderMapper;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -37,6 +40,7 @@ public class OrderItemServiceImpl implements OrderItemService {
     private final OrderItemRepository orderItemRepository;
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
+    private final OrderMutationExecutor orderMutationExecutor;
 
     @Override
     public OrderItemResponse getOrderItemById(UUID id) {
@@ -81,18 +85,22 @@ public class OrderItemServiceImpl implements OrderItemService {
     }
 
     @Override
-    @Transactional
     public OrderItemResponse updateOrderItemQuantity(UUID id, int quantity) {
         if (quantity <= 0) {
             throw new BaseException("Quantity must be greater than zero");
         }
         
+        return orderMutationExecutor.execute(resolveOrderId(id), "updateOrderTotals",
+                () -> doUpdateOrderItemQuantity(id, quantity));
+    }
+
+    private OrderItemResponse doUpdateOrderItemQuantity(UUID id, int quantity) {
         EOrderItem orderItem = orderItemRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Order item not found with id: " + id));
         
         // Update quantity and recalculate total price
         orderItem.setQuantity(quantity);
-        orderItem.setTotalPrice(orderItem.getUnitPrice() * quantity);
+        orderItem.setTotalPrice(Money.times(orderItem.getUnitPrice(), quantity));
         
         orderItem = orderItemRepository.save(orderItem);
         
@@ -105,8 +113,11 @@ public class OrderItemServiceImpl implements OrderItemService {
     }
 
     @Override
-    @Transactional
     public void deleteOrderItem(UUID id) {
+        orderMutationExecutor.run(resolveOrderId(id), "updateOrderTotals", () -> doDeleteOrderItem(id));
+    }
+
+    private void doDeleteOrderItem(UUID id) {
         EOrderItem orderItem = orderItemRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Order item not found with id: " + id));
         
@@ -121,8 +132,11 @@ public class OrderItemServiceImpl implements OrderItemService {
     }
     
     @Override
-    @Transactional
     public OrderItemResponse addItemToOrder(UUID orderId, CreateOrderItemRequest request) {
+        return orderMutationExecutor.execute(orderId, "updateOrderTotals", () -> doAddItemToOrder(orderId, request));
+    }
+
+    private OrderItemResponse doAddItemToOrder(UUID orderId, CreateOrderItemRequest request) {
         // Get the order
         EOrder order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + orderId));
@@ -142,8 +156,11 @@ public class OrderItemServiceImpl implements OrderItemService {
     }
     
     @Override
-    @Transactional
     public OrderItemResponse updateOrderItem(UUID id, UpdateOrderItemRequest request) {
+        return orderMutationExecutor.execute(resolveOrderId(id), "updateOrderTotals", () -> doUpdateOrderItem(id, request));
+    }
+
+    private OrderItemResponse doUpdateOrderItem(UUID id, UpdateOrderItemRequest request) {
         EOrderItem orderItem = orderItemRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Order item not found with id: " + id));
         
@@ -164,7 +181,7 @@ public class OrderItemServiceImpl implements OrderItemService {
         boolean updateTotals = false;
         
         if (request.getUnitPrice() != null) {
-            orderItem.setUnitPrice(request.getUnitPrice());
+            orderItem.setUnitPrice(Money.fromDouble(request.getUnitPrice()));
             updateTotals = true;
         }
         
@@ -178,7 +195,7 @@ public class OrderItemServiceImpl implements OrderItemService {
         
         // Recalculate total price if quantity or unit price has changed
         if (updateTotals) {
-            orderItem.setTotalPrice(orderItem.getUnitPrice() * orderItem.getQuantity());
+            orderItem.setTotalPrice(Money.times(orderItem.getUnitPrice(), orderItem.getQuantity()));
         }
         
         // Save order item
@@ -253,9 +270,9 @@ public class OrderItemServiceImpl implements OrderItemService {
                             .productId(item.getProductId())
                             .productName(item.getProductName())
                             .sku(item.getProductSku())
-                            .unitPrice(item.getUnitPrice())
+                            .unitPrice(Money.toDouble(item.getUnitPrice()))
                             .quantity(item.getQuantity())
-                            .totalPrice(item.getTotalPrice())
+                            .totalPrice(Money.toDouble(item.getTotalPrice()))
                             .status(item.getStatus())
                             
                             // Customer information (would be fetched from customer service)
@@ -317,16 +334,14 @@ public class OrderItemServiceImpl implements OrderItemService {
                 .filter(item -> item.getVendorId().equals(vendorId))
                 .collect(Collectors.toList());
         
-        // Group by product ID and sum quantities
-        Map<Long, Integer> salesByProduct = new HashMap<>();
-        
+        // Group by product ID and sum quantities without boxing per row
+        LongLongHashMap quantities = new LongLongHashMap();
         for (EOrderItem item : items) {
-            Long productId = item.getProductId();
-            int quantity = item.getQuantity();
-            
-            salesByProduct.put(productId, salesByProduct.getOrDefault(productId, 0) + quantity);
+            quantities.addTo(item.getProductId(), item.getQuantity());
         }
         
+        Map<Long, Integer> salesByProduct = new HashMap<>(quantities.size() * 2);
+        quantities.forEach((productId, quantity) -> salesByProduct.put(productId, (int) quantity));
         return salesByProduct;
     }
     
@@ -347,21 +362,29 @@ public class OrderItemServiceImpl implements OrderItemService {
                 list.size());
     }
     
+    /**
+     * Resolve the parent order of an item so the mutation can be keyed by order
+     */
+    private UUID resolveOrderId(UUID itemId) {
+        return orderItemRepository.findOrderIdById(itemId)
+                .orElseThrow(() -> new EntityNotFoundException("Order item not found with id: " + itemId));
+    }
+    
     /**
      * Update the order subtotal and total
      */
     private void updateOrderTotals(EOrder order) {
         // Calculate subtotal from all order items
-        double subtotal = orderItemRepository.findAll().stream()
+        long subtotal = orderItemRepository.findAll().stream()
                 .filter(item -> item.getOrder().getId().equals(order.getId()))
-                .mapToDouble(EOrderItem::getTotalPrice)
+                .mapToLong(EOrderItem::getTotalPrice)
                 .sum();
         
         // Update order
         order.setSubtotal(subtotal);
         
         // Recalculate total amount
-        double totalAmount = subtotal - order.getDiscountAmount() 
+        long totalAmount = subtotal - order.getDiscountAmount() 
                 + order.getTaxAmount() + order.getShippingAmount();
         order.setTotalAmount(totalAmount);
         
@@ -369,7 +392,7 @@ public class OrderItemServiceImpl implements OrderItemService {
         orderRepository.save(order);
         
         log.info("Updated order totals. Order ID: {}, Subtotal: {}, Total: {}", 
-                order.getId(), subtotal, totalAmount);
+                order.getId(), Money.format(subtotal), Money.format(totalAmount));
     }
     
     /**
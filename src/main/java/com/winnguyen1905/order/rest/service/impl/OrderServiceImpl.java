@@ -3,40 +3,68 @@ package com.winnguyen1905.order.rest.service.impl;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.winnguyen1905.order.common.constant.OrderItemStatus;
 import com.winnguyen1905.order.common.constant.OrderStatus;
+import com.winnguyen1905.order.config.RegionalFallbackConfiguration.RegionalFallbackService;
+import com.winnguyen1905.order.core.analytics.VendorActivitySnapshot;
+import com.winnguyen1905.order.core.analytics.VendorActivitySnapshotStore;
+import com.winnguyen1905.order.core.archive.ArchivedOrder;
+import com.winnguyen1905.order.core.archive.OrderArchive;
+import com.winnguyen1905.order.core.concurrency.OrderMutationExecutor;
+import com.winnguyen1905.order.core.concurrency.RequestCoalescer;
+import com.winnguyen1905.order.core.replication.CreateOrderReplicationHandler;
+import com.winnguyen1905.order.core.stream.OrderStatusPublisher;
+import com.winnguyen1905.order.core.stream.OrderStatusStreamEvent;
+import com.winnguyen1905.order.core.view.OrderViewProjector;
 import com.winnguyen1905.order.model.request.CreateOrderRequest;
+import com.winnguyen1905.order.model.response.BulkCreateOrderResponse;
 import com.winnguyen1905.order.model.response.OrderItemResponse;
 import com.winnguyen1905.order.model.response.OrderResponse;
 import com.winnguyen1905.order.model.response.OrderSummaryResponse;
 import com.winnguyen1905.order.persistance.entity.EOrder;
 import com.winnguyen1905.order.persistance.entity.EOrderItem;
 import com.winnguyen1905.order.persistance.entity.EOrderStatusHistory;
+import com.winnguyen1905.order.persistance.entity.EOrderView;
+import com.winnguyen1905.order.persistance.jdbc.OrderBatchWriter;
 import com.winnguyen1905.order.persistance.repository.OrderDiscountRepository;
 import com.winnguyen1905.order.persistance.repository.OrderItemRepository;
 import com.winnguyen1905.order.persistance.repository.OrderRepository;
 import com.winnguyen1905.order.persistance.repository.OrderStatusHistoryRepository;
+import com.winnguyen1905.order.persistance.repository.OrderViewRepository;
 import com.winnguyen1905.order.rest.service.OrderService;
 import com.winnguyen1905.order.secure.BaseException;
+import com.winnguyen1905.order.secure.RegionContextHolder;
+import com.winnguyen1905.order.secure.RegionPartition;
 import com.winnguyen1905.order.secure.TAccountRequest;
+import com.winnguyen1905.order.util.Money;
 import com.winnguyen1905.order.util.OrderMapper;
 import com.winnguyen1905.order.util.OrderNumberGenerator;
+import com.winnguyen1905.order.util.SearchPatterns;
 import com.winnguyen1905.order.messaging.OrderEventProducer;
 import com.winnguyen1905.order.model.event.OrderCreatedEvent;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -46,6 +74,9 @@ import java.time.Instant;
 @RequiredArgsConstructor
 @Slf4j
 public class OrderServiceImpl implements OrderService {
+  private static final String INITIAL_STATUS_REASON = "Order created - pending orchestration";
+  private static final String UNPUBLISHED_EVENT_ERROR = "Order created but its OrderCreated event could not be published";
+
   private final OrderRepository orderRepository;
   private final OrderItemRepository orderItemRepository;
   private final OrderStatusHistoryRepository orderStatusHistoryRepository;
@@ -53,15 +84,172 @@ public class OrderServiceImpl implements OrderService {
   private final OrderMapper orderMapper;
   private final OrderNumberGenerator orderNumberGenerator;
   private final OrderEventProducer orderEventProducer;
+  private final OrderMutationExecutor orderMutationExecutor;
+  private final RequestCoalescer requestCoalescer;
+  private final OrderStatusPublisher orderStatusPublisher;
+  private final OrderBatchWriter orderBatchWriter;
+  private final OrderArchive orderArchive;
+  private final VendorActivitySnapshotStore vendorActivitySnapshots;
+  private final OrderViewRepository orderViewRepository;
+  private final OrderViewProjector orderViewProjector;
+  private final RegionalFallbackService regionalFallbackService;
+  private final TransactionTemplate transactionTemplate;
+  private final Validator validator;
+
+  @Value("${order.bulk.chunk-size:100}")
+  private int bulkChunkSize;
 
   @Override
-  @Transactional
   public OrderResponse createOrder(CreateOrderRequest request, TAccountRequest accountRequest) {
+    // The transaction starts inside the fallback call, so its connection comes from the region serving it
+    return regionalFallbackService.executeWriteWithFallback(accountRequest.region(),
+        CreateOrderReplicationHandler.OPERATION,
+        () -> transactionTemplate.execute(status -> doCreateOrder(request, accountRequest)));
+  }
+
+  private OrderResponse doCreateOrder(CreateOrderRequest request, TAccountRequest accountRequest) {
     // Create minimal order entity for SAGA pattern
+    EOrder order = newPendingOrder(request, accountRequest);
+
+    // Save order to get ID
+    EOrder savedOrder = orderRepository.save(order);
+
+    // Create initial status history
+    createStatusHistory(savedOrder, null, OrderStatus.PENDING, INITIAL_STATUS_REASON);
+
+    // Create SAGA ID and publish OrderCreated event
+    UUID sagaId = UUID.randomUUID();
+    OrderCreatedEvent event = toOrderCreatedEvent(savedOrder, request, accountRequest, sagaId);
+
+    // Publish event to Kafka
+    orderEventProducer.publishOrderCreated(event);
+
+    log.info("Created order with ID: {}, number: {}, sagaId: {}",
+        savedOrder.getId(), savedOrder.getOrderNumber(), sagaId);
+
+    return orderMapper.toOrderResponse(savedOrder);
+  }
+
+  @Override
+  public BulkCreateOrderResponse createOrders(List<CreateOrderRequest> requests, TAccountRequest accountRequest) {
+    int size = requests.size();
+    BulkCreateOrderResponse.Result[] results = new BulkCreateOrderResponse.Result[size];
+
+    // Validate all payloads in parallel; validation is CPU-only and independent per order
+    String[] violations = new String[size];
+    IntStream.range(0, size).parallel().forEach(i -> violations[i] = validateOrderRequest(requests.get(i)));
+
+    List<Integer> acceptedIndexes = new ArrayList<>(size);
+    List<EOrder> acceptedOrders = new ArrayList<>(size);
+    Instant now = Instant.now();
+    for (int i = 0; i < size; i++) {
+      if (violations[i] != null) {
+        results[i] = BulkCreateOrderResponse.Result.failure(i, violations[i]);
+        continue;
+      }
+      EOrder order = newPendingOrder(requests.get(i), accountRequest);
+      order.setId(UUID.randomUUID());
+      order.setCreatedDate(now);
+      order.setUpdatedDate(now);
+      acceptedIndexes.add(i);
+      acceptedOrders.add(order);
+    }
+
+    // Insert in chunks so one oversized request does not hold a single huge transaction
+    List<OrderCreatedEvent> events = new ArrayList<>(acceptedOrders.size());
+    for (int from = 0; from < acceptedOrders.size(); from += bulkChunkSize) {
+      int to = Math.min(from + bulkChunkSize, acceptedOrders.size());
+      List<EOrder> chunk = acceptedOrders.subList(from, to);
+      List<Integer> chunkIndexes = acceptedIndexes.subList(from, to);
+
+      if (insertChunk(chunk)) {
+        for (int j = 0; j < chunk.size(); j++) {
+          acceptOrder(chunk.get(j), chunkIndexes.get(j), requests, accountRequest, results, events);
+        }
+        continue;
+      }
+
+      // The chunk was rolled back; isolate the offending orders one by one
+      for (int j = 0; j < chunk.size(); j++) {
+        EOrder order = chunk.get(j);
+        int index = chunkIndexes.get(j);
+        if (insertChunk(List.of(order))) {
+          acceptOrder(order, index, requests, accountRequest, results, events);
+        } else {
+          results[index] = BulkCreateOrderResponse.Result.failure(index, "Order could not be persisted");
+        }
+      }
+    }
+
+    // Enqueue all OrderCreated events together after the rows are committed
+    if (!events.isEmpty()) {
+      Set<UUID> undelivered = orderEventProducer.publishOrderCreatedBatch(events);
+      if (!undelivered.isEmpty()) {
+        // The orders exist; report the missing event per order rather than failing the request
+        for (BulkCreateOrderResponse.Result result : results) {
+          if (result.isSuccess() && undelivered.contains(result.getOrderId())) {
+            result.setError(UNPUBLISHED_EVENT_ERROR);
+            log.error("Order {} was created but its OrderCreated event was lost", result.getOrderId());
+          }
+        }
+      }
+    }
+
+    int succeeded = events.size();
+    log.info("Bulk created {} of {} orders for customer: {}", succeeded, size, accountRequest.id());
+
+    return BulkCreateOrderResponse.builder()
+        .requested(size)
+        .succeeded(succeeded)
+        .failed(size - succeeded)
+        .results(Arrays.asList(results))
+        .build();
+  }
+
+  private boolean insertChunk(List<EOrder> chunk) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        orderBatchWriter.insertOrders(chunk);
+        orderBatchWriter.insertInitialStatusHistory(chunk, INITIAL_STATUS_REASON, "SYSTEM");
+        // JDBC inserts skip the entity listener that feeds the order view
+        chunk.forEach(order -> orderViewProjector.markDirty(order.getId()));
+      });
+      return true;
+    } catch (RuntimeException e) {
+      log.warn("Bulk insert of {} orders failed: {}", chunk.size(), e.getMessage());
+      return false;
+    }
+  }
+
+  private void acceptOrder(EOrder order, int index, List<CreateOrderRequest> requests,
+      TAccountRequest accountRequest, BulkCreateOrderResponse.Result[] results, List<OrderCreatedEvent> events) {
+    events.add(toOrderCreatedEvent(order, requests.get(index), accountRequest, UUID.randomUUID()));
+    results[index] = BulkCreateOrderResponse.Result.success(index, order.getId(), order.getOrderNumber());
+  }
+
+  private String validateOrderRequest(CreateOrderRequest request) {
+    if (request == null) {
+      return "Order payload is required";
+    }
+    Set<ConstraintViolation<CreateOrderRequest>> constraintViolations = validator.validate(request);
+    if (!constraintViolations.isEmpty()) {
+      return constraintViolations.stream()
+          .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+          .sorted()
+          .collect(Collectors.joining("; "));
+    }
+    if (request.getCheckoutItems() == null || request.getCheckoutItems().isEmpty()) {
+      return "checkoutItems: At least one checkout item is required";
+    }
+    return null;
+  }
+
+  private EOrder newPendingOrder(CreateOrderRequest request, TAccountRequest accountRequest) {
     EOrder order = EOrder.builder()
         .orderNumber(orderNumberGenerator.generateOrderNumber())
         .status(OrderStatus.PENDING)
         .customerId(accountRequest.id().getMostSignificantBits()) // Convert UUID to Long
+        .region(accountRequest.region())
         .shippingAddress(request.getShippingAddress())
         .billingAddress(request.getBillingAddress())
         .estimatedDeliveryDate(request.getEstimatedDeliveryDate())
@@ -69,25 +257,20 @@ public class OrderServiceImpl implements OrderService {
         .build();
 
     // Initialize amounts as 0 - will be calculated in orchestrator
-    order.setSubtotal(0.0);
-    order.setDiscountAmount(0.0);
-    order.setTaxAmount(0.0);
-    order.setShippingAmount(0.0);
-    order.setTotalAmount(0.0);
-
-    // Initialize payment amounts from request
-    order.setPaidAmount(request.getPaidAmount() != null ? request.getPaidAmount() : 0.0);
-    order.setAmountToBePaid(request.getAmountToBePaid() != null ? request.getAmountToBePaid() : 0.0);
-
-    // Save order to get ID
-    EOrder savedOrder = orderRepository.save(order);
-
-    // Create initial status history
-    createStatusHistory(savedOrder, null, OrderStatus.PENDING, "Order created - pending orchestration");
-
-    // Create SAGA ID and publish OrderCreated event
-    UUID sagaId = UUID.randomUUID();
+    order.setSubtotal(0L);
+    order.setDiscountAmount(0L);
+    order.setTaxAmount(0L);
+    order.setShippingAmount(0L);
+    order.setTotalAmount(0L);
+
+    // Initialize payment amounts from request, rounded to the currency's precision
+    order.setPaidAmount(Money.fromDouble(request.getPaidAmount(), request.getCurrency()));
+    order.setAmountToBePaid(Money.fromDouble(request.getAmountToBePaid(), request.getCurrency()));
+    return order;
+  }
 
+  private OrderCreatedEvent toOrderCreatedEvent(EOrder savedOrder, CreateOrderRequest request,
+      TAccountRequest accountRequest, UUID sagaId) {
     // Convert request to event structure
     List<OrderCreatedEvent.CheckoutItem> eventCheckoutItems = request.getCheckoutItems().stream()
         .map(checkoutItem -> OrderCreatedEvent.CheckoutItem.builder()
@@ -108,7 +291,7 @@ public class OrderServiceImpl implements OrderService {
             .build())
         .collect(Collectors.toList());
 
-    OrderCreatedEvent event = OrderCreatedEvent.builder()
+    return OrderCreatedEvent.builder()
         .eventId(UUID.randomUUID())
         .sagaId(sagaId)
         .orderId(savedOrder.getId())
@@ -126,22 +309,33 @@ public class OrderServiceImpl implements OrderService {
         .shippingDiscountId(request.getShippingDiscountId())
         .globalProductDiscountId(request.getGlobalProductDiscountId())
         .build();
-
-    // Publish event to Kafka
-    orderEventProducer.publishOrderCreated(event);
-
-    log.info("Created order with ID: {}, number: {}, sagaId: {}",
-        savedOrder.getId(), savedOrder.getOrderNumber(), sagaId);
-
-    return orderMapper.toOrderResponse(savedOrder);
   }
 
   @Override
   public OrderResponse getOrderById(UUID id) {
-    EOrder order = orderRepository.findById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id));
+    // Concurrent polls of the same order share one load
+    return readWithFallback("getOrderById", () -> requestCoalescer.execute("getOrderById", id,
+        () -> orderRepository.findById(id)
+            .map(orderMapper::toOrderResponse)
+            // Cold terminal orders live in the archive once moved out of the database
+            .or(() -> orderArchive.findOrder(id).map(ArchivedOrder::getOrder))
+            .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id))), id);
+  }
 
-    return orderMapper.toOrderResponse(order);
+  /**
+   * Run a read against the caller's region, falling back to its neighbour
+   * when the region fails. The filter region is part of the cache key, so a
+   * result cached for one caller is never replayed past another's filter.
+   * Outside a request there is no region to fall back from.
+   */
+  private <T> T readWithFallback(String operation, Supplier<T> read, Object... args) {
+    RegionPartition region = RegionContextHolder.get();
+    if (region == null) {
+      return read.get();
+    }
+    Object[] key = Arrays.copyOf(args, args.length + 1);
+    key[args.length] = RegionContextHolder.getFilterRegion();
+    return regionalFallbackService.executeWithFallback(region, operation, read, key);
   }
 
   @Override
@@ -152,54 +346,49 @@ public class OrderServiceImpl implements OrderService {
   }
 
   @Override
-  public Page<OrderResponse> getAllOrders(Pageable pageable) {
-    // This would typically involve a custom query in the repository with pagination
-    List<OrderResponse> allOrders = getAllOrders();
-
-    return createPage(allOrders, pageable);
+  public Page<OrderResponse> getAllOrders(Pageable pageable, boolean summary) {
+    // List views page over the denormalized order view instead of loading orders and items
+    return toListPage(orderViewRepository.findAll(newestFirst(pageable)), summary);
   }
 
-  public List<OrderResponse> getOrdersByCustomerId(Long customerId) {
-    // This would typically involve a custom query in the repository
-    return orderRepository.findAll().stream()
-        .filter(order -> order.getCustomerId().equals(customerId))
-        .map(orderMapper::toOrderResponse)
-        .collect(Collectors.toList());
+  @Override
+  public Page<OrderResponse> getOrdersByCustomerId(Long customerId, Pageable pageable, boolean summary) {
+    return toListPage(orderViewRepository.findByCustomerId(customerId, newestFirst(pageable)), summary);
   }
 
   @Override
-  public Page<OrderResponse> getOrdersByCustomerId(Long customerId, Pageable pageable) {
-    // Get all orders for the customer
-    List<EOrder> customerOrders = orderRepository.findAll().stream()
-        .filter(order -> order.getCustomerId().equals(customerId))
-        .collect(Collectors.toList());
-
-    List<OrderResponse> responses = customerOrders.stream()
-        .map(orderMapper::toOrderResponse)
-        .collect(Collectors.toList());
-
-    return createPage(responses, pageable);
+  public Page<OrderResponse> getOrdersByStatus(OrderStatus status, Pageable pageable, boolean summary) {
+    return toListPage(orderViewRepository.findByStatus(status, newestFirst(pageable)), summary);
   }
 
-  public List<OrderResponse> getOrdersByStatus(OrderStatus status) {
-    // This would typically involve a custom query in the repository
-    return orderRepository.findAll().stream()
-        .filter(order -> order.getStatus() == status)
-        .map(orderMapper::toOrderResponse)
-        .collect(Collectors.toList());
+  /**
+   * Map a page of view rows. Unless the caller asked for the summary shape,
+   * the page's items are attached with one query, so list responses keep
+   * their {@code orderItems}.
+   */
+  private Page<OrderResponse> toListPage(Page<EOrderView> views, boolean summary) {
+    Page<OrderResponse> page = views.map(orderMapper::toOrderResponse);
+    if (summary || page.isEmpty()) {
+      return page;
+    }
+    List<UUID> orderIds = page.getContent().stream().map(OrderResponse::getId).toList();
+    Map<UUID, List<OrderItemResponse>> itemsByOrder = new HashMap<>();
+    for (EOrderItem item : orderItemRepository.findByOrderIdIn(orderIds)) {
+      itemsByOrder.computeIfAbsent(item.getOrder().getId(), id -> new ArrayList<>())
+          .add(orderMapper.toOrderItemResponse(item));
+    }
+    for (OrderResponse order : page) {
+      order.setOrderItems(itemsByOrder.getOrDefault(order.getId(), List.of()));
+    }
+    return page;
   }
 
   @Override
-  public Page<OrderResponse> getOrdersByStatus(OrderStatus status, Pageable pageable) {
-    // This would typically involve a custom query in the repository with pagination
-    List<OrderResponse> statusOrders = getOrdersByStatus(status);
-
-    return createPage(statusOrders, pageable);
+  public OrderResponse updateOrderStatus(UUID id, OrderStatus status, String reason) {
+    return orderMutationExecutor.execute(id, "updateOrderStatus", () -> doUpdateOrderStatus(id, status, reason));
   }
 
-  @Override
-  @Transactional
-  public OrderResponse updateOrderStatus(UUID id, OrderStatus status, String reason) {
+  private OrderResponse doUpdateOrderStatus(UUID id, OrderStatus status, String reason) {
     EOrder order = orderRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id));
 
@@ -224,18 +413,19 @@ public class OrderServiceImpl implements OrderService {
   }
 
   @Override
-  @Transactional
   public OrderResponse cancelOrder(UUID id, String reason) {
-    EOrder order = orderRepository.findById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id));
-
-    // Check if the order can be cancelled
-    if (order.getStatus() == OrderStatus.DELIVERED ||
-        order.getStatus() == OrderStatus.SHIPPED) {
-      throw new BaseException("Cannot cancel order that is already shipped or delivered");
-    }
+    return orderMutationExecutor.execute(id, "cancelOrder", () -> {
+      EOrder order = orderRepository.findById(id)
+          .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id));
+
+      // Check if the order can be cancelled
+      if (order.getStatus() == OrderStatus.DELIVERED ||
+          order.getStatus() == OrderStatus.SHIPPED) {
+        throw new BaseException("Cannot cancel order that is already shipped or delivered");
+      }
 
-    return updateOrderStatus(id, OrderStatus.CANCELLED, reason);
+      return doUpdateOrderStatus(id, OrderStatus.CANCELLED, reason);
+    });
   }
 
   @Override
@@ -251,19 +441,23 @@ public class OrderServiceImpl implements OrderService {
   // Payment-related methods implementation
 
   @Override
-  @Transactional
   public void updateOrderPaymentAmounts(UUID orderId, BigDecimal paidAmount, BigDecimal amountToBePaid) {
+    orderMutationExecutor.run(orderId, "updateOrderPaymentAmounts",
+        () -> doUpdateOrderPaymentAmounts(orderId, paidAmount, amountToBePaid));
+  }
+
+  private void doUpdateOrderPaymentAmounts(UUID orderId, BigDecimal paidAmount, BigDecimal amountToBePaid) {
     EOrder order = orderRepository.findById(orderId)
         .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + orderId));
 
-    order.setPaidAmount(paidAmount.doubleValue());
-    order.setAmountToBePaid(amountToBePaid.doubleValue());
+    order.setPaidAmount(Money.fromDecimal(paidAmount));
+    order.setAmountToBePaid(Money.fromDecimal(amountToBePaid));
     
     orderRepository.save(order);
 
     // Create status history for payment update
-    String reason = String.format("Payment amounts updated - Paid: $%.2f, To be paid: $%.2f", 
-        paidAmount.doubleValue(), amountToBePaid.doubleValue());
+    String reason = String.format("Payment amounts updated - Paid: $%s, To be paid: $%s", 
+        Money.format(order.getPaidAmount()), Money.format(order.getAmountToBePaid()));
     createStatusHistory(order, order.getStatus(), order.getStatus(), reason);
 
     log.info("Updated payment amounts for order {}. Paid: {}, To be paid: {}", 
@@ -271,95 +465,64 @@ public class OrderServiceImpl implements OrderService {
   }
 
   @Override
-  @Transactional
   public void markOrderAsPaid(UUID orderId, BigDecimal paidAmount) {
+    orderMutationExecutor.run(orderId, "markOrderAsPaid", () -> doMarkOrderAsPaid(orderId, paidAmount));
+  }
+
+  private void doMarkOrderAsPaid(UUID orderId, BigDecimal paidAmount) {
     EOrder order = orderRepository.findById(orderId)
         .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + orderId));
 
-    order.setPaidAmount(paidAmount.doubleValue());
-    order.setAmountToBePaid(0.0);
+    order.setPaidAmount(Money.fromDecimal(paidAmount));
+    order.setAmountToBePaid(0L);
     
     orderRepository.save(order);
 
     // Create status history for payment completion
-    String reason = String.format("Order marked as paid - Amount: $%.2f", paidAmount.doubleValue());
+    String reason = String.format("Order marked as paid - Amount: $%s", Money.format(order.getPaidAmount()));
     createStatusHistory(order, order.getStatus(), order.getStatus(), reason);
 
     log.info("Marked order {} as paid with amount: {}", orderId, paidAmount);
   }
 
   @Override
-  @Transactional
   public void markOrderAsUnpaid(UUID orderId) {
+    orderMutationExecutor.run(orderId, "markOrderAsUnpaid", () -> doMarkOrderAsUnpaid(orderId));
+  }
+
+  private void doMarkOrderAsUnpaid(UUID orderId) {
     EOrder order = orderRepository.findById(orderId)
         .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + orderId));
 
-    order.setPaidAmount(0.0);
+    order.setPaidAmount(0L);
     order.setAmountToBePaid(order.getTotalAmount());
     
     orderRepository.save(order);
 
     // Create status history for payment reset
-    String reason = String.format("Order marked as unpaid - Amount to be paid: $%.2f", order.getTotalAmount());
+    String reason = String.format("Order marked as unpaid - Amount to be paid: $%s", Money.format(order.getTotalAmount()));
     createStatusHistory(order, order.getStatus(), order.getStatus(), reason);
 
-    log.info("Marked order {} as unpaid. Amount to be paid: {}", orderId, order.getTotalAmount());
+    log.info("Marked order {} as unpaid. Amount to be paid: {}", orderId, Money.format(order.getTotalAmount()));
   }
 
   @Override
-  public Page<OrderResponse> getOrdersContainingVendorProducts(Long vendorId, Pageable pageable) {
-    // Get all order items for the vendor
-    List<EOrderItem> vendorItems = orderItemRepository.findAll().stream()
-        .filter(item -> item.getVendorId().equals(vendorId))
-        .collect(Collectors.toList());
-
-    // Get unique order IDs
-    List<UUID> orderIds = vendorItems.stream()
-        .map(item -> item.getOrder().getId())
-        .distinct()
-        .collect(Collectors.toList());
-
-    // Get orders
-    List<EOrder> orders = orderRepository.findAll().stream()
-        .filter(order -> orderIds.contains(order.getId()))
-        .collect(Collectors.toList());
-
-    List<OrderResponse> orderResponses = orders.stream()
-        .map(orderMapper::toOrderResponse)
-        .collect(Collectors.toList());
-
-    return createPage(orderResponses, pageable);
+  public Page<OrderResponse> getOrdersContainingVendorProducts(Long vendorId, Pageable pageable, boolean summary) {
+    return toListPage(orderViewRepository.findByVendorId(vendorId, newestFirst(pageable)), summary);
   }
 
   @Override
   public Page<OrderResponse> searchOrders(Long customerId, String orderNumber, OrderStatus status,
-      LocalDate startDate, LocalDate endDate, Double minAmount, Double maxAmount, Pageable pageable) {
-
-    // This would typically involve a custom query in the repository with pagination
-    // For now, we'll filter the orders in memory
-
-    List<EOrder> allOrders = orderRepository.findAll();
-
-    // Apply filters
-    List<EOrder> filteredOrders = allOrders.stream()
-        .filter(order -> customerId == null || order.getCustomerId().equals(customerId))
-        .filter(order -> orderNumber == null || order.getOrderNumber().contains(orderNumber))
-        .filter(order -> status == null || order.getStatus() == status)
-        .filter(order -> startDate == null ||
-            order.getCreatedDate().atZone(java.time.ZoneId.systemDefault()).toLocalDate().isAfter(startDate) ||
-            order.getCreatedDate().atZone(java.time.ZoneId.systemDefault()).toLocalDate().isEqual(startDate))
-        .filter(order -> endDate == null ||
-            order.getCreatedDate().atZone(java.time.ZoneId.systemDefault()).toLocalDate().isBefore(endDate) ||
-            order.getCreatedDate().atZone(java.time.ZoneId.systemDefault()).toLocalDate().isEqual(endDate))
-        .filter(order -> minAmount == null || order.getTotalAmount() >= minAmount)
-        .filter(order -> maxAmount == null || order.getTotalAmount() <= maxAmount)
-        .collect(Collectors.toList());
-
-    List<OrderResponse> orderResponses = filteredOrders.stream()
-        .map(orderMapper::toOrderResponse)
-        .collect(Collectors.toList());
-
-    return createPage(orderResponses, pageable);
+      LocalDate startDate, LocalDate endDate, Double minAmount, Double maxAmount, Pageable pageable,
+      boolean summary) {
+    java.time.ZoneId zone = java.time.ZoneId.systemDefault();
+    Instant from = startDate != null ? startDate.atStartOfDay(zone).toInstant() : null;
+    Instant to = endDate != null ? endDate.plusDays(1).atStartOfDay(zone).toInstant() : null;
+
+    return toListPage(orderViewRepository.search(customerId, SearchPatterns.contains(orderNumber), status, from, to,
+        minAmount != null ? Money.fromDouble(minAmount) : null,
+        maxAmount != null ? Money.fromDouble(maxAmount) : null,
+        newestFirst(pageable)), summary);
   }
 
   @Override
@@ -376,11 +539,13 @@ public class OrderServiceImpl implements OrderService {
     // Calculate summary metrics
     int totalOrders = customerOrders.size();
 
-    double totalSpent = customerOrders.stream()
-        .mapToDouble(EOrder::getTotalAmount)
-        .sum();
+    long totalSpentMinor = 0L;
+    for (EOrder order : customerOrders) {
+      totalSpentMinor += order.getTotalAmount();
+    }
 
-    double averageOrderValue = totalSpent / totalOrders;
+    double totalSpent = Money.toDouble(totalSpentMinor);
+    double averageOrderValue = Money.toDouble(Money.divideHalfEven(totalSpentMinor, totalOrders));
 
     java.time.Instant firstOrderDate = customerOrders.stream()
         .map(EOrder::getCreatedDate)
@@ -562,12 +727,6 @@ public class OrderServiceImpl implements OrderService {
 
   @Override
   public Map<String, Object> getVendorSalesReport(Long vendorId, LocalDate startDate, LocalDate endDate) {
-    // Get all order items for the vendor
-    List<EOrderItem> vendorItems = orderItemRepository.findAll().stream()
-        .filter(item -> item.getVendorId().equals(vendorId))
-        .collect(Collectors.toList());
-
-    // Filter by date range
     java.time.Instant startInstant = startDate != null
         ? startDate.atStartOfDay(java.time.ZoneId.systemDefault()).toInstant()
         : java.time.Instant.EPOCH;
@@ -576,52 +735,25 @@ public class OrderServiceImpl implements OrderService {
         ? endDate.plusDays(1).atStartOfDay(java.time.ZoneId.systemDefault()).toInstant()
         : java.time.Instant.now();
 
-    List<EOrderItem> filteredItems = vendorItems.stream()
-        .filter(item -> {
-          java.time.Instant itemDate = item.getCreatedDate();
-          return !itemDate.isBefore(startInstant) && !itemDate.isAfter(endInstant);
-        })
-        .collect(Collectors.toList());
+    // Aggregated over the columnar snapshot, or the vendor's rows loaded for this range
+    VendorActivitySnapshot.SalesSummary sales = vendorActivitySnapshots.forItems(vendorId, startInstant, endInstant)
+        .salesSummary(vendorId, startInstant, endInstant);
 
     // Calculate sales metrics
-    List<UUID> uniqueOrderIds = filteredItems.stream()
-        .map(item -> item.getOrder().getId())
-        .distinct()
-        .collect(Collectors.toList());
-    int totalOrders = uniqueOrderIds.size();
-
-    int totalItemsSold = filteredItems.stream()
-        .mapToInt(EOrderItem::getQuantity)
-        .sum();
-
-    double totalSales = filteredItems.stream()
-        .mapToDouble(EOrderItem::getTotalPrice)
-        .sum();
-
-    double averageOrderValue = totalOrders > 0 ? totalSales / totalOrders : 0;
-
-    // Sales by product
-    Map<String, Integer> salesByProduct = new HashMap<>();
-    for (EOrderItem item : filteredItems) {
-      String productName = item.getProductName();
-      salesByProduct.put(productName, salesByProduct.getOrDefault(productName, 0) + item.getQuantity());
-    }
+    int totalOrders = sales.totalOrders();
+    int totalItemsSold = (int) sales.totalItemsSold();
+    double totalSales = Money.toDouble(sales.totalSalesMinor());
+    double averageOrderValue = totalOrders > 0
+        ? Money.toDouble(Money.divideHalfEven(sales.totalSalesMinor(), totalOrders))
+        : 0;
 
     // Sales by category
     Map<String, Double> salesByCategory = new HashMap<>();
-    for (EOrderItem item : filteredItems) {
-      if (item.getProductCategory() != null) {
-        String category = item.getProductCategory();
-        salesByCategory.put(category, salesByCategory.getOrDefault(category, 0.0) + item.getTotalPrice());
-      }
-    }
+    sales.salesByCategoryMinor().forEach((category, minor) -> salesByCategory.put(category, Money.toDouble(minor)));
 
     // Sales by day
     Map<String, Double> salesByDay = new HashMap<>();
-    for (EOrderItem item : filteredItems) {
-      String day = item.getCreatedDate().atZone(java.time.ZoneId.systemDefault()).toLocalDate().toString();
-      salesByDay.put(day, salesByDay.getOrDefault(day, 0.0) + item.getTotalPrice());
-    }
+    sales.salesByDayMinor().forEach((day, minor) -> salesByDay.put(day.toString(), Money.toDouble(minor)));
 
     // Create report
     Map<String, Object> report = new HashMap<>();
@@ -632,7 +764,7 @@ public class OrderServiceImpl implements OrderService {
     report.put("totalItemsSold", totalItemsSold);
     report.put("totalSales", totalSales);
     report.put("averageOrderValue", averageOrderValue);
-    report.put("salesByProduct", salesByProduct);
+    report.put("salesByProduct", sales.quantityByProductName());
     report.put("salesByCategory", salesByCategory);
     report.put("salesByDay", salesByDay);
 
@@ -705,6 +837,16 @@ public class OrderServiceImpl implements OrderService {
         .build();
 
     orderStatusHistoryRepository.save(statusHistory);
+
+    // Push the transition to order and customer streams once the transaction commits
+    orderStatusPublisher.publish(OrderStatusStreamEvent.builder()
+        .kind(OrderStatusStreamEvent.Kind.ORDER)
+        .orderId(order.getId())
+        .customerId(order.getCustomerId())
+        .oldStatus(oldStatus != null ? oldStatus.name() : null)
+        .newStatus(newStatus.name())
+        .reason(reason)
+        .build());
   }
 
   private void updateOrderItemsStatus(EOrder order, OrderStatus orderStatus) {
@@ -736,19 +878,12 @@ public class OrderServiceImpl implements OrderService {
   }
 
   /**
-   * Create a Page object from a list with pagination
+   * Unsorted pages list the newest orders first, which the view's indexes serve
    */
-  private <T> Page<T> createPage(List<T> list, Pageable pageable) {
-    int start = (int) pageable.getOffset();
-    int end = Math.min((start + pageable.getPageSize()), list.size());
-
-    if (start > list.size()) {
-      return new PageImpl<>(List.of(), pageable, list.size());
+  private static Pageable newestFirst(Pageable pageable) {
+    if (pageable.isUnpaged() || pageable.getSort().isSorted()) {
+      return pageable;
     }
-
-    return new PageImpl<>(
-        list.subList(start, end),
-        pageable,
-        list.size());
+    return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Direction.DESC, "createdDate"));
   }
 }
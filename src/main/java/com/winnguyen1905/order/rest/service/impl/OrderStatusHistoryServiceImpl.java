@@ -18,6 +18,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.winnguyen1905.order.common.constant.OrderStatus;
+import com.winnguyen1905.order.core.concurrency.RequestCoalescer;
 import com.winnguyen1905.order.model.response.OrderStatusHistoryResponse;
 import com.winnguyen1905.order.model.response.StatusTransitionSummary;
 import com.winnguyen1905.order.persistance.entity.EOrder;
@@ -38,6 +39,7 @@ public class OrderStatusHistoryServiceImpl implements OrderStatusHistoryService
     private final OrderStatusHistoryRepository orderStatusHistoryRepository;
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
+    private final RequestCoalescer requestCoalescer;
 
     @Override
     public OrderStatusHistoryResponse getStatusHistoryById(UUID id) {
@@ -49,15 +51,11 @@ public class OrderStatusHistoryServiceImpl implements OrderStatusHistoryService
 
     @Override
     public List<OrderStatusHistoryResponse> getStatusHistoryByOrderId(UUID orderId) {
-        // This would typically involve a custom query in the repository
-        List<EOrderStatusHistory> history = orderStatusHistoryRepository.findAll().stream()
-                .filter(h -> h.getOrder().getId().equals(orderId))
-                .sorted((h1, h2) -> h1.getCreatedDate().compareTo(h2.getCreatedDate()))
-                .collect(Collectors.toList());
-        
-        return history.stream()
-                .map(orderMapper::toOrderStatusHistoryResponse)
-                .collect(Collectors.toList());
+        // Concurrent polls of the same order share one query
+        return requestCoalescer.execute("getStatusHistoryByOrderId", orderId, () ->
+                orderStatusHistoryRepository.findByOrderIdOrderByCreatedDateAsc(orderId).stream()
+                        .map(orderMapper::toOrderStatusHistoryResponse)
+                        .collect(Collectors.toList()));
     }
     
     @Override
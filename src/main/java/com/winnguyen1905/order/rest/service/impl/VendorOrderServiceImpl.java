@@ -1,5 +1,6 @@
 package com.winnguyen1905.order.rest.service.impl;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -16,19 +17,34 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.winnguyen1905.order.common.constant.OrderItemStatus;
 import com.winnguyen1905.order.common.constant.VendorOrderStatus;
+import com.winnguyen1905.order.core.analytics.HeavyHitterSketch;
+import com.winnguyen1905.order.core.analytics.HyperLogLog;
+import com.winnguyen1905.order.core.analytics.TDigest;
+import com.winnguyen1905.order.core.analytics.VendorActivitySnapshot;
+import com.winnguyen1905.order.core.analytics.VendorActivitySnapshotStore;
+import com.winnguyen1905.order.core.analytics.VendorPerformanceEngine;
+import com.winnguyen1905.order.core.analytics.VendorPerformanceReport;
+import com.winnguyen1905.order.core.analytics.VendorSketchJob;
+import com.winnguyen1905.order.core.stream.OrderStatusPublisher;
+import com.winnguyen1905.order.core.stream.OrderStatusStreamEvent;
 import com.winnguyen1905.order.model.request.CreateVendorOrderRequest;
 import com.winnguyen1905.order.model.request.VendorShippingUpdateRequest;
+import com.winnguyen1905.order.model.response.VendorAudienceMetricsResponse;
 import com.winnguyen1905.order.model.response.VendorOrderAnalyticsResponse;
 import com.winnguyen1905.order.model.response.VendorOrderResponse;
 import com.winnguyen1905.order.model.response.VendorPerformanceResponse;
 import com.winnguyen1905.order.persistance.entity.EOrder;
 import com.winnguyen1905.order.persistance.entity.EOrderItem;
+import com.winnguyen1905.order.persistance.entity.EVendorDailySketch;
 import com.winnguyen1905.order.persistance.entity.EVendorOrder;
 import com.winnguyen1905.order.persistance.repository.OrderItemRepository;
 import com.winnguyen1905.order.persistance.repository.OrderRepository;
+import com.winnguyen1905.order.persistance.repository.VendorDailySketchRepository;
 import com.winnguyen1905.order.persistance.repository.VendorOrderRepository;
 import com.winnguyen1905.order.rest.service.VendorOrderService;
 import com.winnguyen1905.order.secure.BaseException;
+import com.winnguyen1905.order.util.Money;
+import com.winnguyen1905.order.util.SearchPatterns;
 import com.winnguyen1905.order.util.OrderMapper;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -39,10 +55,18 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 @Slf4j
 public class VendorOrderServiceImpl implements VendorOrderService {
+  private static final int TOP_SELLING_PRODUCTS = 5;
+  private static final double ON_TIME_RATE_TARGET = 0.95;
+  private static final double CANCELLATION_RATE_TARGET = 0.02;
+
   private final VendorOrderRepository vendorOrderRepository;
   private final OrderRepository orderRepository;
   private final OrderItemRepository orderItemRepository;
   private final OrderMapper orderMapper;
+  private final OrderStatusPublisher orderStatusPublisher;
+  private final VendorActivitySnapshotStore vendorActivitySnapshots;
+  private final VendorDailySketchRepository vendorDailySketchRepository;
+  private final VendorPerformanceEngine vendorPerformanceEngine;
 
   @Override
   @Transactional
@@ -61,10 +85,10 @@ public class VendorOrderServiceImpl implements VendorOrderService {
     }
 
     // Calculate subtotal of items from this vendor
-    double subtotal = orderItemRepository.findAll().stream()
+    long subtotal = orderItemRepository.findAll().stream()
         .filter(item -> item.getOrder().getId().equals(orderId)
             && item.getVendorId().equals(request.getVendorId()))
-        .mapToDouble(EOrderItem::getTotalPrice)
+        .mapToLong(EOrderItem::getTotalPrice)
         .sum();
 
     if (subtotal <= 0) {
@@ -75,8 +99,8 @@ public class VendorOrderServiceImpl implements VendorOrderService {
     EVendorOrder vendorOrder = orderMapper.toVendorOrderEntity(request, order, subtotal);
 
     // Calculate commission amount and vendor payout
-    double commissionAmount = subtotal * (request.getCommissionRate() / 100.0);
-    double vendorPayout = subtotal - commissionAmount;
+    long commissionAmount = Money.percentOf(subtotal, request.getCommissionRate());
+    long vendorPayout = subtotal - commissionAmount;
 
     vendorOrder.setCommissionAmount(commissionAmount);
     vendorOrder.setVendorPayout(vendorPayout);
@@ -87,6 +111,7 @@ public class VendorOrderServiceImpl implements VendorOrderService {
 
     // Save vendor order
     vendorOrder = vendorOrderRepository.save(vendorOrder);
+    publishStatusChange(vendorOrder, null, "Vendor order created");
 
     log.info("Created vendor order with ID: {}, for vendor: {}, order: {}",
         vendorOrder.getId(), request.getVendorId(), orderId);
@@ -168,10 +193,12 @@ public class VendorOrderServiceImpl implements VendorOrderService {
 
     VendorOrderStatus oldStatus = vendorOrder.getStatus();
     vendorOrder.setStatus(status);
+    stampTransition(vendorOrder);
     EVendorOrder savedVendorOrder = vendorOrderRepository.save(vendorOrder);
 
     // Update order items status if needed
     updateOrderItemsStatus(savedVendorOrder, status);
+    publishStatusChange(savedVendorOrder, oldStatus, null);
 
     log.info("Updated vendor order status. ID: {}, Old status: {}, New status: {}",
         id, oldStatus, status);
@@ -201,33 +228,16 @@ public class VendorOrderServiceImpl implements VendorOrderService {
       LocalDate startDate, LocalDate endDate,
       Double minAmount, Double maxAmount, Pageable pageable) {
 
-    // This would typically involve a custom query in the repository with pagination
-    // For now, we'll filter the vendor orders in memory
-
-    List<EVendorOrder> allVendorOrders = vendorOrderRepository.findAll();
-
-    // Apply filters
-    List<EVendorOrder> filteredOrders = allVendorOrders.stream()
-        .filter(vo -> vendorId == null || vo.getVendorId().equals(vendorId))
-        .filter(vo -> orderNumber == null ||
-            vo.getVendorOrderNumber().contains(orderNumber) ||
-            vo.getOrder().getOrderNumber().contains(orderNumber))
-        .filter(vo -> status == null || vo.getStatus() == status)
-        .filter(vo -> startDate == null ||
-            vo.getCreatedDate().atZone(java.time.ZoneId.systemDefault()).toLocalDate().isAfter(startDate) ||
-            vo.getCreatedDate().atZone(java.time.ZoneId.systemDefault()).toLocalDate().isEqual(startDate))
-        .filter(vo -> endDate == null ||
-            vo.getCreatedDate().atZone(java.time.ZoneId.systemDefault()).toLocalDate().isBefore(endDate) ||
-            vo.getCreatedDate().atZone(java.time.ZoneId.systemDefault()).toLocalDate().isEqual(endDate))
-        .filter(vo -> minAmount == null || vo.getSubtotal() >= minAmount)
-        .filter(vo -> maxAmount == null || vo.getSubtotal() <= maxAmount)
-        .collect(Collectors.toList());
-
-    List<VendorOrderResponse> responses = filteredOrders.stream()
-        .map(orderMapper::toVendorOrderResponse)
-        .collect(Collectors.toList());
+    java.time.ZoneId zone = java.time.ZoneId.systemDefault();
+    Instant from = startDate != null ? startDate.atStartOfDay(zone).toInstant() : null;
+    Instant to = endDate != null ? endDate.plusDays(1).atStartOfDay(zone).toInstant() : null;
 
-    return createPage(responses, pageable);
+    // Partial order numbers are served by the trigram indexes on both number columns
+    return vendorOrderRepository.search(vendorId, SearchPatterns.contains(orderNumber), status, from, to,
+        minAmount != null ? Money.fromDouble(minAmount) : null,
+        maxAmount != null ? Money.fromDouble(maxAmount) : null,
+        pageable)
+        .map(orderMapper::toVendorOrderResponse);
   }
 
   @Override
@@ -245,8 +255,11 @@ public class VendorOrderServiceImpl implements VendorOrderService {
 
     // In a real application, we would store shipping info in a separate entity
     // For now, we'll update the vendor order status
+    VendorOrderStatus oldStatus = vendorOrder.getStatus();
     vendorOrder.setStatus(VendorOrderStatus.SHIPPED);
+    stampTransition(vendorOrder);
     EVendorOrder savedVendorOrder = vendorOrderRepository.save(vendorOrder);
+    publishStatusChange(savedVendorOrder, oldStatus, "Shipped, tracking " + request.getTrackingNumber());
 
     // Update order items status
     List<EOrderItem> orderItems = orderItemRepository.findAll().stream()
@@ -285,7 +298,10 @@ public class VendorOrderServiceImpl implements VendorOrderService {
 
     // Update vendor order status
     vendorOrder.setStatus(VendorOrderStatus.CONFIRMED);
+    vendorOrder.setPromisedShipDate(estimatedShippingDate);
+    stampTransition(vendorOrder);
     EVendorOrder savedVendorOrder = vendorOrderRepository.save(vendorOrder);
+    publishStatusChange(savedVendorOrder, VendorOrderStatus.PENDING, notes);
 
     // Update order items status
     List<EOrderItem> orderItems = orderItemRepository.findAll().stream()
@@ -317,7 +333,9 @@ public class VendorOrderServiceImpl implements VendorOrderService {
 
     // Update vendor order status
     vendorOrder.setStatus(VendorOrderStatus.CANCELLED);
+    stampTransition(vendorOrder);
     EVendorOrder savedVendorOrder = vendorOrderRepository.save(vendorOrder);
+    publishStatusChange(savedVendorOrder, VendorOrderStatus.PENDING, reason);
 
     // Update order items status
     List<EOrderItem> orderItems = orderItemRepository.findAll().stream()
@@ -337,12 +355,6 @@ public class VendorOrderServiceImpl implements VendorOrderService {
 
   @Override
   public VendorOrderAnalyticsResponse getVendorOrderAnalytics(Long vendorId, LocalDate startDate, LocalDate endDate) {
-    // Get all vendor orders for the vendor
-    List<EVendorOrder> vendorOrders = vendorOrderRepository.findAll().stream()
-        .filter(vo -> vo.getVendorId().equals(vendorId))
-        .collect(Collectors.toList());
-
-    // Filter by date range
     java.time.Instant startInstant = startDate != null
         ? startDate.atStartOfDay(java.time.ZoneId.systemDefault()).toInstant()
         : java.time.Instant.EPOCH;
@@ -351,52 +363,33 @@ public class VendorOrderServiceImpl implements VendorOrderService {
         ? endDate.plusDays(1).atStartOfDay(java.time.ZoneId.systemDefault()).toInstant()
         : java.time.Instant.now();
 
-    List<EVendorOrder> filteredOrders = vendorOrders.stream()
-        .filter(vo -> {
-          java.time.Instant orderDate = vo.getCreatedDate();
-          return !orderDate.isBefore(startInstant) && !orderDate.isAfter(endInstant);
-        })
-        .collect(Collectors.toList());
+    // Aggregated over the columnar snapshot, or the vendor's rows loaded for this range
+    VendorActivitySnapshot snapshot = vendorActivitySnapshots.forVendorActivity(vendorId, startInstant, endInstant);
+    VendorActivitySnapshot.OrderSummary orders = snapshot.orderSummary(vendorId, startInstant, endInstant);
 
     // Calculate analytics
-    int totalOrders = filteredOrders.size();
-
-    double totalOrderValue = filteredOrders.stream()
-        .mapToDouble(EVendorOrder::getSubtotal)
-        .sum();
-
-    double averageOrderValue = totalOrders > 0 ? totalOrderValue / totalOrders : 0;
-
-    // Orders by status
-    Map<VendorOrderStatus, Integer> ordersByStatus = new HashMap<>();
-    for (EVendorOrder vo : filteredOrders) {
-      ordersByStatus.put(vo.getStatus(), ordersByStatus.getOrDefault(vo.getStatus(), 0) + 1);
-    }
+    int totalOrders = orders.totalOrders();
+    double totalOrderValue = Money.toDouble(orders.totalValueMinor());
+    double averageOrderValue = totalOrders > 0
+        ? Money.toDouble(Money.divideHalfEven(orders.totalValueMinor(), totalOrders))
+        : 0;
 
     // Performance metrics
-    double fulfillmentRate = calculateRate(filteredOrders, VendorOrderStatus.DELIVERED);
-    double cancelationRate = calculateRate(filteredOrders, VendorOrderStatus.CANCELLED);
+    double fulfillmentRate = calculateRate(orders, VendorOrderStatus.DELIVERED);
+    double cancelationRate = calculateRate(orders, VendorOrderStatus.CANCELLED);
 
-    // Time metrics (in a real app, this would involve more complex calculations)
-    double averageFulfillmentTimeInHours = 48.0; // Mock value
-    double averageTimeToAcceptInHours = 2.5; // Mock value
+    // Time metrics from the vendor orders' transition timestamps
+    VendorPerformanceReport performance = vendorPerformanceEngine.report(vendorId,
+        startDate != null ? startDate : LocalDate.EPOCH, endDate != null ? endDate : LocalDate.now());
+    double averageFulfillmentTimeInHours = orZero(performance.averageFulfillmentHours());
+    double averageTimeToAcceptInHours = orZero(performance.averageAcceptHours());
 
     // Product metrics
-    List<VendorOrderAnalyticsResponse.ProductPerformance> topSellingProducts = getTopSellingProducts(vendorId,
-        startInstant, endInstant);
+    List<VendorOrderAnalyticsResponse.ProductPerformance> topSellingProducts = getTopSellingProducts(snapshot,
+        vendorId, startInstant, endInstant);
 
-    // Order count by day
-    Map<LocalDate, Integer> orderCountByDay = new HashMap<>();
     Map<LocalDate, Double> revenueByDay = new HashMap<>();
-
-    for (EVendorOrder vo : filteredOrders) {
-      LocalDate orderDate = vo.getCreatedDate()
-          .atZone(java.time.ZoneId.systemDefault())
-          .toLocalDate();
-
-      orderCountByDay.put(orderDate, orderCountByDay.getOrDefault(orderDate, 0) + 1);
-      revenueByDay.put(orderDate, revenueByDay.getOrDefault(orderDate, 0.0) + vo.getSubtotal());
-    }
+    orders.revenueByDayMinor().forEach((day, minor) -> revenueByDay.put(day, Money.toDouble(minor)));
 
     // Build and return analytics response
     return VendorOrderAnalyticsResponse.builder()
@@ -406,92 +399,131 @@ public class VendorOrderServiceImpl implements VendorOrderService {
         .totalOrders(totalOrders)
         .totalOrderValue(totalOrderValue)
         .averageOrderValue(averageOrderValue)
-        .ordersByStatus(ordersByStatus)
+        .ordersByStatus(orders.ordersByStatus())
         .fulfillmentRate(fulfillmentRate)
         .cancelationRate(cancelationRate)
         .averageFulfillmentTimeInHours(averageFulfillmentTimeInHours)
         .averageTimeToAcceptInHours(averageTimeToAcceptInHours)
         .topSellingProducts(topSellingProducts)
-        .uniqueCustomers(getUniqueCustomersCount(filteredOrders))
-        .orderCountByDay(orderCountByDay)
+        .uniqueCustomers(orders.uniqueCustomers())
+        .orderCountByDay(orders.orderCountByDay())
         .revenueByDay(revenueByDay)
         .build();
   }
 
   @Override
   public VendorPerformanceResponse getVendorPerformance(Long vendorId, LocalDate startDate, LocalDate endDate) {
-    // In a real application, this would calculate performance metrics based on
-    // orders, customer reviews, etc.
-    // For now, we'll return mock data
-
-    // Performance metrics
-    int overallPerformanceScore = 85;
-    double onTimeDeliveryRate = 0.92;
-    double orderAccuracyRate = 0.98;
-    double customerSatisfactionScore = 4.7;
-    double fulfillmentRate = 0.95;
-    double cancellationRate = 0.03;
-    double returnRate = 0.02;
-
-    // Time metrics
-    double averageProcessingTimeInHours = 4.5;
-    double averageShippingTimeInHours = 48.0;
-    double averageTimeToAcceptInHours = 2.5;
-
-    // Marketplace averages
-    double marketplaceAveragePerformanceScore = 75.0;
-    double performancePercentile = 90.0; // Top 10%
-
-    // Improvement areas
-    List<VendorPerformanceResponse.ImprovementArea> improvementAreas = new ArrayList<>();
-    improvementAreas.add(new VendorPerformanceResponse.ImprovementArea(
-        "Processing Time",
-        "Reduce time between order acceptance and shipping",
-        1,
-        4.5,
-        3.5));
-
-    improvementAreas.add(new VendorPerformanceResponse.ImprovementArea(
-        "Order Acceptance",
-        "Improve time to accept new orders",
-        2,
-        2.5,
-        1.5));
-
-    // Performance over time (mock data)
-    Map<LocalDate, Integer> performanceScoreByDay = new HashMap<>();
-    Map<LocalDate, Double> onTimeDeliveryByDay = new HashMap<>();
-
-    LocalDate currentDate = startDate != null ? startDate : LocalDate.now().minusDays(30);
     LocalDate endDateValue = endDate != null ? endDate : LocalDate.now();
+    LocalDate startDateValue = startDate != null ? startDate : endDateValue.minusDays(30);
 
-    while (!currentDate.isAfter(endDateValue)) {
-      performanceScoreByDay.put(currentDate, 75 + (int) (Math.random() * 20));
-      onTimeDeliveryByDay.put(currentDate, 0.85 + (Math.random() * 0.15));
-      currentDate = currentDate.plusDays(1);
-    }
+    // Derived from the vendor orders' transition timestamps; rates and times
+    // with nothing to measure are reported as 0
+    VendorPerformanceReport report = vendorPerformanceEngine.report(vendorId, startDateValue, endDateValue);
 
-    // Build and return performance response
     return VendorPerformanceResponse.builder()
         .vendorId(vendorId)
         .vendorName("Vendor Name") // In a real app, this would come from a vendor service
         .startDate(startDate)
         .endDate(endDate)
-        .overallPerformanceScore(overallPerformanceScore)
-        .onTimeDeliveryRate(onTimeDeliveryRate)
-        .orderAccuracyRate(orderAccuracyRate)
-        .customerSatisfactionScore(customerSatisfactionScore)
-        .fulfillmentRate(fulfillmentRate)
-        .cancellationRate(cancellationRate)
-        .returnRate(returnRate)
-        .averageProcessingTimeInHours(averageProcessingTimeInHours)
-        .averageShippingTimeInHours(averageShippingTimeInHours)
-        .averageTimeToAcceptInHours(averageTimeToAcceptInHours)
-        .performanceScoreByDay(performanceScoreByDay)
-        .onTimeDeliveryByDay(onTimeDeliveryByDay)
-        .marketplaceAveragePerformanceScore(marketplaceAveragePerformanceScore)
-        .performancePercentile(performancePercentile)
-        .suggestedImprovementAreas(improvementAreas)
+        .overallPerformanceScore((int) Math.round(orZero(report.score())))
+        .onTimeDeliveryRate(orZero(report.onTimeRate()))
+        .orderAccuracyRate(Double.isNaN(report.returnRate()) ? 0 : 1 - report.returnRate())
+        // Reviews are owned by another service and not tracked here
+        .customerSatisfactionScore(0)
+        .fulfillmentRate(orZero(report.fulfillmentRate()))
+        .cancellationRate(orZero(report.cancellationRate()))
+        .returnRate(orZero(report.returnRate()))
+        .averageProcessingTimeInHours(orZero(report.averageProcessingHours()))
+        .averageShippingTimeInHours(orZero(report.averageShippingHours()))
+        .averageTimeToAcceptInHours(orZero(report.averageAcceptHours()))
+        .performanceScoreByDay(report.scoreByDay())
+        .onTimeDeliveryByDay(report.onTimeRateByDay())
+        .marketplaceAveragePerformanceScore(orZero(report.marketplaceAverageScore()))
+        .performancePercentile(orZero(report.percentileRank()))
+        .suggestedImprovementAreas(getImprovementAreas(report))
+        .build();
+  }
+
+  /**
+   * Metrics that miss their target, the largest relative gap first.
+   */
+  private List<VendorPerformanceResponse.ImprovementArea> getImprovementAreas(VendorPerformanceReport report) {
+    List<ImprovementGap> gaps = new ArrayList<>();
+    if (report.onTimeRate() < ON_TIME_RATE_TARGET) {
+      gaps.add(new ImprovementGap((ON_TIME_RATE_TARGET - report.onTimeRate()) / ON_TIME_RATE_TARGET,
+          "On-Time Shipping", "Ship orders by the promised ship date",
+          report.onTimeRate(), ON_TIME_RATE_TARGET));
+    }
+    double acceptTarget = vendorPerformanceEngine.getAcceptTargetHours();
+    if (report.averageAcceptHours() > acceptTarget) {
+      gaps.add(new ImprovementGap((report.averageAcceptHours() - acceptTarget) / report.averageAcceptHours(),
+          "Order Acceptance", "Improve time to accept new orders",
+          report.averageAcceptHours(), acceptTarget));
+    }
+    double processingTarget = vendorPerformanceEngine.getProcessingTargetHours();
+    if (report.averageProcessingHours() > processingTarget) {
+      gaps.add(new ImprovementGap(
+          (report.averageProcessingHours() - processingTarget) / report.averageProcessingHours(),
+          "Processing Time", "Reduce time between order acceptance and shipping",
+          report.averageProcessingHours(), processingTarget));
+    }
+    if (report.cancellationRate() > CANCELLATION_RATE_TARGET) {
+      gaps.add(new ImprovementGap(report.cancellationRate() - CANCELLATION_RATE_TARGET,
+          "Cancellations", "Reduce orders cancelled after they were placed",
+          report.cancellationRate(), CANCELLATION_RATE_TARGET));
+    }
+
+    gaps.sort((a, b) -> Double.compare(b.gap(), a.gap()));
+    List<VendorPerformanceResponse.ImprovementArea> areas = new ArrayList<>(gaps.size());
+    for (ImprovementGap gap : gaps) {
+      areas.add(new VendorPerformanceResponse.ImprovementArea(
+          gap.area(), gap.description(), areas.size() + 1, gap.current(), gap.target()));
+    }
+    return areas;
+  }
+
+  private static double orZero(double value) {
+    return Double.isNaN(value) ? 0 : value;
+  }
+
+  private record ImprovementGap(double gap, String area, String description, double current, double target) {
+  }
+
+  @Override
+  public VendorAudienceMetricsResponse getVendorAudienceMetrics(Long vendorId, LocalDate startDate, LocalDate endDate) {
+    LocalDate endDateValue = endDate != null ? endDate : LocalDate.now();
+    LocalDate startDateValue = startDate != null ? startDate : endDateValue.minusDays(30);
+    List<EVendorDailySketch> days = vendorDailySketchRepository.findByVendorIdAndSketchDateBetween(
+        vendorId != null ? vendorId : VendorSketchJob.PLATFORM_VENDOR_ID, startDateValue, endDateValue);
+
+    // Day sketches merge into one sketch per metric for the whole range
+    long totalOrders = 0L;
+    HyperLogLog customers = new HyperLogLog();
+    HeavyHitterSketch products = new HeavyHitterSketch();
+    TDigest orderValues = new TDigest();
+    for (EVendorDailySketch day : days) {
+      totalOrders += day.getOrderCount();
+      customers.merge(HyperLogLog.fromBytes(day.getCustomers()));
+      products.merge(HeavyHitterSketch.fromBytes(day.getProducts()));
+      orderValues.merge(TDigest.fromBytes(day.getOrderValues()));
+    }
+
+    List<VendorAudienceMetricsResponse.ProductEstimate> topProducts = new ArrayList<>(TOP_SELLING_PRODUCTS);
+    for (long productId : products.top(TOP_SELLING_PRODUCTS)) {
+      topProducts.add(new VendorAudienceMetricsResponse.ProductEstimate(productId, products.estimate(productId)));
+    }
+
+    return VendorAudienceMetricsResponse.builder()
+        .vendorId(vendorId)
+        .startDate(startDateValue)
+        .endDate(endDateValue)
+        .daysCovered(days.size())
+        .totalOrders(totalOrders)
+        .medianOrderValue(orderValueAt(orderValues, 0.5))
+        .p90OrderValue(orderValueAt(orderValues, 0.9))
+        .p99OrderValue(orderValueAt(orderValues, 0.99))
+        .estimatedUniqueCustomers(customers.estimate())
+        .topProducts(topProducts)
         .build();
   }
 
@@ -563,6 +595,57 @@ public class VendorOrderServiceImpl implements VendorOrderService {
     }
   }
 
+  /**
+   * Record when the vendor order first reached its current status; the
+   * performance metrics are computed from these timestamps
+   */
+  private void stampTransition(EVendorOrder vendorOrder) {
+    Instant now = Instant.now();
+    switch (vendorOrder.getStatus()) {
+      case CONFIRMED:
+      case PROCESSING:
+        if (vendorOrder.getAcceptedAt() == null) {
+          vendorOrder.setAcceptedAt(now);
+        }
+        break;
+
+      case SHIPPED:
+        if (vendorOrder.getShippedAt() == null) {
+          vendorOrder.setShippedAt(now);
+        }
+        break;
+
+      case DELIVERED:
+        if (vendorOrder.getDeliveredAt() == null) {
+          vendorOrder.setDeliveredAt(now);
+        }
+        break;
+
+      case CANCELLED:
+        if (vendorOrder.getCancelledAt() == null) {
+          vendorOrder.setCancelledAt(now);
+        }
+        break;
+
+      default:
+        break;
+    }
+  }
+
+  private void publishStatusChange(EVendorOrder vendorOrder, VendorOrderStatus oldStatus, String reason) {
+    EOrder order = vendorOrder.getOrder();
+    orderStatusPublisher.publish(OrderStatusStreamEvent.builder()
+        .kind(OrderStatusStreamEvent.Kind.VENDOR_ORDER)
+        .orderId(order.getId())
+        .customerId(order.getCustomerId())
+        .vendorOrderId(vendorOrder.getId())
+        .vendorId(vendorOrder.getVendorId())
+        .oldStatus(oldStatus != null ? oldStatus.name() : null)
+        .newStatus(vendorOrder.getStatus().name())
+        .reason(reason)
+        .build());
+  }
+
   private void updateOrderItemsStatus(EVendorOrder vendorOrder, VendorOrderStatus status) {
     // Map vendor order status to item status
     OrderItemStatus itemStatus = null;
@@ -612,72 +695,34 @@ public class VendorOrderServiceImpl implements VendorOrderService {
     }
   }
 
-  private double calculateRate(List<EVendorOrder> orders, VendorOrderStatus status) {
-    if (orders.isEmpty()) {
+  private double calculateRate(VendorActivitySnapshot.OrderSummary orders, VendorOrderStatus status) {
+    if (orders.totalOrders() == 0) {
       return 0.0;
     }
 
-    long count = orders.stream()
-        .filter(vo -> vo.getStatus() == status)
-        .count();
+    return (double) orders.ordersByStatus().getOrDefault(status, 0) / orders.totalOrders();
+  }
 
-    return (double) count / orders.size();
+  private double orderValueAt(TDigest orderValues, double quantile) {
+    return orderValues.count() > 0 ? Money.toDouble(Math.round(orderValues.quantile(quantile))) : 0;
   }
 
   private List<VendorOrderAnalyticsResponse.ProductPerformance> getTopSellingProducts(
-      Long vendorId, java.time.Instant startDate, java.time.Instant endDate) {
-    // Get all order items for the vendor
-    List<EOrderItem> items = orderItemRepository.findAll().stream()
-        .filter(item -> item.getVendorId().equals(vendorId))
-        .filter(item -> {
-          java.time.Instant itemDate = item.getCreatedDate();
-          return !itemDate.isBefore(startDate) && !itemDate.isAfter(endDate);
-        })
-        .collect(Collectors.toList());
-
-    // Group by product and calculate metrics
-    Map<Long, VendorOrderAnalyticsResponse.ProductPerformance> productPerformance = new HashMap<>();
-
-    for (EOrderItem item : items) {
-      Long productId = item.getProductId();
-      String productName = item.getProductName();
-      int quantity = item.getQuantity();
-      double totalPrice = item.getTotalPrice();
-
-      if (productPerformance.containsKey(productId)) {
-        VendorOrderAnalyticsResponse.ProductPerformance performance = productPerformance.get(productId);
-        performance.setQuantitySold(performance.getQuantitySold() + quantity);
-        performance.setTotalRevenue(performance.getTotalRevenue() + totalPrice);
-      } else {
-        VendorOrderAnalyticsResponse.ProductPerformance performance = new VendorOrderAnalyticsResponse.ProductPerformance(
-            productId,
-            productName,
-            quantity,
-            totalPrice,
-            item.getUnitPrice());
-        productPerformance.put(productId, performance);
-      }
+      VendorActivitySnapshot snapshot, Long vendorId, java.time.Instant startDate, java.time.Instant endDate) {
+    List<VendorOrderAnalyticsResponse.ProductPerformance> topSelling = new ArrayList<>(TOP_SELLING_PRODUCTS);
+    for (VendorActivitySnapshot.ProductTotal product : snapshot.topProducts(vendorId, startDate, endDate,
+        TOP_SELLING_PRODUCTS)) {
+      long averagePrice = product.quantitySold() > 0
+          ? Money.divideHalfEven(product.revenueMinor(), product.quantitySold())
+          : 0L;
+      topSelling.add(new VendorOrderAnalyticsResponse.ProductPerformance(
+          product.productId(),
+          product.productName(),
+          product.quantitySold(),
+          Money.toDouble(product.revenueMinor()),
+          Money.toDouble(averagePrice)));
     }
-
-    // Calculate average price
-    for (VendorOrderAnalyticsResponse.ProductPerformance performance : productPerformance.values()) {
-      if (performance.getQuantitySold() > 0) {
-        performance.setAveragePrice(performance.getTotalRevenue() / performance.getQuantitySold());
-      }
-    }
-
-    // Get top selling products by quantity
-    return productPerformance.values().stream()
-        .sorted((p1, p2) -> Integer.compare(p2.getQuantitySold(), p1.getQuantitySold()))
-        .limit(5)
-        .collect(Collectors.toList());
-  }
-
-  private int getUniqueCustomersCount(List<EVendorOrder> orders) {
-    return (int) orders.stream()
-        .map(vo -> vo.getOrder().getCustomerId())
-        .distinct()
-        .count();
+    return topSelling;
   }
 
   /**
@@ -1,7 +1,16 @@
 package com.winnguyen1905.order.secure;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.MethodParameter;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,12 +21,55 @@ import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Resolves {@link AccountRequest} parameters from the JWT and region headers.
+ * The account region comes from the signed {@code region} claim whenever the
+ * token carries one; the region headers are only hints for callers without
+ * it. Resolutions for authenticated requests are memoized per token and
+ * region headers until the token expires, so a warm token costs one cache
+ * lookup.
+ */
 @Slf4j
 @Component
 public class AccountRequestArgumentResolver implements HandlerMethodArgumentResolver {
 
+  // Language tags per region, checked in US, EU, ASIA order like the gateway does
+  private static final Pattern US_LANGUAGES = Pattern.compile(
+      "(?<![\\w-])(en-US|en-CA|es-MX)(?![\\w-])", Pattern.CASE_INSENSITIVE);
+  private static final Pattern EU_LANGUAGES = Pattern.compile(
+      "(?<![\\w-])(en-GB|es-ES|de|fr|it)(?![\\w])", Pattern.CASE_INSENSITIVE);
+  private static final Pattern ASIA_LANGUAGES = Pattern.compile(
+      "(?<![\\w-])(en-AU|en-SG|zh|ja|ko)(?![\\w])", Pattern.CASE_INSENSITIVE);
+
+  private final RegionHibernateFilterConfigurer regionFilterConfigurer;
+  private final Cache<ResolutionKey, CachedAccount> resolutions;
+  private final long logSampleRate;
+  private final AtomicLong resolutionCount = new AtomicLong();
+
+  public AccountRequestArgumentResolver(
+      RegionHibernateFilterConfigurer regionFilterConfigurer,
+      MeterRegistry meterRegistry,
+      @Value("${order.account-resolver.cache-size:50000}") long cacheSize,
+      @Value("${order.account-resolver.max-ttl-seconds:900}") long maxTtlSeconds,
+      @Value("${order.account-resolver.log-sample-rate:1000}") long logSampleRate) {
+    this.regionFilterConfigurer = regionFilterConfigurer;
+    this.logSampleRate = Math.max(1, logSampleRate);
+    this.resolutions = Caffeine.newBuilder()
+        .maximumSize(cacheSize)
+        .expireAfter(new TokenExpiry(Duration.ofSeconds(maxTtlSeconds)))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, resolutions, "account-resolutions");
+  }
+
   public static enum AccountRequestArgument {
     ID("sub"), USERNAME("username"), ROLE("role"), REGION("region");
 
@@ -37,26 +89,69 @@ public class AccountRequestArgumentResolver implements HandlerMethodArgumentReso
   @Override
   public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
       NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
-    
-    log.debug("Resolving account request argument from headers and authentication context");
-    
-    // Extract region using the enhanced multi-factor detection
-    RegionPartition region = extractRegionWithMultiFactorDetection(webRequest);
+
+    TAccountRequest account = resolveAccount(webRequest);
+
+    // Route this request's database work to the account's region
+    RegionContextHolder.set(account.region());
+    // Customers read their own region's rows; vendors and admins read across regions
+    RegionPartition filterRegion = account.accountType() == AccountType.CUSTOMER ? account.region() : null;
+    RegionContextHolder.pinFilter(filterRegion);
+    if (filterRegion != null) {
+      regionFilterConfigurer.enableOnOpenContexts(filterRegion);
+    }
+
+    return account;
+  }
+
+  /**
+   * Resolve the caller's account without binding its region to the current
+   * thread; used by request interceptors that run before argument resolution.
+   */
+  public TAccountRequest resolveAccount(NativeWebRequest webRequest) {
+    Jwt jwt = currentJwt();
+    ResolutionKey key = jwt != null ? ResolutionKey.of(tokenKey(jwt), webRequest) : null;
+    CachedAccount cached = key != null ? resolutions.getIfPresent(key) : null;
+
+    TAccountRequest account;
+    if (cached != null) {
+      account = cached.account();
+    } else {
+      Resolution resolution = resolve(webRequest, jwt);
+      account = resolution.account();
+      if (key != null && resolution.fromToken()) {
+        resolutions.put(key, new CachedAccount(account, jwt.getExpiresAt()));
+      }
+    }
+
+    if (log.isDebugEnabled() && resolutionCount.incrementAndGet() % logSampleRate == 0) {
+      log.debug("Resolved account request (1 in {}) - User: {}, Region: {}, Type: {}, Cached: {}, Detection: {}",
+          logSampleRate, account.username(), account.region().getCode(), account.accountType(), cached != null,
+          webRequest.getHeader("X-Region-Detection-Method"));
+    }
+    return account;
+  }
+
+  /**
+   * Full resolution from claims and headers. Only results whose identity came
+   * from the token are cacheable: header-only requests may carry a generated id.
+   */
+  private Resolution resolve(NativeWebRequest webRequest, Jwt jwt) {
+    RegionPartition region = resolveRegion(webRequest, jwt);
     
     // Extract other account information
     String username = null;
     UUID id = null;
     AccountType accountType = AccountType.CUSTOMER; // Default
+    boolean fromToken = false;
     
     try {
       // Try to extract from JWT token if available
-      Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-      if (authentication != null && authentication.getPrincipal() instanceof Jwt) {
-        Jwt jwt = (Jwt) authentication.getPrincipal();
-        
+      if (jwt != null) {
         username = jwt.getClaimAsString(AccountRequestArgument.USERNAME.value);
         id = UUID.fromString(jwt.getClaimAsString(AccountRequestArgument.ID.value));
         accountType = AccountType.valueOf(jwt.getClaimAsString(AccountRequestArgument.ROLE.value));
+        fromToken = true;
       }
     } catch (Exception e) {
       log.debug("No valid JWT authentication found, using header-based approach: {}", e.getMessage());
@@ -79,7 +174,8 @@ public class AccountRequestArgumentResolver implements HandlerMethodArgumentReso
         id = UUID.randomUUID(); // Generate temporary ID for anonymous users
       }
     }
-    if (accountType == AccountType.CUSTOMER) {
+    // A token's role is never widened by a header; the account type decides the region filter
+    if (!fromToken && accountType == AccountType.CUSTOMER) {
       String roleHeader = webRequest.getHeader("X-User-Role");
       if (roleHeader != null) {
         try {
@@ -90,22 +186,62 @@ public class AccountRequestArgumentResolver implements HandlerMethodArgumentReso
       }
     }
 
-    log.info("Resolved account request - User: {}, Region: {}, Type: {}, Detection: {}", 
-             username, region.getCode(), accountType, 
-             webRequest.getHeader("X-Region-Detection-Method"));
-
-    return TAccountRequest.builder()
+    TAccountRequest account = TAccountRequest.builder()
         .id(id)
         .region(region)
         .username(username)
         .accountType(accountType)
         .build();
+    return new Resolution(account, fromToken);
+  }
+
+  private static Jwt currentJwt() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
+      return jwt;
+    }
+    return null;
+  }
+
+  /**
+   * The verified token's {@code jti} when present, otherwise a digest of the
+   * token so raw tokens are never kept in memory
+   */
+  private static String tokenKey(Jwt jwt) {
+    if (jwt.getId() != null) {
+      return "jti:" + jwt.getId();
+    }
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(jwt.getTokenValue().getBytes(StandardCharsets.UTF_8));
+      return "sha:" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
   }
 
   /**
-   * Enhanced region extraction using multiple detection factors with priority order
+   * The signed region claim when the token has one. Headers can be set by any
+   * caller, so they only decide the region of requests without that claim.
    */
-  private RegionPartition extractRegionWithMultiFactorDetection(NativeWebRequest webRequest) {
+  private RegionPartition resolveRegion(NativeWebRequest webRequest, Jwt jwt) {
+    try {
+      if (jwt != null) {
+        String jwtRegion = jwt.getClaimAsString(AccountRequestArgument.REGION.value);
+        if (isValidRegionCode(jwtRegion)) {
+          return RegionPartition.fromCode(jwtRegion);
+        }
+      }
+    } catch (Exception e) {
+      log.debug("No region claim available: {}", e.getMessage());
+    }
+    return extractRegionFromHints(webRequest);
+  }
+
+  /**
+   * Region hints from headers, in priority order, for callers whose token
+   * carries no region
+   */
+  private RegionPartition extractRegionFromHints(NativeWebRequest webRequest) {
     
     // Priority 1: Explicit region preference header (highest priority)
     String preferredRegion = webRequest.getHeader("X-Preferred-Region");
@@ -122,22 +258,7 @@ public class AccountRequestArgumentResolver implements HandlerMethodArgumentReso
       return RegionPartition.fromCode(gatewayRegion);
     }
 
-    // Priority 3: User region from authentication context (JWT token)
-    try {
-      Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-      if (authentication != null && authentication.getPrincipal() instanceof Jwt) {
-        Jwt jwt = (Jwt) authentication.getPrincipal();
-        String jwtRegion = jwt.getClaimAsString(AccountRequestArgument.REGION.value);
-        if (isValidRegionCode(jwtRegion)) {
-          log.debug("Using region from JWT token: {}", jwtRegion);
-          return RegionPartition.fromCode(jwtRegion);
-        }
-      }
-    } catch (Exception e) {
-      log.debug("No JWT token available for region extraction: {}", e.getMessage());
-    }
-    
-    // Priority 4: Accept-Language header analysis
+    // Priority 3: Accept-Language header analysis
     String acceptLanguage = webRequest.getHeader("Accept-Language");
     if (acceptLanguage != null && !acceptLanguage.trim().isEmpty()) {
       RegionPartition languageRegion = extractRegionFromLanguage(acceptLanguage);
@@ -147,7 +268,7 @@ public class AccountRequestArgumentResolver implements HandlerMethodArgumentReso
       }
     }
     
-    // Priority 5: Client IP geolocation (if available from gateway)
+    // Priority 4: Client IP geolocation (if available from gateway)
     String clientIp = webRequest.getHeader("X-Client-IP");
     if (clientIp != null && !clientIp.trim().isEmpty() && !"unknown".equals(clientIp)) {
       RegionPartition ipRegion = extractRegionFromIp(clientIp);
@@ -157,7 +278,7 @@ public class AccountRequestArgumentResolver implements HandlerMethodArgumentReso
       }
     }
     
-    // Priority 6: Session-based cached region
+    // Priority 5: Session-based cached region
     String sessionRegion = webRequest.getHeader("X-Session-Region");
     if (isValidRegionCode(sessionRegion)) {
       log.debug("Using cached session region: {}", sessionRegion);
@@ -174,16 +295,12 @@ public class AccountRequestArgumentResolver implements HandlerMethodArgumentReso
    */
   private RegionPartition extractRegionFromLanguage(String acceptLanguage) {
     try {
-      // Simple language to region mapping
-      if (acceptLanguage.contains("en-US") || acceptLanguage.contains("en-CA") || acceptLanguage.contains("es-MX")) {
+      // Simple language to region mapping on whole language tags
+      if (US_LANGUAGES.matcher(acceptLanguage).find()) {
         return RegionPartition.US;
-      } else if (acceptLanguage.contains("en-GB") || acceptLanguage.contains("de") || 
-                 acceptLanguage.contains("fr") || acceptLanguage.contains("it") || 
-                 acceptLanguage.contains("es-ES")) {
+      } else if (EU_LANGUAGES.matcher(acceptLanguage).find()) {
         return RegionPartition.EU;
-      } else if (acceptLanguage.contains("zh") || acceptLanguage.contains("ja") || 
-                 acceptLanguage.contains("ko") || acceptLanguage.contains("en-AU") || 
-                 acceptLanguage.contains("en-SG")) {
+      } else if (ASIA_LANGUAGES.matcher(acceptLanguage).find()) {
         return RegionPartition.ASIA;
       }
     } catch (Exception e) {
@@ -225,4 +342,61 @@ public class AccountRequestArgumentResolver implements HandlerMethodArgumentReso
       return false;
     }
   }
+
+  private record Resolution(TAccountRequest account, boolean fromToken) {
+  }
+
+  private record CachedAccount(TAccountRequest account, Instant expiresAt) {
+  }
+
+  /**
+   * Token identity plus every header that can change the resolved account
+   */
+  private record ResolutionKey(String token, String preferredRegion, String regionCode, String acceptLanguage,
+      String clientIp, String sessionRegion, String username, String userId, String role) {
+
+    static ResolutionKey of(String token, NativeWebRequest webRequest) {
+      return new ResolutionKey(token,
+          webRequest.getHeader("X-Preferred-Region"),
+          webRequest.getHeader("X-Region-Code"),
+          webRequest.getHeader("Accept-Language"),
+          webRequest.getHeader("X-Client-IP"),
+          webRequest.getHeader("X-Session-Region"),
+          webRequest.getHeader("X-User-Username"),
+          webRequest.getHeader("X-User-ID"),
+          webRequest.getHeader("X-User-Role"));
+    }
+  }
+
+  /**
+   * Entries live until the token expires, capped at the configured TTL
+   */
+  private static class TokenExpiry implements Expiry<ResolutionKey, CachedAccount> {
+    private final long maxTtlNanos;
+
+    TokenExpiry(Duration maxTtl) {
+      this.maxTtlNanos = maxTtl.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(ResolutionKey key, CachedAccount value, long currentTime) {
+      if (value.expiresAt() == null) {
+        return maxTtlNanos;
+      }
+      long untilExpiry = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+      return Math.max(0, Math.min(maxTtlNanos, untilExpiry));
+    }
+
+    @Override
+    public long expireAfterUpdate(ResolutionKey key, CachedAccount value, long currentTime,
+        long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(ResolutionKey key, CachedAccount value, long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+  }
 }
@@ -0,0 +1,105 @@
+package com.winnguyen1905.order.secure;
+
+import java.io.IOException;
+import java.sql.SQLTransientException;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winnguyen1905.order.core.concurrency.AdaptiveConcurrencyLimiter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Puts the {@link AdaptiveConcurrencyLimiter} in front of every write
+ * endpoint. Requests over their region/account-type limit are answered with
+ * 503 and {@code Retry-After} before they reach the connection pool.
+ */
+@Slf4j
+@Component
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+  private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+  private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+  private final AdaptiveConcurrencyLimiter limiter;
+  private final AccountRequestArgumentResolver accountResolver;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+
+  public AdmissionControlInterceptor(
+      AdaptiveConcurrencyLimiter limiter,
+      AccountRequestArgumentResolver accountResolver,
+      ObjectMapper objectMapper,
+      @Value("${order.admission.enabled:true}") boolean enabled) {
+    this.limiter = limiter;
+    this.accountResolver = accountResolver;
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws IOException {
+    if (!enabled || !(handler instanceof HandlerMethod) || !WRITE_METHODS.contains(request.getMethod())) {
+      return true;
+    }
+
+    TAccountRequest account = accountResolver.resolveAccount(new ServletWebRequest(request, response));
+    AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(account.region(), account.accountType());
+    if (permit != null) {
+      request.setAttribute(PERMIT_ATTRIBUTE, permit);
+      return true;
+    }
+
+    long retryAfter = limiter.retryAfterSeconds(account.region(), account.accountType());
+    log.debug("Shedding {} {} for {}/{}", request.getMethod(), request.getRequestURI(),
+        account.region().getCode(), account.accountType());
+    response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), RestResponse.builder()
+        .statusCode(HttpServletResponse.SC_SERVICE_UNAVAILABLE)
+        .error("Service Unavailable")
+        .message("Too many concurrent requests, retry after " + retryAfter + "s")
+        .build());
+    return false;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+      Exception ex) {
+    if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AdaptiveConcurrencyLimiter.Permit permit) {
+      request.removeAttribute(PERMIT_ATTRIBUTE);
+      permit.release(isOverload(ex));
+    }
+  }
+
+  /**
+   * Failures that mean the backend is saturated, as opposed to business
+   * errors that say nothing about capacity.
+   */
+  private static boolean isOverload(Throwable ex) {
+    for (Throwable t = ex; t != null; t = t.getCause()) {
+      if (t instanceof CannotCreateTransactionException
+          || t instanceof QueryTimeoutException
+          || t instanceof TransientDataAccessResourceException
+          || t instanceof SQLTransientException) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -2,21 +2,55 @@ package com.winnguyen1905.order.secure;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 import java.util.List;
 
 @Configuration
 public class AnnotationRegistry implements WebMvcConfigurer {
 
   private final AccountRequestArgumentResolver currentUserArgumentResolver;
+  private final RateLimitInterceptor rateLimitInterceptor;
+  private final AdmissionControlInterceptor admissionControlInterceptor;
 
-  public AnnotationRegistry(AccountRequestArgumentResolver currentUserArgumentResolver) {
+  public AnnotationRegistry(AccountRequestArgumentResolver currentUserArgumentResolver,
+      RateLimitInterceptor rateLimitInterceptor,
+      AdmissionControlInterceptor admissionControlInterceptor) {
     this.currentUserArgumentResolver = currentUserArgumentResolver;
+    this.rateLimitInterceptor = rateLimitInterceptor;
+    this.admissionControlInterceptor = admissionControlInterceptor;
   }
 
   @Override
   public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
     resolvers.add(currentUserArgumentResolver);
   }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    // Region routing is bound per request by the argument resolver; never leak it to the next request
+    registry.addInterceptor(new HandlerInterceptor() {
+      @Override
+      public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+          Exception ex) {
+        RegionContextHolder.clear();
+      }
+
+      @Override
+      public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+          Object handler) {
+        // Streaming responses release the request thread before afterCompletion runs
+        RegionContextHolder.clear();
+      }
+    });
+    // Per-caller budgets first, so throttled callers never take an admission slot
+    registry.addInterceptor(rateLimitInterceptor);
+    // Shed write load per region and account type before it queues on the connection pool
+    registry.addInterceptor(admissionControlInterceptor);
+  }
 }
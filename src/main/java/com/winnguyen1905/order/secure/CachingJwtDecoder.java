@@ -0,0 +1,89 @@
+package com.winnguyen1905.order.secure;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Remembers successfully verified tokens so a token reused across many
+ * requests is verified once. Entries are keyed by a SHA-256 digest of the
+ * token (never the token itself) and expire at the token's {@code exp},
+ * capped at a maximum TTL. Rejected tokens are not cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+  private final JwtDecoder delegate;
+  private final Cache<String, Jwt> verified;
+
+  public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Duration maxTtl, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.verified = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new ExpiresAt(maxTtl))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, verified, "verified-jwts");
+  }
+
+  @Override
+  public Jwt decode(String token) throws JwtException {
+    String digest = digest(token);
+    Jwt jwt = verified.getIfPresent(digest);
+    if (jwt != null) {
+      return jwt;
+    }
+    jwt = delegate.decode(token);
+    verified.put(digest, jwt);
+    return jwt;
+  }
+
+  private static String digest(String token) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static class ExpiresAt implements Expiry<String, Jwt> {
+    private final long maxTtlNanos;
+
+    ExpiresAt(Duration maxTtl) {
+      this.maxTtlNanos = maxTtl.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+      if (jwt.getExpiresAt() == null) {
+        return maxTtlNanos;
+      }
+      long untilExpiry = Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos();
+      return Math.max(0, Math.min(maxTtlNanos, untilExpiry));
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, jwt, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
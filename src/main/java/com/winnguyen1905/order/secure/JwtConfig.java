@@ -1,5 +1,6 @@
 package com.winnguyen1905.order.secure;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,6 +23,10 @@ import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 import com.thoughtworks.xstream.core.SecurityUtils;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Configuration
 public class JwtConfig {
 
@@ -47,18 +52,22 @@ public class JwtConfig {
   // }
 
   @Bean
-  JwtDecoder jwtDecoder() {
+  JwtDecoder jwtDecoder(
+      MeterRegistry meterRegistry,
+      @Value("${jwt.verified-cache.maximum-size:100000}") long cacheSize,
+      @Value("${jwt.verified-cache.max-ttl-seconds:3600}") long maxTtlSeconds) {
     NimbusJwtDecoder nimbusJwtDecoder = NimbusJwtDecoder
         .withSecretKey(secretKey())
         .macAlgorithm(this.JWT_ALGORITHM)
         .build();
-    System.out.println(jwtKey);
+    // Verified tokens are reused for their lifetime instead of re-checking the HMAC per request
+    JwtDecoder cachingDecoder = new CachingJwtDecoder(nimbusJwtDecoder, cacheSize,
+        Duration.ofSeconds(maxTtlSeconds), meterRegistry);
     return token -> {
       try {
-        System.out.println(jwtKey);
-        return nimbusJwtDecoder.decode(token);
+        return cachingDecoder.decode(token);
       } catch (Exception e) {
-        System.out.println("Token error: " + token);
+        log.debug("Token rejected: {}", e.getMessage());
         throw new BaseException("Token invalid", 401);
       }
     };
@@ -0,0 +1,103 @@
+package com.winnguyen1905.order.secure;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winnguyen1905.order.config.RateLimitConfiguration.RateLimitProperties;
+import com.winnguyen1905.order.core.ratelimit.RateLimitDecision;
+import com.winnguyen1905.order.core.ratelimit.RateLimiter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies {@link RateLimited} groups, per authenticated account. A vendor
+ * calling its own vendor-scoped paths (those with a {@code vendorId}
+ * variable) is limited per vendor instead, so one integration cannot spread
+ * its polling over several tokens; other callers of those paths keep their
+ * own budget and cannot use up the vendor's. Every limited response carries {@code RateLimit-Limit},
+ * {@code RateLimit-Remaining} and {@code RateLimit-Reset}; rejections are 429
+ * with {@code Retry-After}.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+  private static final String VENDOR_VARIABLE = "vendorId";
+
+  private final RateLimiter rateLimiter;
+  private final RateLimitProperties properties;
+  private final AccountRequestArgumentResolver accountResolver;
+  private final ObjectMapper objectMapper;
+
+  public RateLimitInterceptor(RateLimiter rateLimiter, RateLimitProperties properties,
+      AccountRequestArgumentResolver accountResolver, ObjectMapper objectMapper) {
+    this.rateLimiter = rateLimiter;
+    this.properties = properties;
+    this.accountResolver = accountResolver;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws IOException {
+    if (!properties.isEnabled() || !(handler instanceof HandlerMethod handlerMethod)) {
+      return true;
+    }
+    RateLimited rateLimited = group(handlerMethod);
+    if (rateLimited == null) {
+      return true;
+    }
+
+    RateLimitDecision decision = rateLimiter.tryAcquire(rateLimited.value(), callerKey(request, response));
+    if (decision == null) {
+      return true;
+    }
+    response.setHeader("RateLimit-Limit", Integer.toString(decision.limit()));
+    response.setHeader("RateLimit-Remaining", Integer.toString(decision.remaining()));
+    response.setHeader("RateLimit-Reset", Long.toString(decision.resetSeconds()));
+    if (decision.allowed()) {
+      return true;
+    }
+
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), RestResponse.builder()
+        .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+        .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+        .message("Rate limit exceeded, retry after " + decision.retryAfterSeconds() + "s")
+        .build());
+    return false;
+  }
+
+  private static RateLimited group(HandlerMethod handlerMethod) {
+    RateLimited onMethod = handlerMethod.getMethodAnnotation(RateLimited.class);
+    if (onMethod != null) {
+      return onMethod;
+    }
+    return AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RateLimited.class);
+  }
+
+  private String callerKey(HttpServletRequest request, HttpServletResponse response) {
+    TAccountRequest account = accountResolver.resolveAccount(new ServletWebRequest(request, response));
+    // Vendor ids use the same account id derivation as customer ids
+    if (account.accountType() == AccountType.VENDOR
+        && request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables
+        && variables.get(VENDOR_VARIABLE) instanceof String vendorId
+        && vendorId.equals(Long.toString(account.id().getMostSignificantBits()))) {
+      return "vendor:" + vendorId;
+    }
+    return "account:" + account.id();
+  }
+}
@@ -0,0 +1,21 @@
+package com.winnguyen1905.order.secure;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a controller or handler method under the rate-limit group of the given
+ * name ({@code order.rate-limit.groups.<name>}); a method-level annotation
+ * overrides the controller's.
+ */
+@Inherited
+@Documented
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+  String value();
+}
@@ -0,0 +1,100 @@
+package com.winnguyen1905.order.secure;
+
+/**
+ * Holds the region the current thread's database work should be routed to.
+ * Set from the resolved account region and by the regional fallback service,
+ * cleared when the request completes. The Hibernate region filter follows
+ * the routing region unless the request pinned its own filter region.
+ */
+public final class RegionContextHolder {
+
+  private static final ThreadLocal<RegionPartition> CURRENT = new ThreadLocal<>();
+  private static final ThreadLocal<FilterPin> FILTER = new ThreadLocal<>();
+
+  private RegionContextHolder() {
+  }
+
+  public static RegionPartition get() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Set the region for the current thread
+   *
+   * @return the previously bound region, to be handed back to {@link #restore(RegionPartition)}
+   */
+  public static RegionPartition set(RegionPartition region) {
+    RegionPartition previous = CURRENT.get();
+    CURRENT.set(region);
+    return previous;
+  }
+
+  /**
+   * Bind the region for both routing and the filter, overriding any filter
+   * the request pinned
+   *
+   * @return the previous binding, to be handed back to {@link #restore(Binding)}
+   */
+  public static Binding bind(RegionPartition region) {
+    Binding previous = new Binding(CURRENT.get(), FILTER.get());
+    CURRENT.set(region);
+    FILTER.set(new FilterPin(region));
+    return previous;
+  }
+
+  public static void restore(Binding previous) {
+    restore(previous.region);
+    if (previous.pin == null) {
+      FILTER.remove();
+    } else {
+      FILTER.set(previous.pin);
+    }
+  }
+
+  public static void restore(RegionPartition previous) {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+
+  /**
+   * Region the Hibernate {@code regionFilter} restricts reads to, or
+   * {@code null} when reads are unfiltered
+   */
+  public static RegionPartition getFilterRegion() {
+    FilterPin pin = FILTER.get();
+    return pin != null ? pin.region() : CURRENT.get();
+  }
+
+  /**
+   * Fix the filter region for the rest of the request, whatever region its
+   * connections are routed to; {@code null} leaves its reads unfiltered.
+   * Cleared by {@link #clear}.
+   */
+  public static void pinFilter(RegionPartition region) {
+    FILTER.set(new FilterPin(region));
+  }
+
+  public static void clear() {
+    CURRENT.remove();
+    FILTER.remove();
+  }
+
+  private record FilterPin(RegionPartition region) {
+  }
+
+  /**
+   * Routing region and filter pin saved by {@link #bind}
+   */
+  public static final class Binding {
+    private final RegionPartition region;
+    private final FilterPin pin;
+
+    private Binding(RegionPartition region, FilterPin pin) {
+      this.region = region;
+      this.pin = pin;
+    }
+  }
+}
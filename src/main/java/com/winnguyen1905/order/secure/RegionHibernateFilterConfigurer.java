@@ -1,53 +1,114 @@
 package com.winnguyen1905.order.secure;
 
-import java.io.IOException;
+import java.util.function.Supplier;
 
-import org.hibernate.Filter;
 import org.hibernate.Session;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.orm.jpa.EntityManagerHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import com.winnguyen1905.order.secure.AccountRequestArgumentResolver.AccountRequestArgument;
+import com.winnguyen1905.order.persistance.entity.ERegionScoped;
 
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 
+/**
+ * Enables the Hibernate {@code regionFilter} on persistence contexts only, and
+ * only when they are opened: every EntityManager the factory creates while a
+ * filter region is bound ({@link RegionContextHolder#getFilterRegion}) gets
+ * the filter, and contexts already open when the region is resolved
+ * (open-in-view, a surrounding transaction) are updated in place. Requests
+ * that never touch JPA never open a Session for it.
+ */
 @Component
-public class RegionHibernateFilterConfigurer extends OncePerRequestFilter {
-
-  @PersistenceContext
-  private EntityManager entityManager;
+public class RegionHibernateFilterConfigurer implements BeanPostProcessor {
 
   @Override
-  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
-      throws ServletException, IOException {
-
-    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-    if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
-      String region = jwt.getClaimAsString(AccountRequestArgument.REGION.value);
-      Session session = entityManager.unwrap(Session.class);
-      Filter filter = session.getEnabledFilter("regionFilter");
-      if (region != null) {
-        if (filter == null) {
-          session.enableFilter("regionFilter").setParameter("region", region);
-        } else {
-          filter.setParameter("region", region);
-        }
-      } else {
-        if (filter != null) {
-          session.disableFilter("regionFilter");
+  public Object postProcessBeforeInitialization(Object bean, String beanName) {
+    if (bean instanceof AbstractEntityManagerFactoryBean factoryBean) {
+      factoryBean.setEntityManagerInitializer(RegionHibernateFilterConfigurer::enableForBoundRegion);
+    }
+    return bean;
+  }
+
+  /**
+   * Run {@code work} with routing and the filter bound to {@code region}, on
+   * open and newly created persistence contexts alike, then restore the
+   * caller's binding. Lets reads that span regions (vendor analytics) load
+   * one region at a time, each from its own slice, even inside a request.
+   */
+  public <T> T inRegion(RegionPartition region, Supplier<T> work) {
+    RegionContextHolder.Binding previous = RegionContextHolder.bind(region);
+    enableOnOpenContexts(region);
+    try {
+      return work.get();
+    } finally {
+      RegionContextHolder.restore(previous);
+      reapplyOnOpenContexts();
+    }
+  }
+
+  /**
+   * Run {@code work} with the filter off, keeping the caller's routing, then
+   * restore the caller's filter. For work addressed by exact ids, where a
+   * row hidden by the filter would be mistaken for a missing one.
+   */
+  public void unfiltered(Runnable work) {
+    RegionContextHolder.Binding previous = RegionContextHolder.bind(RegionContextHolder.get());
+    RegionContextHolder.pinFilter(null);
+    disableOnOpenContexts();
+    try {
+      work.run();
+    } finally {
+      RegionContextHolder.restore(previous);
+      reapplyOnOpenContexts();
+    }
+  }
+
+  private void reapplyOnOpenContexts() {
+    RegionPartition region = RegionContextHolder.getFilterRegion();
+    if (region != null) {
+      enableOnOpenContexts(region);
+    } else {
+      disableOnOpenContexts();
+    }
+  }
+
+  /**
+   * Stop filtering persistence contexts already bound to this thread
+   */
+  public void disableOnOpenContexts() {
+    for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+      if (resource instanceof EntityManagerHolder holder) {
+        holder.getEntityManager().unwrap(Session.class).disableFilter(ERegionScoped.REGION_FILTER);
+      }
+    }
+  }
+
+  /**
+   * Apply the region to persistence contexts already bound to this thread
+   */
+  public void enableOnOpenContexts(RegionPartition region) {
+    if (!TransactionSynchronizationManager.getResourceMap().isEmpty()) {
+      for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+        if (resource instanceof EntityManagerHolder holder) {
+          enable(holder.getEntityManager(), region);
         }
       }
     }
+  }
+
+  private static void enableForBoundRegion(EntityManager entityManager) {
+    RegionPartition region = RegionContextHolder.getFilterRegion();
+    if (region != null) {
+      enable(entityManager, region);
+    }
+  }
 
-    filterChain.doFilter(request, response);
+  private static void enable(EntityManager entityManager, RegionPartition region) {
+    entityManager.unwrap(Session.class)
+        .enableFilter(ERegionScoped.REGION_FILTER)
+        .setParameter(ERegionScoped.REGION_PARAMETER, region.getCode());
   }
 }
@@ -15,6 +15,25 @@ public enum RegionPartition {
     return region;
   }
 
+  public String getCode() {
+    return region;
+  }
+
+  /**
+   * Parse a region code ({@code "eu"}) or constant name ({@code "EU"}), ignoring case
+   */
+  public static RegionPartition fromCode(String code) {
+    if (code != null) {
+      String trimmed = code.trim();
+      for (RegionPartition partition : values()) {
+        if (partition.region.equalsIgnoreCase(trimmed) || partition.name().equalsIgnoreCase(trimmed)) {
+          return partition;
+        }
+      }
+    }
+    throw new IllegalArgumentException("Unknown region code: " + code);
+  }
+
   public static final RegionPartition US_PARTITION = RegionPartition.US;
   public static final RegionPartition EU_PARTITION = RegionPartition.EU;
   public static final RegionPartition ASIA_PARTITION = RegionPartition.ASIA;
@@ -0,0 +1,114 @@
+package com.winnguyen1905.order.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Money as a primitive {@code long} count of minor units at {@link #SCALE}
+ * decimal places, matching the {@code DECIMAL(10,2)} columns. Arithmetic on
+ * amounts stays in exact, allocation-free long math; decimal values from and
+ * to the API are converted here with banker's rounding (half-even).
+ */
+public final class Money {
+
+  /** Decimal places of every stored amount */
+  public static final int SCALE = 2;
+
+  private static final long MINOR_PER_MAJOR = 100L;
+  private static final long BASIS_POINTS_PER_UNIT = 10_000L;
+
+  private Money() {
+  }
+
+  /**
+   * Minor units of an API amount, rounded half-even; {@code null} is zero.
+   */
+  public static long fromDouble(Double amount) {
+    if (amount == null) {
+      return 0L;
+    }
+    // valueOf goes through the shortest decimal representation, so 2.675 rounds as 2.675 and not 2.67499...
+    return fromDecimal(BigDecimal.valueOf(amount));
+  }
+
+  /**
+   * Minor units of an API amount, rounded half-even to the precision of the
+   * currency (whole yen for JPY) and never finer than {@link #SCALE}.
+   */
+  public static long fromDouble(Double amount, String currency) {
+    long minor = fromDouble(amount);
+    int drop = SCALE - Math.min(SCALE, scaleOf(currency));
+    if (drop == 0) {
+      return minor;
+    }
+    long step = drop == 1 ? 10L : MINOR_PER_MAJOR;
+    return divideHalfEven(minor, step) * step;
+  }
+
+  public static long fromDecimal(BigDecimal amount) {
+    if (amount == null) {
+      return 0L;
+    }
+    return amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+  }
+
+  public static BigDecimal toDecimal(long minor) {
+    return BigDecimal.valueOf(minor, SCALE);
+  }
+
+  /**
+   * The API value of an amount: the double nearest to its exact decimal.
+   */
+  public static double toDouble(long minor) {
+    return (double) minor / MINOR_PER_MAJOR;
+  }
+
+  /**
+   * Fraction digits of an ISO 4217 currency; unknown codes use {@link #SCALE}.
+   */
+  public static int scaleOf(String currency) {
+    if (currency == null) {
+      return SCALE;
+    }
+    try {
+      int digits = Currency.getInstance(currency).getDefaultFractionDigits();
+      return digits < 0 ? SCALE : digits;
+    } catch (IllegalArgumentException e) {
+      return SCALE;
+    }
+  }
+
+  public static long times(long unitMinor, int quantity) {
+    return Math.multiplyExact(unitMinor, (long) quantity);
+  }
+
+  /**
+   * The share of an amount at a percentage rate (12.5 means 12.5%), rounded
+   * half-even to a minor unit. Rates are taken in basis points, which is exact
+   * for the two-decimal rate columns.
+   */
+  public static long percentOf(long minor, double percent) {
+    long basisPoints = Math.round(percent * 100.0);
+    return divideHalfEven(Math.multiplyExact(minor, basisPoints), BASIS_POINTS_PER_UNIT);
+  }
+
+  /**
+   * Integer division rounding half-even; {@code divisor} must be positive.
+   */
+  public static long divideHalfEven(long dividend, long divisor) {
+    long quotient = Math.floorDiv(dividend, divisor);
+    long twiceRemainder = 2 * Math.floorMod(dividend, divisor);
+    if (twiceRemainder > divisor || (twiceRemainder == divisor && (quotient & 1L) != 0)) {
+      quotient++;
+    }
+    return quotient;
+  }
+
+  /**
+   * Plain decimal text such as {@code 12.30}, for messages and logs.
+   */
+  public static String format(long minor) {
+    return toDecimal(minor).toPlainString();
+  }
+}
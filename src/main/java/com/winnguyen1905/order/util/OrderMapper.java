@@ -28,6 +28,7 @@ import com.winnguyen1905.order.persistance.entity.EOrderDiscount;
 import com.winnguyen1905.order.persistance.entity.EOrderExternalRef;
 import com.winnguyen1905.order.persistance.entity.EOrderItem;
 import com.winnguyen1905.order.persistance.entity.EOrderStatusHistory;
+import com.winnguyen1905.order.persistance.entity.EOrderView;
 import com.winnguyen1905.order.persistance.entity.EVendorOrder;
 
 @Component
@@ -41,11 +42,11 @@ public class OrderMapper {
                 .estimatedDeliveryDate(request.getEstimatedDeliveryDate())
                 .specialInstructions(request.getSpecialInstructions())
                 .status(OrderStatus.PENDING)
-                .subtotal(0.0)
-                .discountAmount(0.0)
-                .taxAmount(0.0)
-                .shippingAmount(0.0)
-                .totalAmount(0.0)
+                .subtotal(0L)
+                .discountAmount(0L)
+                .taxAmount(0L)
+                .shippingAmount(0L)
+                .totalAmount(0L)
                 .build();
     }
     
@@ -53,8 +54,8 @@ public class OrderMapper {
         // Since CreateOrderRequest.Item doesn't have unitPrice, productName, etc., 
         // these would need to be fetched from a product service in a real application
         // For now, we'll use default values
-        double unitPrice = 0.0; // Would be fetched from product service
-        double totalPrice = item.getQuantity() * unitPrice;
+        long unitPrice = 0L; // Would be fetched from product service
+        long totalPrice = Money.times(unitPrice, item.getQuantity());
         
         return EOrderItem.builder()
                 .order(order)
@@ -74,7 +75,8 @@ public class OrderMapper {
     }
     
     public EOrderItem toOrderItemEntity(CreateOrderItemRequest request, EOrder order) {
-        double totalPrice = request.getQuantity() * request.getUnitPrice();
+        long unitPrice = Money.fromDouble(request.getUnitPrice());
+        long totalPrice = Money.times(unitPrice, request.getQuantity());
         
         return EOrderItem.builder()
                 .order(order)
@@ -84,7 +86,7 @@ public class OrderMapper {
                 .productSku(request.getSku())
                 .productCategory(request.getProductCategory())
                 .quantity(request.getQuantity())
-                .unitPrice(request.getUnitPrice())
+                .unitPrice(unitPrice)
                 .totalPrice(totalPrice)
                 .weight(request.getWeight())
                 .dimensions(request.getDimensions())
@@ -95,7 +97,7 @@ public class OrderMapper {
     
     public EOrderDiscount toOrderDiscountEntity(CreateDiscountRequest request, EOrder order) {
         // Calculate discount amount based on type and value
-        double discountAmount = calculateDiscountAmount(request.getDiscountType(), 
+        long discountAmount = calculateDiscountAmount(request.getDiscountType(), 
                 request.getDiscountValue(), order.getSubtotal());
         
         return EOrderDiscount.builder()
@@ -109,14 +111,14 @@ public class OrderMapper {
                 .build();
     }
     
-    private double calculateDiscountAmount(DiscountType type, double value, double subtotal) {
+    private long calculateDiscountAmount(DiscountType type, double value, long subtotal) {
         if (type == DiscountType.PERCENTAGE) {
             // Cap percentage at 100%
             double percentage = Math.min(value, 100.0);
-            return subtotal * (percentage / 100.0);
+            return Money.percentOf(subtotal, percentage);
         } else {
             // For fixed amount, don't allow more than the subtotal
-            return Math.min(value, subtotal);
+            return Math.min(Money.fromDouble(value), subtotal);
         }
     }
     
@@ -133,13 +135,13 @@ public class OrderMapper {
                 .id(order.getId())
                 .customerId(order.getCustomerId())
                 .orderNumber(order.getOrderNumber())
-                .subtotal(order.getSubtotal())
-                .discountAmount(order.getDiscountAmount())
-                .taxAmount(order.getTaxAmount())
-                .shippingAmount(order.getShippingAmount())
-                .totalAmount(order.getTotalAmount())
-                .paidAmount(order.getPaidAmount())
-                .amountToBePaid(order.getAmountToBePaid())
+                .subtotal(Money.toDouble(order.getSubtotal()))
+                .discountAmount(Money.toDouble(order.getDiscountAmount()))
+                .taxAmount(Money.toDouble(order.getTaxAmount()))
+                .shippingAmount(Money.toDouble(order.getShippingAmount()))
+                .totalAmount(Money.toDouble(order.getTotalAmount()))
+                .paidAmount(Money.toDouble(order.getPaidAmount()))
+                .amountToBePaid(Money.toDouble(order.getAmountToBePaid()))
                 .status(order.getStatus())
                 .shippingAddress(order.getShippingAddress())
                 .billingAddress(order.getBillingAddress())
@@ -151,6 +153,40 @@ public class OrderMapper {
                 .build();
     }
     
+    public OrderResponse toOrderResponse(EOrderView view) {
+        OrderItemResponse firstItem = null;
+        if (view.getFirstItemProductId() != null) {
+            firstItem = OrderItemResponse.builder()
+                    .productId(view.getFirstItemProductId())
+                    .productName(view.getFirstItemProductName())
+                    .quantity(view.getFirstItemQuantity())
+                    .unitPrice(Money.toDouble(view.getFirstItemUnitPrice()))
+                    .build();
+        }
+        
+        return OrderResponse.builder()
+                .id(view.getOrderId())
+                .customerId(view.getCustomerId())
+                .orderNumber(view.getOrderNumber())
+                .subtotal(Money.toDouble(view.getSubtotal()))
+                .discountAmount(Money.toDouble(view.getDiscountAmount()))
+                .taxAmount(Money.toDouble(view.getTaxAmount()))
+                .shippingAmount(Money.toDouble(view.getShippingAmount()))
+                .totalAmount(Money.toDouble(view.getTotalAmount()))
+                .paidAmount(Money.toDouble(view.getPaidAmount()))
+                .amountToBePaid(Money.toDouble(view.getAmountToBePaid()))
+                .status(view.getStatus())
+                .shippingAddress(view.getShippingAddress())
+                .billingAddress(view.getBillingAddress())
+                .estimatedDeliveryDate(view.getEstimatedDeliveryDate())
+                .specialInstructions(view.getSpecialInstructions())
+                .itemCount(view.getItemCount())
+                .firstItem(firstItem)
+                .createdDate(view.getCreatedDate())
+                .updatedDate(view.getUpdatedDate())
+                .build();
+    }
+    
     public OrderItemResponse toOrderItemResponse(EOrderItem orderItem) {
         return OrderItemResponse.builder()
                 .id(orderItem.getId())
@@ -160,8 +196,8 @@ public class OrderMapper {
                 .productSku(orderItem.getProductSku())
                 .productCategory(orderItem.getProductCategory())
                 .quantity(orderItem.getQuantity())
-                .unitPrice(orderItem.getUnitPrice())
-                .totalPrice(orderItem.getTotalPrice())
+                .unitPrice(Money.toDouble(orderItem.getUnitPrice()))
+                .totalPrice(Money.toDouble(orderItem.getTotalPrice()))
                 .weight(orderItem.getWeight())
                 .dimensions(orderItem.getDimensions())
                 .taxCategory(orderItem.getTaxCategory())
@@ -179,7 +215,7 @@ public class OrderMapper {
                 .discountName(orderDiscount.getDiscountName())
                 .discountType(orderDiscount.getDiscountType())
                 .discountValue(orderDiscount.getDiscountValue())
-                .discountAmount(orderDiscount.getDiscountAmount())
+                .discountAmount(Money.toDouble(orderDiscount.getDiscountAmount()))
                 .appliesTo(orderDiscount.getAppliesTo())
                 .createdDate(orderDiscount.getCreatedDate())
                 .updatedDate(orderDiscount.getUpdatedDate())
@@ -199,9 +235,9 @@ public class OrderMapper {
                 .build();
     }
     
-    public EVendorOrder toVendorOrderEntity(CreateVendorOrderRequest request, EOrder order, double subtotal) {
-        double commissionAmount = subtotal * (request.getCommissionRate() / 100.0);
-        double vendorPayout = subtotal - commissionAmount;
+    public EVendorOrder toVendorOrderEntity(CreateVendorOrderRequest request, EOrder order, long subtotal) {
+        long commissionAmount = Money.percentOf(subtotal, request.getCommissionRate());
+        long vendorPayout = subtotal - commissionAmount;
         
         return EVendorOrder.builder()
                 .order(order)
@@ -225,10 +261,10 @@ public class OrderMapper {
                 .orderId(vendorOrder.getOrder().getId())
                 .vendorId(vendorOrder.getVendorId())
                 .vendorOrderNumber(vendorOrder.getVendorOrderNumber())
-                .subtotal(vendorOrder.getSubtotal())
+                .subtotal(Money.toDouble(vendorOrder.getSubtotal()))
                 .commissionRate(vendorOrder.getCommissionRate())
-                .commissionAmount(vendorOrder.getCommissionAmount())
-                .vendorPayout(vendorOrder.getVendorPayout())
+                .commissionAmount(Money.toDouble(vendorOrder.getCommissionAmount()))
+                .vendorPayout(Money.toDouble(vendorOrder.getVendorPayout()))
                 .status(vendorOrder.getStatus())
                 .createdDate(vendorOrder.getCreatedDate())
                 .updatedDate(vendorOrder.getUpdatedDate())
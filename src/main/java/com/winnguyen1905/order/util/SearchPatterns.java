@@ -0,0 +1,33 @@
+package com.winnguyen1905.order.util;
+
+/**
+ * LIKE patterns for substring search over order numbers. Queries using them
+ * declare {@code escape '!'}; wildcards typed by the user match literally.
+ * The trigram indexes on the number columns serve these patterns once the
+ * term has three or more characters.
+ */
+public final class SearchPatterns {
+
+  private SearchPatterns() {
+  }
+
+  /**
+   * {@code %term%} with LIKE wildcards escaped, or {@code null} for a blank
+   * term so the filter is skipped.
+   */
+  public static String contains(String term) {
+    if (term == null || term.isBlank()) {
+      return null;
+    }
+    String trimmed = term.trim();
+    StringBuilder pattern = new StringBuilder(trimmed.length() + 4).append('%');
+    for (int i = 0; i < trimmed.length(); i++) {
+      char c = trimmed.charAt(i);
+      if (c == '!' || c == '%' || c == '_') {
+        pattern.append('!');
+      }
+      pattern.append(c);
+    }
+    return pattern.append('%').toString();
+  }
+}
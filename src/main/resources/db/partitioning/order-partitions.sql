@@ -0,0 +1,105 @@
+-- =============================================
+-- PARTITIONED ORDER TABLES (PostgreSQL)
+-- Applied by spring.sql.init under the "partitioned" profile, before
+-- Hibernate's schema update. Every statement is idempotent.
+--
+-- orders, order_items and order_status_history are range-partitioned by
+-- month on created_date and list-sub-partitioned by region. Monthly and
+-- regional partitions are created ahead of time by PartitionMaintenanceJob;
+-- the DEFAULT partitions only catch rows that arrive before that.
+-- Partition keys must be part of every primary key and unique constraint,
+-- so orders.id cannot be unique on its own. order_keys holds one row per
+-- order id instead; PartitionMaintenanceJob keeps it in step with a trigger
+-- on orders and points every order_id foreign key at it, in place of the
+-- keys Hibernate would try (and fail) to add against orders.
+-- =============================================
+
+CREATE TABLE IF NOT EXISTS orders (
+    id UUID NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    created_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_date TIMESTAMP(6) WITH TIME ZONE,
+    region VARCHAR(16) NOT NULL,
+    customer_id BIGINT NOT NULL,
+    order_number VARCHAR(255) NOT NULL,
+    subtotal NUMERIC(10,2) NOT NULL,
+    discount_amount NUMERIC(10,2) NOT NULL,
+    tax_amount NUMERIC(10,2) NOT NULL,
+    shipping_amount NUMERIC(10,2) NOT NULL,
+    total_amount NUMERIC(10,2) NOT NULL,
+    paid_amount NUMERIC(10,2) NOT NULL,
+    amount_to_be_paid NUMERIC(10,2) NOT NULL,
+    status VARCHAR(255),
+    shipping_address JSON,
+    billing_address JSON,
+    estimated_delivery_date DATE,
+    special_instructions VARCHAR(255),
+    PRIMARY KEY (id, created_date, region)
+) PARTITION BY RANGE (created_date);
+
+CREATE TABLE IF NOT EXISTS orders_default PARTITION OF orders DEFAULT;
+
+CREATE TABLE IF NOT EXISTS order_keys (
+    id UUID PRIMARY KEY,
+    created_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    region VARCHAR(16) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id UUID NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    created_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_date TIMESTAMP(6) WITH TIME ZONE,
+    region VARCHAR(16) NOT NULL,
+    order_id UUID NOT NULL,
+    product_id BIGINT NOT NULL,
+    vendor_id BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    product_sku VARCHAR(255),
+    product_category VARCHAR(255),
+    quantity INTEGER NOT NULL,
+    unit_price NUMERIC(10,2) NOT NULL,
+    total_price NUMERIC(10,2) NOT NULL,
+    weight FLOAT(53),
+    dimensions JSON,
+    tax_category VARCHAR(255),
+    status VARCHAR(255),
+    PRIMARY KEY (id, created_date, region)
+) PARTITION BY RANGE (created_date);
+
+CREATE TABLE IF NOT EXISTS order_items_default PARTITION OF order_items DEFAULT;
+
+CREATE TABLE IF NOT EXISTS order_status_history (
+    id UUID NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    created_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_date TIMESTAMP(6) WITH TIME ZONE,
+    region VARCHAR(16) NOT NULL,
+    order_id UUID NOT NULL,
+    old_status VARCHAR(255),
+    new_status VARCHAR(255) NOT NULL,
+    reason VARCHAR(255),
+    changed_by VARCHAR(255),
+    PRIMARY KEY (id, created_date, region)
+) PARTITION BY RANGE (created_date);
+
+CREATE TABLE IF NOT EXISTS order_status_history_default PARTITION OF order_status_history DEFAULT;
+
+-- Region-leading indexes; created on the parents they cascade to every partition
+CREATE INDEX IF NOT EXISTS idx_orders_region_customer ON orders (region, customer_id, created_date);
+CREATE INDEX IF NOT EXISTS idx_orders_region_status ON orders (region, status, created_date);
+CREATE INDEX IF NOT EXISTS idx_orders_region_updated ON orders (region, updated_date);
+CREATE INDEX IF NOT EXISTS idx_orders_id ON orders (id);
+CREATE INDEX IF NOT EXISTS idx_orders_order_number ON orders (order_number);
+CREATE INDEX IF NOT EXISTS idx_order_items_region_order ON order_items (region, order_id);
+CREATE INDEX IF NOT EXISTS idx_order_items_region_vendor ON order_items (region, vendor_id);
+CREATE INDEX IF NOT EXISTS idx_order_items_region_created ON order_items (region, created_date);
+CREATE INDEX IF NOT EXISTS idx_order_items_region_updated ON order_items (region, updated_date);
+CREATE INDEX IF NOT EXISTS idx_order_items_id ON order_items (id);
+CREATE INDEX IF NOT EXISTS idx_order_status_history_region_order ON order_status_history (region, order_id);
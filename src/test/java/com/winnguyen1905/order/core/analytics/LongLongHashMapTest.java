@@ -0,0 +1,88 @@
+package com.winnguyen1905.order.core.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class LongLongHashMapTest {
+
+  @Test
+  void addToMatchesHashMapOverRandomRows() {
+    SplittableRandom random = new SplittableRandom(42);
+    LongLongHashMap map = new LongLongHashMap();
+    Map<Long, Long> expected = new HashMap<>();
+
+    for (int row = 0; row < 2_000_000; row++) {
+      // Narrow key range forces repeats; zero and negative keys included
+      long key = random.nextLong(-50_000, 50_000);
+      long delta = random.nextLong(-1_000, 1_000);
+      map.addTo(key, delta);
+      expected.merge(key, delta, Long::sum);
+    }
+
+    assertThat(map.size()).isEqualTo(expected.size());
+    assertThat(toHashMap(map)).isEqualTo(expected);
+    expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+  }
+
+  @Test
+  void sparseKeysSurviveRehashing() {
+    SplittableRandom random = new SplittableRandom(7);
+    LongLongHashMap map = new LongLongHashMap(4);
+    Map<Long, Long> expected = new HashMap<>();
+
+    for (int row = 0; row < 200_000; row++) {
+      long key = random.nextLong();
+      map.addTo(key, row);
+      expected.merge(key, (long) row, Long::sum);
+    }
+
+    assertThat(toHashMap(map)).isEqualTo(expected);
+  }
+
+  @Test
+  void absentKeysReadAsZero() {
+    LongLongHashMap map = new LongLongHashMap();
+    map.addTo(5, 3);
+
+    assertThat(map.get(6)).isZero();
+    assertThat(map.get(0)).isZero();
+    assertThat(map.containsKey(6)).isFalse();
+    assertThat(map.containsKey(0)).isFalse();
+  }
+
+  @Test
+  void zeroKeyIsStoredOnTheSide() {
+    LongLongHashMap map = new LongLongHashMap();
+    map.addTo(0, 4);
+    map.addTo(0, -1);
+
+    assertThat(map.containsKey(0)).isTrue();
+    assertThat(map.get(0)).isEqualTo(3);
+    assertThat(map.size()).isEqualTo(1);
+    assertThat(toHashMap(map)).containsExactlyEntriesOf(Map.of(0L, 3L));
+  }
+
+  @Test
+  void putIfAbsentKeepsTheFirstValue() {
+    LongLongHashMap map = new LongLongHashMap();
+    map.putIfAbsent(9, 1);
+    map.putIfAbsent(9, 2);
+    map.putIfAbsent(0, 5);
+    map.putIfAbsent(0, 6);
+
+    assertThat(map.get(9)).isEqualTo(1);
+    assertThat(map.get(0)).isEqualTo(5);
+    assertThat(map.size()).isEqualTo(2);
+  }
+
+  private static Map<Long, Long> toHashMap(LongLongHashMap map) {
+    Map<Long, Long> copy = new HashMap<>();
+    map.forEach((key, value) -> assertThat(copy.put(key, value)).isNull());
+    return copy;
+  }
+}
@@ -0,0 +1,57 @@
+package com.winnguyen1905.order.core.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class TopKTest {
+
+  @Test
+  void matchesAFullSortOverRandomScores() {
+    SplittableRandom random = new SplittableRandom(42);
+    for (int k : new int[] { 1, 5, 100, 1_000 }) {
+      TopK top = new TopK(k);
+      List<long[]> all = new ArrayList<>();
+      for (long key = -50_000; key < 50_000; key++) {
+        // Few distinct scores so ties are common and the key tie-break matters
+        long score = random.nextLong(0, 500);
+        top.offer(key, score);
+        all.add(new long[] { key, score });
+      }
+
+      assertThat(top.drainDescending()).containsExactly(fullSort(all, k));
+    }
+  }
+
+  @Test
+  void returnsEverythingWhenFewerThanKKeys() {
+    TopK top = new TopK(10);
+    top.offer(3, 1);
+    top.offer(1, 7);
+    top.offer(2, 7);
+
+    assertThat(top.size()).isEqualTo(3);
+    assertThat(top.drainDescending()).containsExactly(1, 2, 3);
+    assertThat(top.size()).isZero();
+  }
+
+  @Test
+  void rejectsNonPositiveK() {
+    assertThatThrownBy(() -> new TopK(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static long[] fullSort(List<long[]> rows, int k) {
+    return rows.stream()
+        .sorted(Comparator.<long[]>comparingLong(row -> row[1]).reversed()
+            .thenComparingLong(row -> row[0]))
+        .limit(k)
+        .mapToLong(row -> row[0])
+        .toArray();
+  }
+}
@@ -0,0 +1,128 @@
+package com.winnguyen1905.order.core.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winnguyen1905.order.common.constant.OrderStatus;
+import com.winnguyen1905.order.model.response.OrderResponse;
+import com.winnguyen1905.order.model.response.OrderStatusHistoryResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OrderArchiveTest {
+
+  private static final int RECORDS_PER_BLOCK = 4;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void appendedOrdersRoundTripByIdAndCustomer() {
+    OrderArchive archive = open();
+    List<ArchivedOrder> orders = IntStream.range(0, 10).mapToObj(i -> order(UUID.randomUUID(), 100L + i % 3))
+        .toList();
+
+    archive.append(orders);
+
+    for (ArchivedOrder order : orders) {
+      assertThat(archive.findOrder(order.getOrder().getId())).contains(order);
+    }
+    assertThat(archive.findByCustomer(100L)).hasSize(4).allMatch(order -> order.getOrder().getCustomerId() == 100L);
+    assertThat(archive.findOrder(UUID.randomUUID())).isEmpty();
+    assertThat(archive.findByCustomer(999L)).isEmpty();
+  }
+
+  @Test
+  void segmentsSurviveReopenAndNewSegmentsDoNotOverwriteThem() {
+    ArchivedOrder first = order(UUID.randomUUID(), 1L);
+    open().append(List.of(first));
+
+    OrderArchive reopened = open();
+    ArchivedOrder second = order(UUID.randomUUID(), 1L);
+    reopened.append(List.of(second));
+
+    OrderArchive again = open();
+    assertThat(again.findOrder(first.getOrder().getId())).contains(first);
+    assertThat(again.findOrder(second.getOrder().getId())).contains(second);
+    assertThat(again.findByCustomer(1L)).hasSize(2);
+  }
+
+  @Test
+  void refreshPicksUpSegmentsWrittenByAnotherInstance() {
+    OrderArchive reader = open();
+    OrderArchive writer = open();
+    ArchivedOrder order = order(UUID.randomUUID(), 7L);
+
+    writer.append(List.of(order));
+    assertThat(reader.findOrder(order.getOrder().getId())).isEmpty();
+
+    reader.refresh();
+    assertThat(reader.findOrder(order.getOrder().getId())).contains(order);
+
+    // The reader's next segment must not reuse the number the writer took
+    ArchivedOrder later = order(UUID.randomUUID(), 7L);
+    reader.append(List.of(later));
+    OrderArchive reopened = open();
+    assertThat(reopened.findOrder(order.getOrder().getId())).contains(order);
+    assertThat(reopened.findOrder(later.getOrder().getId())).contains(later);
+  }
+
+  @Test
+  void latestSnapshotOfAReArchivedOrderWins() {
+    OrderArchive archive = open();
+    UUID id = UUID.randomUUID();
+    archive.append(List.of(order(id, 3L, OrderStatus.DELIVERED)));
+    archive.append(List.of(order(id, 3L, OrderStatus.REFUNDED)));
+
+    assertThat(archive.findOrder(id)).get()
+        .extracting(order -> order.getOrder().getStatus())
+        .isEqualTo(OrderStatus.REFUNDED);
+  }
+
+  private OrderArchive open() {
+    return new OrderArchive(new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(),
+        directory.toString(), true, RECORDS_PER_BLOCK);
+  }
+
+  private static ArchivedOrder order(UUID id, long customerId) {
+    return order(id, customerId, OrderStatus.DELIVERED);
+  }
+
+  private static ArchivedOrder order(UUID id, long customerId, OrderStatus status) {
+    Instant created = Instant.parse("2024-01-01T00:00:00Z");
+    List<OrderStatusHistoryResponse> history = new ArrayList<>();
+    history.add(OrderStatusHistoryResponse.builder()
+        .id(UUID.randomUUID())
+        .orderId(id)
+        .oldStatus(OrderStatus.PENDING)
+        .newStatus(status)
+        .createdDate(created)
+        .build());
+    return ArchivedOrder.builder()
+        .order(OrderResponse.builder()
+            .id(id)
+            .customerId(customerId)
+            .orderNumber("ORD-" + id)
+            .totalAmount(12.5)
+            .status(status)
+            .createdDate(created)
+            .updatedDate(created)
+            .build())
+        .region("us")
+        .statusHistory(history)
+        .discounts(List.of())
+        .vendorOrders(List.of())
+        .externalRefs(List.of())
+        .build();
+  }
+}